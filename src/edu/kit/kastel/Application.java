@@ -1,12 +1,14 @@
 package edu.kit.kastel;
 
 import edu.kit.kastel.config.ConfigParser;
+import edu.kit.kastel.game.log.BattleLog;
 import edu.kit.kastel.utils.RandomGenerator;
-import edu.kit.kastel.ui.handlers.DefaultCommandHandler;
+import edu.kit.kastel.ui.handlers.CommandLoop;
+import edu.kit.kastel.utils.ConsoleWriter;
+import edu.kit.kastel.utils.LineSource;
 import edu.kit.kastel.utils.Reader;
 
 import java.io.InputStream;
-import java.io.PrintStream;
 import java.util.Scanner;
 import java.util.regex.Pattern;
 
@@ -15,7 +17,7 @@
  * <p>
  * It handles command line arguments to load a configuration file and optionally set
  * a seed for the random number generator or activate debug mode. After parsing the configuration,
- * the default command handler is started to process user commands.
+ * the command loop is started to process user commands.
  * </p>
  *
  * @author uyqbd
@@ -33,19 +35,20 @@ public final class Application {
      * The default output stream for the application.
      *
      * <p>
-     * This stream is used for printing standard output messages
-     * and is initialized to {@code System.out}.
+     * This stream is used for printing standard output messages and writes to {@code System.out}.
+     * It buffers all messages and is flushed only before the application waits for the next input.
      * </p>
      */
-    public static final PrintStream DEFAULT_OUTPUT_STREAM = System.out;
+    public static final ConsoleWriter DEFAULT_OUTPUT_STREAM = new ConsoleWriter(System.out);
     /**
      * The default error stream used for outputting error messages in the application.
-     * This stream is set to {@code System.err} by default, allowing error messages
+     * This stream writes to {@code System.err}, allowing error messages
      * to be directed to the standard error output.
+     * It flushes the pending output of {@link #DEFAULT_OUTPUT_STREAM} first, so both streams keep their order.
      * It is primarily utilized by various components within the application to
      * provide error feedback or debugging information to the user or developer.
      */
-    public static final PrintStream DEFAULT_ERROR_STREAM = System.err;
+    public static final ConsoleWriter DEFAULT_ERROR_STREAM = new ConsoleWriter(System.err, DEFAULT_OUTPUT_STREAM);
 
     private static final String COMMAND_LINE_ARGUMENTS_MESSAGE = "Error, wrong arguments count, 1 or 2 line arguments expected.";
     private static final String WRONG_SECOND_ARGUMENT_MESSAGE = "Error, wrong second argument, number or 'debug' expected.";
@@ -78,10 +81,15 @@ public static void main(String[] args) {
 
         try (Scanner scanner = new Scanner(DEFAULT_INPUT_STREAM)) {
             handleArguments(args);
-            Reader.setScanner(scanner);
-            new DefaultCommandHandler(scanner).startHandling();
+            LineSource input = scanner::nextLine;
+            Reader.setSource(input);
+            new CommandLoop(input).startHandling();
         } catch (ApplicationException e) {
             DEFAULT_ERROR_STREAM.println(e.getMessage());
+        } finally {
+            DEFAULT_OUTPUT_STREAM.stopAsync();
+            DEFAULT_OUTPUT_STREAM.flush();
+            BattleLog.close();
         }
     }
 
@@ -93,7 +101,13 @@ private static void handleArguments(String[] args) throws ApplicationException {
         }
     }
 
-    private static void parseRandom(String rawRandom) throws ApplicationException {
+    /**
+     * Parses the optional random argument, either a seed or the debug mode flag.
+     *
+     * @param rawRandom the raw argument
+     * @throws ApplicationException if the argument is neither a valid seed nor the debug mode flag
+     */
+    public static void parseRandom(String rawRandom) throws ApplicationException {
         if (Pattern.matches(SEED_REGEX, rawRandom)) {
             parseSeed(rawRandom);
         } else if (rawRandom.equals(DEBUG_MODE_FLAG)) {
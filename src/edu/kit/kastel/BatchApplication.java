@@ -0,0 +1,98 @@
+package edu.kit.kastel;
+
+import edu.kit.kastel.config.ConfigParser;
+import edu.kit.kastel.game.log.BattleLog;
+import edu.kit.kastel.ui.handlers.CommandLoop;
+import edu.kit.kastel.utils.Reader;
+import edu.kit.kastel.utils.ScriptReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+
+/**
+ * An entry point that executes a command script instead of reading commands from the console.
+ * <p>
+ * The script is read through a large {@link BufferedReader} and its commands run through the same
+ * {@link CommandLoop} as the interactive application. The output is buffered and written only in
+ * large chunks. At the end, the number of executed commands per second is reported to the error stream.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public final class BatchApplication {
+    private static final String COMMAND_LINE_ARGUMENTS_MESSAGE
+            = "Error, wrong arguments count, 2 or 3 line arguments expected: <config> <script> [seed|debug].";
+    private static final String SCRIPT_NOT_READABLE_FORMAT = "Error, script %s cannot be read.";
+    private static final String THROUGHPUT_FORMAT = "Executed %d commands in %d ms (%d commands/s).";
+
+    private static final int ARGS_COUNT = 2;
+    private static final int ARGS_COUNT_WITH_RANDOM = 3;
+    private static final int CONFIG_PATH_INDEX = 0;
+    private static final int SCRIPT_PATH_INDEX = 1;
+    private static final int RANDOM_INDEX = 2;
+    private static final int READ_BUFFER_SIZE = 1 << 16;
+    private static final int FLUSH_THRESHOLD = 1 << 16;
+    private static final long NANOS_PER_MILLI = 1_000_000;
+    private static final long NANOS_PER_SECOND = 1_000_000_000;
+
+
+    private BatchApplication() {
+
+    }
+
+    /**
+     * The entry point for the batch mode.
+     *
+     * @param args the configuration path, the script path and optionally a seed or 'debug'
+     */
+    public static void main(String[] args) {
+        if (args.length != ARGS_COUNT && args.length != ARGS_COUNT_WITH_RANDOM) {
+            Application.DEFAULT_ERROR_STREAM.println(COMMAND_LINE_ARGUMENTS_MESSAGE);
+            return;
+        }
+
+        Path scriptPath = Path.of(args[SCRIPT_PATH_INDEX]);
+        Application.DEFAULT_OUTPUT_STREAM.setFlushThreshold(FLUSH_THRESHOLD);
+        try (BufferedReader reader = new BufferedReader(
+                Files.newBufferedReader(scriptPath, Charset.defaultCharset()), READ_BUFFER_SIZE)) {
+            ConfigParser.parse(args[CONFIG_PATH_INDEX]);
+            if (args.length == ARGS_COUNT_WITH_RANDOM) {
+                Application.parseRandom(args[RANDOM_INDEX]);
+            }
+            ScriptReader script = new ScriptReader(reader);
+            Reader.setSource(script);
+            long start = System.nanoTime();
+            runScript(script);
+            long duration = Math.max(1, System.nanoTime() - start);
+            Application.DEFAULT_OUTPUT_STREAM.setFlushThreshold(0);
+            Application.DEFAULT_ERROR_STREAM.println(THROUGHPUT_FORMAT.formatted(
+                    script.getLineCount(),
+                    duration / NANOS_PER_MILLI,
+                    script.getLineCount() * NANOS_PER_SECOND / duration
+            ));
+        } catch (ApplicationException e) {
+            Application.DEFAULT_ERROR_STREAM.println(e.getMessage());
+        } catch (IOException | UncheckedIOException e) {
+            Application.DEFAULT_ERROR_STREAM.println(SCRIPT_NOT_READABLE_FORMAT.formatted(scriptPath));
+        } finally {
+            Application.DEFAULT_OUTPUT_STREAM.setFlushThreshold(0);
+            Application.DEFAULT_OUTPUT_STREAM.stopAsync();
+            Application.DEFAULT_OUTPUT_STREAM.flush();
+            BattleLog.close();
+        }
+    }
+
+    private static void runScript(ScriptReader script) {
+        try {
+            new CommandLoop(script).startHandling();
+        } catch (NoSuchElementException e) {
+            // the script ended without a quit command
+        }
+    }
+
+}
@@ -23,8 +23,10 @@
 import edu.kit.kastel.game.types.element.Element;
 import edu.kit.kastel.game.types.StatType;
 import edu.kit.kastel.utils.RegexConstructor;
+import edu.kit.kastel.utils.MessageTemplate;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashSet;
@@ -33,6 +35,7 @@
 import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.zip.CRC32;
 
 /**
  * The {@code ConfigParser} class is responsible for parsing configuration data
@@ -51,17 +54,28 @@
 public final class ConfigParser {
     private static final String CONFIG_NOT_FOUND = "config file not found";
     private static final String INVALID_CONFIG = "invalid config format";
-    private static final String CONFIG_LOADED_FORMAT = "%nLoaded %d actions, %d monsters.%n";
+    private static final MessageTemplate CONFIG_LOADED_FORMAT = new MessageTemplate("%nLoaded %d actions, %d monsters.%n");
     private static final String ACTION_NOT_FOUND_FORMAT = "action %s not found";
     private static final String DUPLICATING_NAME_FORMAT = "duplicating %s name %s";
     private static final String GROUP_NAME = "name";
     private static final String GROUP_ACTIONS = "actions";
 
+    private static long catalogHash = 0;
 
     private ConfigParser() {
 
     }
 
+    /**
+     * Returns a checksum of the loaded configuration, which identifies the catalog of actions and monsters
+     * a saved competition refers to.
+     *
+     * @return the checksum of the loaded configuration or {@code 0} if none is loaded
+     */
+    public static long getCatalogHash() {
+        return catalogHash;
+    }
+
     /**
      * Parses the given config string, extracting and creating {@link Action} and
      * {@link MonsterSample} instances.
@@ -89,10 +103,14 @@ public static void parse(String configPath) throws ConfigPatternException {
 
         MonsterSample.clearSamples();
         Action.clearActions();
+        catalogHash = 0;
 
         int loadedActionsCount = parseActions(config);
         int loadedMonstersCount = parseMonsters(config);
-        Application.DEFAULT_OUTPUT_STREAM.printf(CONFIG_LOADED_FORMAT, loadedActionsCount, loadedMonstersCount);
+        CRC32 checksum = new CRC32();
+        checksum.update(config.getBytes(StandardCharsets.UTF_8));
+        catalogHash = checksum.getValue();
+        Application.DEFAULT_OUTPUT_STREAM.print(CONFIG_LOADED_FORMAT).arg(loadedActionsCount).arg(loadedMonstersCount);
     }
 
     private static int parseActions(String config) throws ConfigPatternException {
@@ -2,15 +2,31 @@
 
 import edu.kit.kastel.Application;
 import edu.kit.kastel.game.actions.Action;
+import edu.kit.kastel.game.actions.DamageDistribution;
 import edu.kit.kastel.game.actions.EffectQueue;
+import edu.kit.kastel.game.monsters.CombinedHash;
 import edu.kit.kastel.game.monsters.Monster;
 import edu.kit.kastel.game.monsters.MonsterSample;
+import edu.kit.kastel.utils.RandomGenerator;
+import edu.kit.kastel.utils.RandomSource;
 import edu.kit.kastel.utils.Utility;
+import edu.kit.kastel.utils.MessageTemplate;
+import edu.kit.kastel.game.log.BattleLog;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Manages a competition among multiple monsters.
@@ -18,24 +34,58 @@
  * Provides methods to select actions for the current monster,
  * apply actions in turn order, and maintain states (e.g. health, protections).
  * </p>
+ * <p>
+ * Every selection and random decision is appended to an in-memory event log. Undoing a selection or
+ * rewinding to an earlier turn rebuilds the state by replaying the log without printing any output.
+ * </p>
+ * <p>
+ * A competition can be saved as a compact binary snapshot and restored directly from it, without replaying
+ * its turns. The event log of a restored competition starts at the snapshot.
+ * </p>
+ * <p>
+ * For searching and what-if analysis, {@link #copy()} and {@link #copyInto(Competition)} copy only the
+ * small mutable state and share the immutable samples, actions and the recorded events.
+ * </p>
  *
  * @author uyqbd
  */
 public class Competition {
-    private static final String MONSTER_TABLE_FORMAT = "[%s%s] %d %s%s (%s)%n";
-    private static final String ENTER_COMPETITION_FORMAT = "The %d monsters enter the competition!%n";
+    private static final MessageTemplate MONSTER_TABLE_FORMAT = new MessageTemplate("[%s%s] %d %s%s (%s)%n");
+    private static final MessageTemplate ENTER_COMPETITION_FORMAT = new MessageTemplate("The %d monsters enter the competition!%n");
     private static final String ACTION_NEED_TARGET_MESSAGE = "this action need target monster.";
     private static final String MONSTER_NOT_FOUND_FORMAT = "monster %s wasn't found.";
     private static final String MONSTER_HEALTH_SIGN = "X";
     private static final String MONSTER_EMPTY_HEALTH_SIGN = "_";
     private static final String CURRENT_MONSTER_SIGN = "*";
     private static final int HEALTH_BAR_LENGTH = 20;
+    private static final int NO_INDEX = 0;
+    private static final String NOTHING_TO_UNDO_MESSAGE = "no action has been selected yet";
+    private static final String TURN_NOT_REACHED_FORMAT = "turn %d has not been reached yet";
+    private static final String TURN_NOT_RECORDED_FORMAT = "turn %d cannot be rewound";
+    private static final String INVALID_SNAPSHOT_MESSAGE = "invalid snapshot";
+    private static final String CATALOG_MISMATCH_MESSAGE = "snapshot belongs to a different configuration";
+    private static final String SAMPLE_NOT_FOUND_FORMAT = "monster %s not found";
+    private static final int SNAPSHOT_MAGIC = 0x4D434F4D;
+    private static final int SNAPSHOT_VERSION = 2;
+    private static final int MAX_RANDOM_STATE_LENGTH = 1 << 10;
+    private static final String FOREIGN_COPY_MESSAGE = "the target has to be a copy of the same competition";
+    private static final long CURRENT_MONSTER_FEATURE = -1;
+    private static final long SELECTION_FEATURE = -2;
 
 
+    private final List<MonsterSample> monstersSamples;
     private final List<Monster> monsters;
     private final List<EffectQueue> selectedActions;
+    private CompetitionEventLog events = new CompetitionEventLog();
+    private byte[] baseState;
+    private int baseTurn = 0;
+    private int firstRecordedTurn = 1;
+    private boolean recording = true;
 
+    private CombinedHash monstersHash = new CombinedHash();
+    private long selectionHash = 0;
     private int currentMonsterIndex = 0;
+    private int turn = 0;
 
     /**
      * Creates a new {@code Competition} and initializes monsters from the provided samples.
@@ -43,12 +93,267 @@ public class Competition {
      * @param monstersSamples the list of monster samples to instantiate
      */
     public Competition(List<MonsterSample> monstersSamples) {
-        Application.DEFAULT_OUTPUT_STREAM.printf(ENTER_COMPETITION_FORMAT, monstersSamples.size());
+        this(monstersSamples, true);
+    }
+
+    private Competition(List<MonsterSample> monstersSamples, boolean announce) {
+        if (announce) {
+            Application.DEFAULT_OUTPUT_STREAM.print(ENTER_COMPETITION_FORMAT).arg(monstersSamples.size());
+        }
+        this.monstersSamples = List.copyOf(monstersSamples);
         monsters = new ArrayList<>();
         selectedActions = new LinkedList<>();
-        MonsterSample.clearCreatedCounts();
+        createMonsters();
+        if (announce) {
+            BattleLog.startCompetition(monsters);
+        }
+    }
+
+    private Competition(Competition competition) {
+        monstersSamples = competition.monstersSamples;
+        monsters = new ArrayList<>(competition.monsters.size());
+        for (Monster monster : competition.monsters) {
+            Monster copy = new Monster(monster);
+            copy.attach(monstersHash);
+            monsters.add(copy);
+        }
+        selectedActions = new LinkedList<>();
+        recording = competition.recording;
+        copyProgressFrom(competition);
+    }
+
+    /**
+     * Creates a competition of the given samples that neither prints, logs nor records events, for simulations.
+     *
+     * @param monstersSamples the list of monster samples to instantiate
+     * @return the new competition
+     */
+    static Competition createWithoutEvents(List<MonsterSample> monstersSamples) {
+        Competition competition = new Competition(monstersSamples, false);
+        competition.recording = false;
+        competition.events = null;
+        return competition;
+    }
+
+    /**
+     * Creates an independent copy of this competition. Nothing is printed or logged.
+     *
+     * @return the copy
+     */
+    public Competition copy() {
+        return new Competition(this);
+    }
+
+    /**
+     * Creates a copy of this competition that records no events, for simulations that never undo.
+     * Copying into it with {@link #copyInto(Competition)} does not copy the events either.
+     *
+     * @return the copy without event log
+     */
+    Competition copyWithoutEvents() {
+        Competition copy = new Competition(this);
+        copy.recording = false;
+        copy.events = null;
+        return copy;
+    }
+
+    /**
+     * Overwrites the state of the given competition with the state of this one, so a copy can be reused
+     * instead of allocating a new one. Nothing is printed or logged.
+     *
+     * @param target a competition created by {@link #copy()} of this competition or of one of its copies
+     * @throws IllegalArgumentException if the target does not stem from the same competition
+     */
+    public void copyInto(Competition target) {
+        if (target.monstersSamples != monstersSamples) {
+            throw new IllegalArgumentException(FOREIGN_COPY_MESSAGE);
+        }
+        for (int i = 0; i < monsters.size(); i++) {
+            target.monsters.get(i).copyStateFrom(monsters.get(i));
+        }
+        target.copyProgressFrom(this);
+    }
+
+    private void copyProgressFrom(Competition competition) {
+        selectedActions.clear();
+        for (EffectQueue effectQueue : competition.selectedActions) {
+            Monster target = effectQueue.getTarget();
+            selectedActions.add(new EffectQueue(
+                    monsters.get(competition.monsters.indexOf(effectQueue.getUser())),
+                    target != null ? monsters.get(competition.monsters.indexOf(target)) : null,
+                    effectQueue.getAction()
+            ));
+        }
+        selectionHash = competition.selectionHash;
+        currentMonsterIndex = competition.currentMonsterIndex;
+        turn = competition.turn;
+        events = recording ? competition.events.fork() : null;
+        baseState = competition.baseState;
+        baseTurn = competition.baseTurn;
+        firstRecordedTurn = competition.firstRecordedTurn;
+    }
+
+    /**
+     * Restores a competition from a snapshot written by {@link #save(DataOutput, long)}.
+     * The random number generator continues as it would have continued after saving.
+     *
+     * @param in          the input providing the snapshot
+     * @param catalogHash the checksum of the loaded configuration, which has to match the one of the snapshot
+     * @return the restored competition
+     * @throws IOException          if the snapshot cannot be read
+     * @throws GameRuntimeException if the snapshot is invalid or does not belong to the loaded configuration
+     */
+    public static Competition restore(DataInput in, long catalogHash) throws IOException, GameRuntimeException {
+        if (in.readInt() != SNAPSHOT_MAGIC || in.readUnsignedByte() != SNAPSHOT_VERSION) {
+            throw new GameRuntimeException(INVALID_SNAPSHOT_MESSAGE);
+        }
+        if (in.readLong() != catalogHash) {
+            throw new GameRuntimeException(CATALOG_MISMATCH_MESSAGE);
+        }
+        int randomStateLength = in.readUnsignedShort();
+        if (randomStateLength > MAX_RANDOM_STATE_LENGTH) {
+            throw new GameRuntimeException(INVALID_SNAPSHOT_MESSAGE);
+        }
+        byte[] randomState = new byte[randomStateLength];
+        in.readFully(randomState);
+        int sampleCount = in.readUnsignedShort();
+        List<MonsterSample> samples = new ArrayList<>(sampleCount);
+        for (int i = 0; i < sampleCount; i++) {
+            String sampleName = in.readUTF();
+            MonsterSample sample = MonsterSample.find(sampleName);
+            if (sample == null) {
+                throw new GameRuntimeException(SAMPLE_NOT_FOUND_FORMAT.formatted(sampleName));
+            }
+            samples.add(sample);
+        }
+        Competition competition = new Competition(samples, false);
+        try {
+            competition.readState(in);
+        } catch (IOException e) {
+            throw new GameRuntimeException(INVALID_SNAPSHOT_MESSAGE);
+        }
+        competition.baseState = competition.encodeState();
+        competition.baseTurn = competition.turn;
+        competition.firstRecordedTurn = competition.turn + (competition.selectedActions.isEmpty() ? 1 : 2);
+        try {
+            RandomGenerator.restoreState(randomState);
+        } catch (IOException e) {
+            throw new GameRuntimeException(INVALID_SNAPSHOT_MESSAGE);
+        }
+        BattleLog.startCompetition(competition.monsters);
+        BattleLog.startTurn(competition.turn);
+        return competition;
+    }
+
+    /**
+     * Writes a snapshot of the competition. It contains the monsters with their health, stat scales, conditions
+     * and protections, the selected actions of the current turn, the current monster and turn, the state of
+     * the random number generator and the checksum of the configuration. The event log is not saved.
+     * Saving does not advance the random number generator, so it does not change the course of the game.
+     *
+     * @param out         the output receiving the snapshot
+     * @param catalogHash the checksum of the loaded configuration
+     * @throws IOException if the snapshot cannot be written
+     */
+    public void save(DataOutput out, long catalogHash) throws IOException {
+        out.writeInt(SNAPSHOT_MAGIC);
+        out.writeByte(SNAPSHOT_VERSION);
+        out.writeLong(catalogHash);
+        byte[] randomState = RandomGenerator.saveState();
+        out.writeShort(randomState.length);
+        out.write(randomState);
+        out.writeShort(monstersSamples.size());
+        for (MonsterSample sample : monstersSamples) {
+            out.writeUTF(sample.getName());
+        }
+        writeState(out);
+    }
+
+    private void writeState(DataOutput out) throws IOException {
+        for (Monster monster : monsters) {
+            monster.writeState(out);
+        }
+        out.writeShort(currentMonsterIndex);
+        out.writeInt(turn);
+        out.writeShort(selectedActions.size());
+        for (EffectQueue effectQueue : selectedActions) {
+            out.writeShort(monsters.indexOf(effectQueue.getUser()));
+            out.writeShort(effectQueue.getTarget() != null
+                    ? monsters.indexOf(effectQueue.getTarget())
+                    : CompetitionEventLog.NO_TARGET);
+            String actionName = effectQueue.getAction().getName();
+            out.writeUTF(actionName != null ? actionName : "");
+        }
+    }
+
+    private void readState(DataInput in) throws IOException, GameRuntimeException {
+        for (Monster monster : monsters) {
+            monster.readState(in);
+        }
+        currentMonsterIndex = readMonsterIndex(in);
+        turn = in.readInt();
+        selectedActions.clear();
+        selectionHash = 0;
+        int selectedCount = in.readUnsignedShort();
+        for (int i = 0; i < selectedCount; i++) {
+            Monster user = monsters.get(readMonsterIndex(in));
+            int targetIndex = in.readShort();
+            Monster target = targetIndex != CompetitionEventLog.NO_TARGET ? monsters.get(checkMonsterIndex(targetIndex)) : null;
+            String actionName = in.readUTF();
+            selectedActions.add(new EffectQueue(user, target, actionName.isEmpty() ? Action.EMPTY_ACTION : Action.find(actionName)));
+            selectionHash ^= selectionKey(i, selectedActions.get(i));
+        }
+    }
+
+    private int readMonsterIndex(DataInput in) throws IOException {
+        return checkMonsterIndex(in.readShort());
+    }
+
+    private int checkMonsterIndex(int index) throws IOException {
+        if (index < 0 || index >= monsters.size()) {
+            throw new IOException(INVALID_SNAPSHOT_MESSAGE);
+        }
+        return index;
+    }
+
+    private byte[] encodeState() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            writeState(new DataOutputStream(bytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private void resetState() {
+        if (baseState == null) {
+            createMonsters();
+            selectedActions.clear();
+            selectionHash = 0;
+            currentMonsterIndex = 0;
+            turn = 0;
+            return;
+        }
+        try {
+            readState(new DataInputStream(new ByteArrayInputStream(baseState)));
+        } catch (IOException | GameRuntimeException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void createMonsters() {
+        monsters.clear();
+        monstersHash = new CombinedHash();
+        Map<MonsterSample, Integer> sampleCounts = new HashMap<>();
+        for (MonsterSample ms : monstersSamples) {
+            sampleCounts.merge(ms, 1, Integer::sum);
+        }
+        Map<MonsterSample, Integer> createdCounts = new HashMap<>();
         for (MonsterSample ms : monstersSamples) {
-            Monster monster = ms.create();
+            int createdCount = createdCounts.merge(ms, 1, Integer::sum);
+            Monster monster = ms.create(sampleCounts.get(ms) > 1 ? createdCount : NO_INDEX);
+            monster.attach(monstersHash);
             monsters.add(monster);
         }
     }
@@ -64,8 +369,123 @@ public Competition(List<MonsterSample> monstersSamples) {
     public void selectAction(Action action, String targetMonsterName) throws GameRuntimeException {
         Monster user = getCurrentMonster();
         Monster target = action.needTarget() ? selectTarget(user.getName(), targetMonsterName) : null;
-        selectedActions.add(new EffectQueue(user, target, action));
-        step();
+        select(action, target);
+    }
+
+    /**
+     * Computes the distribution of the damage the current monster would deal with the given action,
+     * without selecting it. Like when selecting it, the target is only resolved if the action needs one.
+     * Nothing is printed and no random numbers are drawn.
+     *
+     * @param action            the {@link Action} to preview
+     * @param targetMonsterName the name of the target monster, or {@code null} if there is only one other monster
+     * @return the distribution of the damage to the target
+     * @throws GameRuntimeException if the action requires a target but the target monster cannot be found
+     */
+    public DamageDistribution previewAction(Action action, String targetMonsterName) throws GameRuntimeException {
+        Monster user = getCurrentMonster();
+        Monster target = action.needTarget() ? selectTarget(user.getName(), targetMonsterName) : null;
+        return DamageDistribution.compute(user, target, action);
+    }
+
+    /**
+     * Computes the damage the current monster is expected to take per turn if every other monster
+     * uses one of its actions against it, each chosen uniformly. Nothing is printed and no random numbers are drawn.
+     *
+     * @return the expected damage per turn to the current monster
+     */
+    public double previewIncomingDamage() {
+        Monster user = getCurrentMonster();
+        Action[][] actions = Rollouts.collectActions(this);
+        double incomingDamage = 0;
+        for (int i = 0; i < monsters.size(); i++) {
+            Monster opponent = monsters.get(i);
+            if (opponent == user || opponent.isFainted() || actions[i].length == 0) {
+                continue;
+            }
+            double damage = 0;
+            for (Action action : actions[i]) {
+                damage += DamageDistribution.compute(opponent, user, action).getExpectedDamage();
+            }
+            incomingDamage += damage / actions[i].length;
+        }
+        return incomingDamage;
+    }
+
+    /**
+     * Reverts the last selected action, as if it had never been selected.
+     * If the selection completed a turn, the whole turn is reverted.
+     *
+     * @throws GameRuntimeException if no action has been selected yet
+     */
+    public void undo() throws GameRuntimeException {
+        int lastSelection = events.findLastSelection();
+        if (lastSelection < 0) {
+            throw new GameRuntimeException(NOTHING_TO_UNDO_MESSAGE);
+        }
+        replay(lastSelection);
+    }
+
+    /**
+     * Reverts the competition to the start of the given turn, before any action of the turn was selected.
+     *
+     * @param turnNumber the number of the turn, starting at 1
+     * @throws GameRuntimeException if the turn has not been reached yet or started before a restored snapshot
+     */
+    public void rewind(int turnNumber) throws GameRuntimeException {
+        if (turnNumber < firstRecordedTurn) {
+            throw new GameRuntimeException(TURN_NOT_RECORDED_FORMAT.formatted(turnNumber));
+        }
+        int turnStart = events.findTurnStart(turnNumber - baseTurn);
+        if (turnStart < 0) {
+            throw new GameRuntimeException(TURN_NOT_REACHED_FORMAT.formatted(turnNumber));
+        }
+        replay(turnStart);
+    }
+
+    /**
+     * Selects an action of the current monster for an already resolved target.
+     *
+     * @param action the selected action
+     * @param target the target monster or {@code null} if the action has no target
+     */
+    void select(Action action, Monster target) {
+        EffectQueue selection = new EffectQueue(getCurrentMonster(), target, action);
+        selectionHash ^= selectionKey(selectedActions.size(), selection);
+        selectedActions.add(selection);
+        if (!recording) {
+            step();
+            return;
+        }
+        events.recordSelection(action, target != null ? monsters.indexOf(target) : CompetitionEventLog.NO_TARGET);
+        RandomSource source = RandomGenerator.bind(events.recording(RandomGenerator.getSource()));
+        try {
+            step();
+        } finally {
+            RandomGenerator.bind(source);
+        }
+    }
+
+    private void replay(int eventCount) {
+        CompetitionEventLog log = events;
+        events = new CompetitionEventLog();
+        resetState();
+        RandomSource source = RandomGenerator.bind(log.replaying());
+        Application.DEFAULT_OUTPUT_STREAM.mute();
+        BattleLog.suspend();
+        try {
+            for (int i = 0; i < eventCount; i++) {
+                if (log.isSelection(i)) {
+                    int targetIndex = log.getTargetIndex(i);
+                    select(log.getAction(i), targetIndex != CompetitionEventLog.NO_TARGET ? monsters.get(targetIndex) : null);
+                }
+            }
+        } finally {
+            BattleLog.resume();
+            BattleLog.startTurn(turn);
+            Application.DEFAULT_OUTPUT_STREAM.unmute();
+            RandomGenerator.bind(source);
+        }
     }
 
     private Monster selectTarget(String userMonsterName, String targetMonsterName) throws GameRuntimeException {
@@ -98,11 +518,16 @@ private void increaseMonsterIndex() {
     }
 
     private void applyActions() {
+        BattleLog.startTurn(++turn);
+        if (recording) {
+            events.recordTurn(turn);
+        }
         Collections.sort(selectedActions);
         for (EffectQueue effectQueue : selectedActions) {
             effectQueue.apply();
         }
         selectedActions.clear();
+        selectionHash = 0;
     }
 
     private void updateProtections() {
@@ -147,6 +572,65 @@ public Monster findMonster(String monsterName) throws GameRuntimeException {
         throw new GameRuntimeException(MONSTER_NOT_FOUND_FORMAT.formatted(monsterName));
     }
 
+    /**
+     * Retrieves all monsters of the competition in their order, including fainted ones.
+     *
+     * @return an unmodifiable list of the monsters
+     */
+    public List<Monster> getMonsters() {
+        return Collections.unmodifiableList(monsters);
+    }
+
+    /**
+     * Retrieves the number of turns applied so far.
+     *
+     * @return the number of applied turns
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * Returns the Zobrist hash of the state that decides how the competition continues: the states of all monsters,
+     * the current monster and the selected actions of the current turn. The combined hash of the monsters and the
+     * hash of the selections are maintained with every change, so this takes constant time.
+     *
+     * @return the hash of the state
+     */
+    long hashState() {
+        return monstersHash.getValue() ^ selectionHash ^ Utility.zobristKey(CURRENT_MONSTER_FEATURE, currentMonsterIndex);
+    }
+
+    /**
+     * Packs the states of all monsters into the given array with {@link Monster#packState(long[], int)},
+     * {@link Monster#PACKED_STATE_LENGTH} words per monster in the order of {@link #getMonsters()}.
+     * Unlike {@link #hashState()}, equal words mean equal states of the monsters.
+     *
+     * @param words the array receiving the states, with room for the words of all monsters
+     */
+    void packMonsters(long[] words) {
+        for (int i = 0; i < monsters.size(); i++) {
+            monsters.get(i).packState(words, i * Monster.PACKED_STATE_LENGTH);
+        }
+    }
+
+    private long selectionKey(int position, EffectQueue selection) {
+        String actionName = selection.getAction().getName();
+        Monster target = selection.getTarget();
+        long value = Utility.mixHash(actionName != null ? actionName.hashCode() : 0,
+                target != null ? monsters.indexOf(target) : CompetitionEventLog.NO_TARGET);
+        return Utility.zobristKey(SELECTION_FEATURE - position, value);
+    }
+
+    /**
+     * Retrieves the index of the monster whose turn it currently is.
+     *
+     * @return the index of the current monster
+     */
+    int getCurrentMonsterIndex() {
+        return currentMonsterIndex;
+    }
+
     /**
      * Retrieves the monster whose turn it currently is.
      *
@@ -164,14 +648,13 @@ public void printMonsters() {
         int i = 0;
         for (Monster monster : monsters) {
             int healthCount = Utility.ceilDiv(HEALTH_BAR_LENGTH * monster.getHealth(), monster.getSample().getMaxHealth());
-            Application.DEFAULT_OUTPUT_STREAM.printf(MONSTER_TABLE_FORMAT,
-                    MONSTER_HEALTH_SIGN.repeat(healthCount),
-                    MONSTER_EMPTY_HEALTH_SIGN.repeat(HEALTH_BAR_LENGTH - healthCount),
-                    i + 1,
-                    i == currentMonsterIndex ? CURRENT_MONSTER_SIGN : "",
-                    monster.getName(),
-                    monster.getStatus()
-            );
+            Application.DEFAULT_OUTPUT_STREAM.print(MONSTER_TABLE_FORMAT)
+                    .arg(MONSTER_HEALTH_SIGN.repeat(healthCount))
+                    .arg(MONSTER_EMPTY_HEALTH_SIGN.repeat(HEALTH_BAR_LENGTH - healthCount))
+                    .arg(i + 1)
+                    .arg(i == currentMonsterIndex ? CURRENT_MONSTER_SIGN : "")
+                    .arg(monster.getName())
+                    .arg(monster.getStatus());
             i++;
         }
     }
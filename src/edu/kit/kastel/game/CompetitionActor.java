@@ -0,0 +1,117 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.ApplicationException;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs all work on one {@link Competition} one task after another.
+ * <p>
+ * Any number of threads submit {@link CompetitionTask}s to the lock-free mailbox of the actor. Whenever the
+ * mailbox becomes non-empty, the actor schedules itself once on the shared carrier executor and processes
+ * a batch of tasks. An atomic flag guarantees that at most one carrier processes a competition at any time,
+ * so neither {@code Competition} nor the monsters or effects need locks, and many competitions share a
+ * small number of carrier threads.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public class CompetitionActor {
+    private static final int BATCH_SIZE = 64;
+
+    private final Competition competition;
+    private final Executor carriers;
+    private final Queue<Envelope<?>> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    /**
+     * Constructs a new actor owning the given competition.
+     *
+     * @param competition the competition, which must not be accessed other than through this actor afterwards
+     * @param carriers    the executor the actor processes its mailbox on
+     */
+    public CompetitionActor(Competition competition, Executor carriers) {
+        this.competition = competition;
+        this.carriers = carriers;
+    }
+
+    /**
+     * Adds a task to the mailbox.
+     *
+     * @param task the task to execute
+     * @param <T>  the type of the result
+     * @return a future completed with the result of the task or the exception it throws
+     */
+    public <T> CompletableFuture<T> submit(CompetitionTask<T> task) {
+        Envelope<T> envelope = new Envelope<>(task);
+        mailbox.offer(envelope);
+        schedule();
+        return envelope.result;
+    }
+
+    /**
+     * Adds a task to the mailbox and waits for its result.
+     *
+     * @param task the task to execute
+     * @param <T>  the type of the result
+     * @return the result of the task
+     * @throws ApplicationException if the task fails
+     */
+    public <T> T call(CompetitionTask<T> task) throws ApplicationException {
+        try {
+            return submit(task).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof ApplicationException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            carriers.execute(this::processMailbox);
+        }
+    }
+
+    private void processMailbox() {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Envelope<?> envelope = mailbox.poll();
+            if (envelope == null) {
+                break;
+            }
+            envelope.process(competition);
+        }
+        scheduled.set(false);
+        if (!mailbox.isEmpty()) {
+            schedule();
+        }
+    }
+
+    private static final class Envelope<T> {
+        private final CompetitionTask<T> task;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private Envelope(CompetitionTask<T> task) {
+            this.task = task;
+        }
+
+        private void process(Competition competition) {
+            try {
+                result.complete(task.apply(competition));
+            } catch (ApplicationException | RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,259 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.game.actions.Action;
+import edu.kit.kastel.utils.RandomSource;
+
+import java.util.Arrays;
+
+/**
+ * An append-only in-memory log of the events of a {@link Competition}.
+ * <p>
+ * The log contains every selected action with its target, every resolved random decision and a marker
+ * for every applied turn. All other state changes follow deterministically from these events, so replaying
+ * the selections with the logged decisions rebuilds the state of the competition at any logged point.
+ * The events are kept in parallel arrays, so logging a decision does not allocate.
+ * A {@link #fork() fork} shares the arrays with its log and copies them only when it appends the first event.
+ * </p>
+ *
+ * @author uyqbd
+ */
+final class CompetitionEventLog {
+    /**
+     * The target index of a selection without a target.
+     */
+    static final int NO_TARGET = -1;
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final String REPLAY_DIVERGED_FORMAT = "replay expected a %s decision but found %s";
+
+    private EventType[] types;
+    private long[] values;
+    private Action[] actions;
+    private int size;
+    private boolean ownsArrays;
+
+    /**
+     * Creates an empty log.
+     */
+    CompetitionEventLog() {
+        this(new EventType[INITIAL_CAPACITY], new long[INITIAL_CAPACITY], new Action[INITIAL_CAPACITY], 0, true);
+    }
+
+    private CompetitionEventLog(EventType[] types, long[] values, Action[] actions, int size, boolean ownsArrays) {
+        this.types = types;
+        this.values = values;
+        this.actions = actions;
+        this.size = size;
+        this.ownsArrays = ownsArrays;
+    }
+
+    /**
+     * Creates a log containing the same events as this log, which can be continued independently.
+     * This log only ever appends behind the events of the fork, so both can share the arrays.
+     *
+     * @return the forked log
+     */
+    CompetitionEventLog fork() {
+        return new CompetitionEventLog(types, values, actions, size, false);
+    }
+
+    /**
+     * Appends the selection of an action.
+     *
+     * @param action      the selected action
+     * @param targetIndex the index of the target monster or {@link #NO_TARGET}
+     */
+    void recordSelection(Action action, int targetIndex) {
+        append(EventType.SELECTION, targetIndex).actions[size - 1] = action;
+    }
+
+    /**
+     * Appends the marker of an applied turn.
+     *
+     * @param turn the number of the applied turn
+     */
+    void recordTurn(int turn) {
+        append(EventType.TURN, turn);
+    }
+
+    /**
+     * Returns a source that takes its decisions from the given source and appends them to this log.
+     *
+     * @param delegate the source deciding
+     * @return the recording source
+     */
+    RandomSource recording(RandomSource delegate) {
+        return new Recorder(delegate);
+    }
+
+    /**
+     * Returns a source that repeats the logged decisions in their order.
+     *
+     * @return the replaying source
+     */
+    RandomSource replaying() {
+        return new Replayer();
+    }
+
+    /**
+     * Returns the number of logged events.
+     *
+     * @return the number of events
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether the event at the given index is the selection of an action.
+     *
+     * @param index the index of the event
+     * @return {@code true} if the event is a selection
+     */
+    boolean isSelection(int index) {
+        return types[index] == EventType.SELECTION;
+    }
+
+    /**
+     * Returns the action of the selection at the given index.
+     *
+     * @param index the index of the selection
+     * @return the selected action
+     */
+    Action getAction(int index) {
+        return actions[index];
+    }
+
+    /**
+     * Returns the target index of the selection at the given index.
+     *
+     * @param index the index of the selection
+     * @return the index of the target monster or {@link #NO_TARGET}
+     */
+    int getTargetIndex(int index) {
+        return (int) values[index];
+    }
+
+    /**
+     * Finds the last selection of an action.
+     *
+     * @return the index of the last selection or {@code -1} if nothing was selected
+     */
+    int findLastSelection() {
+        for (int i = size - 1; i >= 0; i--) {
+            if (types[i] == EventType.SELECTION) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the position at which the given turn started, i.e. the first selection after the previous turn
+     * was applied, or the end of the log if no action of the turn is selected yet.
+     *
+     * @param turn the number of the turn, starting at 1
+     * @return the number of events before the turn or {@code -1} if the turn has not started yet
+     */
+    int findTurnStart(int turn) {
+        int appliedTurns = 0;
+        for (int i = 0; i < size; i++) {
+            if (types[i] == EventType.TURN) {
+                appliedTurns++;
+            } else if (types[i] == EventType.SELECTION && appliedTurns == turn - 1) {
+                return i;
+            }
+        }
+        return appliedTurns == turn - 1 ? size : -1;
+    }
+
+    private CompetitionEventLog append(EventType type, long value) {
+        if (size == types.length || !ownsArrays) {
+            int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+            types = Arrays.copyOf(types, capacity);
+            values = Arrays.copyOf(values, capacity);
+            actions = Arrays.copyOf(actions, capacity);
+            ownsArrays = true;
+        }
+        types[size] = type;
+        values[size] = value;
+        size++;
+        return this;
+    }
+
+    private enum EventType {
+        SELECTION,
+        TURN,
+        CHANCE,
+        FACTOR,
+        NUMBER
+    }
+
+    private final class Recorder implements RandomSource {
+        private final RandomSource delegate;
+
+        private Recorder(RandomSource delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean probabilityGood(double probability, String debugMessage) {
+            boolean result = delegate.probabilityGood(probability, debugMessage);
+            append(EventType.CHANCE, result ? 1 : 0);
+            return result;
+        }
+
+        @Override
+        public double getRandomFactor(double min, double max, String debugMessage) {
+            double result = delegate.getRandomFactor(min, max, debugMessage);
+            append(EventType.FACTOR, Double.doubleToRawLongBits(result));
+            return result;
+        }
+
+        @Override
+        public double getRandomFactor(double min, double max, double scale, String debugMessage) {
+            double result = delegate.getRandomFactor(min, max, scale, debugMessage);
+            append(EventType.FACTOR, Double.doubleToRawLongBits(result));
+            return result;
+        }
+
+        @Override
+        public int getRandomNumber(int min, int max, String debugMessage) {
+            int result = delegate.getRandomNumber(min, max, debugMessage);
+            append(EventType.NUMBER, result);
+            return result;
+        }
+
+    }
+
+    private final class Replayer implements RandomSource {
+        private int position = 0;
+
+        @Override
+        public boolean probabilityGood(double probability, String debugMessage) {
+            return next(EventType.CHANCE) != 0;
+        }
+
+        @Override
+        public double getRandomFactor(double min, double max, String debugMessage) {
+            return Double.longBitsToDouble(next(EventType.FACTOR));
+        }
+
+        @Override
+        public int getRandomNumber(int min, int max, String debugMessage) {
+            return (int) next(EventType.NUMBER);
+        }
+
+        private long next(EventType type) {
+            while (types[position] == EventType.SELECTION || types[position] == EventType.TURN) {
+                position++;
+            }
+            if (types[position] != type) {
+                throw new IllegalStateException(REPLAY_DIVERGED_FORMAT.formatted(type, types[position]));
+            }
+            return values[position++];
+        }
+
+    }
+
+}
@@ -0,0 +1,24 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.ApplicationException;
+
+/**
+ * A unit of work on a {@link Competition}, executed by its {@link CompetitionActor},
+ * e.g. selecting an action, passing or rendering the monsters.
+ *
+ * @param <T> the type of the result
+ * @author uyqbd
+ */
+@FunctionalInterface
+public interface CompetitionTask<T> {
+
+    /**
+     * Executes this task. No other task of the same competition runs at the same time.
+     *
+     * @param competition the competition of the actor
+     * @return the result of the task
+     * @throws ApplicationException if the task fails
+     */
+    T apply(Competition competition) throws ApplicationException;
+
+}
@@ -0,0 +1,16 @@
+package edu.kit.kastel.game;
+
+import java.util.List;
+
+/**
+ * The solved selections of the current monster of a duel together with the depth they were solved to.
+ *
+ * @param moves the selections of the current monster with their win probabilities, the best first
+ * @param turns the number of turns that were solved, or {@code 0} if none could be solved within the time budget
+ * @param exact {@code true} if the duel was decided in every searched line, {@code false} if undecided duels after
+ *              the solved turns were estimated by the share of health
+ * @author uyqbd
+ */
+public record DuelSolution(List<SolvedMove> moves, int turns, boolean exact) {
+
+}
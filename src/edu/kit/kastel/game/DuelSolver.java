@@ -0,0 +1,413 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.game.monsters.Monster;
+import edu.kit.kastel.utils.RandomSource;
+import edu.kit.kastel.utils.Utility;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Computes the win probabilities of the selections of the current monster in a duel of two monsters
+ * with a depth-limited expectiminimax search.
+ * <p>
+ * The current monster maximizes and its opponent minimizes the probability that the current monster wins.
+ * Selections are made one after another, so the second monster of a turn plays against the selection of the
+ * first, which makes the results a lower bound for the current monster if it selects first.
+ * Every random decision of a turn is a chance node: hits, critical hits and the end of conditions branch by
+ * their probability, random counts by every possible count and the random damage factor by every damage it
+ * can be rounded to, with the share of the range of the factor leading to it. The outcomes are enumerated by
+ * executing the turn
+ * once for every combination of decisions. Combinations leading to the same undecided position, e.g. different
+ * orders of hits of a repeat, are merged by {@link Competition#hashState()} and their probabilities summed,
+ * so every distinct position is searched once per chance node.
+ * </p>
+ * <p>
+ * Chance nodes are pruned with the bounds of the probabilities (Star1) and positions are cached in a
+ * transposition table keyed by {@link Competition#hashState()}. Every entry keeps the packed states of both
+ * monsters (see {@link Monster#packState(long[], int)}) and is only used if they equal the ones of the position,
+ * so a collision of the hashes cannot return the value of a different position. If the depth is reached before the duel
+ * is decided, the share of the relative health of the current monster is taken as its win probability, and the
+ * solution is marked as estimated. Otherwise, the win probabilities are exact for the sequential selections.
+ * The depth is increased one turn at a time until the requested turns are solved or the time budget is
+ * used up, in which case the deepest completely solved depth is taken.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public final class DuelSolver {
+    private static final int DUEL_MONSTER_COUNT = 2;
+    private static final String NO_DUEL_MESSAGE = "the solver only supports competitions of two monsters";
+    private static final String UNSCALED_FACTOR_MESSAGE = "the solver only supports random factors of rounded products";
+    private static final double PERCENT = 100;
+
+    private final Competition root;
+    private final MoveTable moves;
+    private final int player;
+    private final long deadline;
+    private final List<Outcomes> outcomes = new ArrayList<>();
+    private final Map<Long, Entry> table = new HashMap<>();
+    private final long[] packedMonsters = new long[DUEL_MONSTER_COUNT * Monster.PACKED_STATE_LENGTH];
+    private ChanceScript activeScript;
+    private boolean timedOut;
+    private boolean estimated;
+
+    private DuelSolver(Competition root, long deadline) {
+        this.root = root;
+        this.moves = new MoveTable(Rollouts.collectActions(root));
+        this.player = root.getCurrentMonsterIndex();
+        this.deadline = deadline;
+    }
+
+    /**
+     * Computes the win probability of every selection of the current monster, assuming both monsters
+     * play their best in the given number of turns. If the turns cannot be solved within the time budget,
+     * the solution of fewer turns is returned. The competition is not changed.
+     *
+     * @param competition  the duel
+     * @param turns        the number of turns to search, including the current one
+     * @param budgetMillis the time budget in milliseconds
+     * @return the selections of the current monster, the best first, and the number of turns actually solved,
+     *         which is {@code 0} if not even the current turn could be solved within the budget
+     * @throws GameRuntimeException if the competition does not consist of two monsters
+     */
+    public static DuelSolution solve(Competition competition, int turns, long budgetMillis) throws GameRuntimeException {
+        if (competition.getMonsters().size() != DUEL_MONSTER_COUNT) {
+            throw new GameRuntimeException(NO_DUEL_MESSAGE);
+        }
+        DuelSolver solver = new DuelSolver(competition, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis));
+        return Rollouts.runIsolated(solver.new ScriptSource(), () -> solver.solveDeepening(turns));
+    }
+
+    private DuelSolution solveDeepening(int turns) {
+        DuelSolution solution = new DuelSolution(List.of(), 0, false);
+        for (int depth = 1; depth <= turns; depth++) {
+            estimated = false;
+            List<SolvedMove> result = solveRoot(depth);
+            if (timedOut) {
+                break;
+            }
+            result.sort(Comparator.comparingDouble(SolvedMove::winProbability).reversed());
+            solution = new DuelSolution(result, depth, !estimated);
+        }
+        return solution;
+    }
+
+    private List<SolvedMove> solveRoot(int turns) {
+        List<SolvedMove> result = new ArrayList<>();
+        for (int move = 0; move < moves.getCount(player) && !timedOut; move++) {
+            double value = chance(root, player, move, turns, 0, 1, 0);
+            result.add(new SolvedMove(moves.getAction(player, move), moves.getTarget(root, player, move), value));
+        }
+        return result;
+    }
+
+    private double value(Competition state, int turns, double alpha, double beta, int ply) {
+        int winner = Rollouts.findWinner(state);
+        if (winner != Rollouts.UNDECIDED) {
+            return winner == player ? 1 : 0;
+        }
+        if (turns == 0) {
+            estimated = true;
+            return estimate(state);
+        }
+        long key = Utility.mixHash(state.hashState(), turns);
+        Entry entry = table.get(key);
+        if (entry != null) {
+            state.packMonsters(packedMonsters);
+            if (!Arrays.equals(entry.monsters, packedMonsters)) {
+                entry = null;
+            }
+        }
+        if (entry != null && (entry.bound == Bound.EXACT
+                || entry.bound == Bound.LOWER && entry.value >= beta
+                || entry.bound == Bound.UPPER && entry.value <= alpha)) {
+            estimated |= entry.estimated;
+            return entry.value;
+        }
+        // tracks whether this position alone needs estimates, so the entry can tell whenever it is reused
+        boolean outerEstimated = estimated;
+        estimated = false;
+        int user = state.getCurrentMonsterIndex();
+        boolean maximizing = user == player;
+        double best = maximizing ? 0 : 1;
+        double low = alpha;
+        double high = beta;
+        for (int move = 0; move < moves.getCount(user) && low < high; move++) {
+            double value = chance(state, user, move, turns, low, high, ply);
+            if (timedOut) {
+                estimated |= outerEstimated;
+                return best;
+            }
+            if (maximizing) {
+                best = Math.max(best, value);
+                low = Math.max(low, value);
+            } else {
+                best = Math.min(best, value);
+                high = Math.min(high, value);
+            }
+        }
+        Bound bound = best <= alpha ? Bound.UPPER : best >= beta ? Bound.LOWER : Bound.EXACT;
+        long[] monsters = new long[packedMonsters.length];
+        state.packMonsters(monsters);
+        table.put(key, new Entry(best, bound, monsters, estimated));
+        estimated |= outerEstimated;
+        return best;
+    }
+
+    private double chance(Competition state, int user, int move, int turns, double alpha, double beta, int ply) {
+        Outcomes outcomes = getOutcomes(ply);
+        ChanceScript script = outcomes.script;
+        outcomes.clear();
+        script.clear();
+        double sum = 0;
+        double mass = 0;
+        do {
+            if (System.nanoTime() > deadline) {
+                timedOut = true;
+                return sum;
+            }
+            Competition child = outcomes.nextPosition();
+            state.copyInto(child);
+            script.restart();
+            activeScript = script;
+            moves.select(child, user, move);
+            int childTurns = child.getTurn() != state.getTurn() ? turns - 1 : turns;
+            if (childTurns > 0 && Rollouts.findWinner(child) == Rollouts.UNDECIDED) {
+                outcomes.add(childTurns, script.probability);
+                continue;
+            }
+            // leaves are evaluated at once, so the enumeration can stop as soon as the bounds allow it
+            sum += script.probability * value(child, childTurns, 0, 1, ply + 1);
+            mass += script.probability;
+            if (sum >= beta) {
+                return sum;
+            }
+            if (sum + (1 - mass) <= alpha) {
+                return sum + (1 - mass);
+            }
+        } while (script.advance());
+
+        for (int i = 0; i < outcomes.size; i++) {
+            double probability = outcomes.probabilities[i];
+            double remaining = 1 - mass - probability;
+            double childAlpha = Math.max(0, (alpha - sum - remaining) / probability);
+            double childBeta = Math.min(1, (beta - sum) / probability);
+            sum += probability * value(outcomes.positions.get(i), outcomes.turns[i], childAlpha, childBeta, ply + 1);
+            mass += probability;
+            if (timedOut) {
+                return sum;
+            }
+            if (sum >= beta) {
+                return sum;
+            }
+            if (sum + (1 - mass) <= alpha) {
+                return sum + (1 - mass);
+            }
+        }
+        return sum;
+    }
+
+    private double estimate(Competition state) {
+        List<Monster> monsters = state.getMonsters();
+        double own = relativeHealth(monsters.get(player));
+        double other = relativeHealth(monsters.get(1 - player));
+        return own / (own + other);
+    }
+
+    private static double relativeHealth(Monster monster) {
+        return (double) monster.getHealth() / monster.getSample().getMaxHealth();
+    }
+
+    private Outcomes getOutcomes(int ply) {
+        while (outcomes.size() <= ply) {
+            outcomes.add(new Outcomes());
+        }
+        return outcomes.get(ply);
+    }
+
+    private enum Bound {
+        EXACT,
+        LOWER,
+        UPPER
+    }
+
+    private record Entry(double value, Bound bound, long[] monsters, boolean estimated) {
+
+    }
+
+    /**
+     * The distinct undecided positions a chance node leads to, with their summed probabilities and remaining
+     * turns. The positions are kept between uses, so enumerating outcomes does not copy competitions anew.
+     */
+    private final class Outcomes {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final ChanceScript script = new ChanceScript();
+        private final List<Competition> positions = new ArrayList<>();
+        private final Map<Long, Integer> indices = new HashMap<>();
+        private double[] probabilities = new double[INITIAL_CAPACITY];
+        private int[] turns = new int[INITIAL_CAPACITY];
+        private int size;
+
+        private void clear() {
+            indices.clear();
+            size = 0;
+        }
+
+        private Competition nextPosition() {
+            if (positions.size() == size) {
+                positions.add(root.copyWithoutEvents());
+            }
+            return positions.get(size);
+        }
+
+        // keeps the position last returned by nextPosition, or merges it into an equal one kept before
+        private void add(int remainingTurns, double probability) {
+            long key = Utility.mixHash(positions.get(size).hashState(), remainingTurns);
+            Integer index = indices.get(key);
+            if (index != null) {
+                probabilities[index] += probability;
+                return;
+            }
+            if (size == probabilities.length) {
+                probabilities = Arrays.copyOf(probabilities, size * 2);
+                turns = Arrays.copyOf(turns, size * 2);
+            }
+            indices.put(key, size);
+            probabilities[size] = probability;
+            turns[size++] = remainingTurns;
+        }
+
+    }
+
+    private final class ScriptSource implements RandomSource {
+
+        @Override
+        public boolean probabilityGood(double probability, String debugMessage) {
+            return activeScript.probabilityGood(probability);
+        }
+
+        @Override
+        public double getRandomFactor(double min, double max, String debugMessage) {
+            throw new IllegalStateException(UNSCALED_FACTOR_MESSAGE);
+        }
+
+        @Override
+        public double getRandomFactor(double min, double max, double scale, String debugMessage) {
+            return activeScript.getRandomFactor(min, max, scale);
+        }
+
+        @Override
+        public int getRandomNumber(int min, int max, String debugMessage) {
+            return activeScript.getRandomNumber(min, max);
+        }
+
+    }
+
+    /**
+     * The random decisions of one execution of a turn. Executing the turn again after {@link #advance()}
+     * takes the next combination of decisions, like an odometer whose last digit changes first.
+     */
+    private static final class ChanceScript {
+        private static final int INITIAL_CAPACITY = 16;
+
+        private int[] choices = new int[INITIAL_CAPACITY];
+        private int[] counts = new int[INITIAL_CAPACITY];
+        private int length;
+        private int position;
+        private double probability;
+
+        private void clear() {
+            length = 0;
+        }
+
+        private void restart() {
+            position = 0;
+            probability = 1;
+        }
+
+        private boolean advance() {
+            while (length > 0) {
+                if (choices[length - 1] + 1 < counts[length - 1]) {
+                    choices[length - 1]++;
+                    return true;
+                }
+                length--;
+            }
+            return false;
+        }
+
+        private int next(int count) {
+            if (position == length) {
+                if (length == choices.length) {
+                    choices = Arrays.copyOf(choices, length * 2);
+                    counts = Arrays.copyOf(counts, length * 2);
+                }
+                choices[length] = 0;
+                counts[length++] = count;
+            }
+            return choices[position++];
+        }
+
+        private boolean probabilityGood(double percentage) {
+            double chance = percentage / PERCENT;
+            if (chance <= 0 || chance >= 1) {
+                return chance >= 1;
+            }
+            boolean result = next(2) == 0;
+            probability *= result ? chance : 1 - chance;
+            return result;
+        }
+
+        // decides the middle of the part of the range whose product is rounded up to the same value
+        private double getRandomFactor(double min, double max, double scale) {
+            if (scale <= 0 || max <= min) {
+                return min;
+            }
+            int lowest = (int) Math.ceil(scale * min);
+            int highest = (int) Math.ceil(scale * max);
+            int count = 0;
+            for (int value = lowest; value <= highest; value++) {
+                if (getUpperFactor(value, max, scale) > getLowerFactor(value, min, scale)) {
+                    count++;
+                }
+            }
+            int choice = count > 1 ? next(count) : 0;
+            for (int value = lowest; value <= highest; value++) {
+                double low = getLowerFactor(value, min, scale);
+                double high = getUpperFactor(value, max, scale);
+                if (high > low && choice-- == 0) {
+                    probability *= (high - low) / (max - min);
+                    return (low + high) / 2;
+                }
+            }
+            return max;
+        }
+
+        private static double getLowerFactor(int value, double min, double scale) {
+            return Math.max(min, (value - 1) / scale);
+        }
+
+        private static double getUpperFactor(int value, double max, double scale) {
+            return Math.min(max, value / scale);
+        }
+
+        private int getRandomNumber(int min, int max) {
+            int count = max - min + 1;
+            if (count <= 1) {
+                return min;
+            }
+            int choice = next(count);
+            probability /= count;
+            return min + choice;
+        }
+
+    }
+
+}
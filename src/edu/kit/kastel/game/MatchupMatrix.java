@@ -0,0 +1,209 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.game.actions.Action;
+import edu.kit.kastel.game.monsters.MonsterSample;
+import edu.kit.kastel.utils.Utility;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The outcomes of duels between every two monster samples of a catalog, with uniformly chosen actions.
+ * <p>
+ * Every pair of different samples plays the given number of duels. Each duel seats the two monsters in a
+ * random order, so the outcome of a pair does not depend on which sample is named first and the duels of
+ * the ordered pair {@code (a, b)} also give the outcomes of {@code (b, a)}. Each pair takes its random
+ * decisions from its own generator derived from the seed and the pair, so the matrix does not depend on the
+ * scheduling. The pairs are distributed on the common fork-join pool.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public final class MatchupMatrix {
+    /**
+     * The maximal number of duels per pair, so that the wins fit into 16 bits.
+     */
+    public static final int MAX_GAMES = Character.MAX_VALUE;
+
+    private static final int MAGIC = 0x4D4D4154;
+    private static final int VERSION = 1;
+    private static final int PAIRS_PER_TASK = 8;
+
+    private final List<MonsterSample> samples;
+    private final int games;
+    private final long seed;
+    private final char[] wins;
+
+    private MatchupMatrix(List<MonsterSample> samples, int games, long seed) {
+        this.samples = List.copyOf(samples);
+        this.games = games;
+        this.seed = seed;
+        this.wins = new char[2 * getPairIndex(samples.size() - 1, samples.size())];
+    }
+
+    /**
+     * Plays the given number of duels for every pair of different samples. Nothing is printed or logged
+     * and the random number generator of the game is not used.
+     *
+     * @param samples the samples of the catalog
+     * @param games   the number of duels per pair, at most {@link #MAX_GAMES}
+     * @param seed    the seed the generators of all pairs are derived from
+     * @return the outcomes of all pairs
+     * @throws IllegalArgumentException if the number of duels is not positive or too large
+     */
+    public static MatchupMatrix compute(List<MonsterSample> samples, int games, long seed) {
+        if (games <= 0 || games > MAX_GAMES) {
+            throw new IllegalArgumentException();
+        }
+        MatchupMatrix matrix = new MatchupMatrix(samples, games, seed);
+        ForkJoinPool.commonPool().invoke(matrix.new PairTask(0, matrix.wins.length / 2));
+        return matrix;
+    }
+
+    private void playPairs(int firstPair, int endPair) {
+        int low = 0;
+        int high = samples.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (getPairIndex(middle, middle + 1) <= firstPair) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        int first = low;
+        int second = first + 1 + firstPair - getPairIndex(first, first + 1);
+        for (int pair = firstPair; pair < endPair; pair++) {
+            playPair(pair, first, second);
+            if (++second == samples.size()) {
+                first++;
+                second = first + 1;
+            }
+        }
+    }
+
+    private void playPair(int pair, int first, int second) {
+        SplittableRandom random = new SplittableRandom(Utility.mixHash(seed, pair));
+        List<MonsterSample> pairSamples = List.of(samples.get(first), samples.get(second));
+        Competition[] starts = {
+            Competition.createWithoutEvents(pairSamples),
+            Competition.createWithoutEvents(List.of(samples.get(second), samples.get(first)))
+        };
+        Rollouts.runIsolated(new Rollouts.SplittableSource(random), () -> {
+            Competition[] duels = {starts[0].copyWithoutEvents(), starts[1].copyWithoutEvents()};
+            Action[][][] actions = {Rollouts.collectActions(starts[0]), Rollouts.collectActions(starts[1])};
+            for (int game = 0; game < games; game++) {
+                int order = random.nextInt(starts.length);
+                starts[order].copyInto(duels[order]);
+                int winner = Rollouts.playRandomly(duels[order], actions[order], random);
+                if (winner != Rollouts.DRAW) {
+                    wins[2 * pair + (order == 0 ? winner : 1 - winner)]++;
+                }
+            }
+            return null;
+        });
+    }
+
+    private int getPairIndex(int first, int second) {
+        long count = samples.size();
+        return (int) (first * (2 * count - first - 1) / 2 + second - first - 1);
+    }
+
+    /**
+     * Retrieves the samples of the matrix in their order.
+     *
+     * @return an unmodifiable list of the samples
+     */
+    public List<MonsterSample> getSamples() {
+        return samples;
+    }
+
+    /**
+     * Retrieves the number of duels played per pair.
+     *
+     * @return the number of duels per pair
+     */
+    public int getGames() {
+        return games;
+    }
+
+    /**
+     * Retrieves how many duels of the given pair the first sample won.
+     *
+     * @param first  the index of the sample whose wins are counted
+     * @param second the index of its opponent
+     * @return the number of wins, {@code 0} if both indices are equal
+     */
+    public int getWins(int first, int second) {
+        if (first == second) {
+            return 0;
+        }
+        return first < second
+                ? wins[2 * getPairIndex(first, second)]
+                : wins[2 * getPairIndex(second, first) + 1];
+    }
+
+    /**
+     * Retrieves how many duels of the given pair ended without a winner.
+     *
+     * @param first  the index of one sample
+     * @param second the index of the other sample
+     * @return the number of draws, {@code 0} if both indices are equal
+     */
+    public int getDraws(int first, int second) {
+        return first == second ? 0 : games - getWins(first, second) - getWins(second, first);
+    }
+
+    /**
+     * Writes the matrix in a compact binary format: a header with the catalog hash, the number of duels
+     * per pair and the names of the samples, followed by the wins of every sample against every sample,
+     * row by row, as unsigned 16-bit numbers. The diagonal is {@code 0}.
+     *
+     * @param out         the output receiving the matrix
+     * @param catalogHash the hash of the configuration the samples belong to
+     * @throws IOException if the matrix cannot be written
+     */
+    public void write(DataOutput out, long catalogHash) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(catalogHash);
+        out.writeShort(games);
+        out.writeInt(samples.size());
+        for (MonsterSample sample : samples) {
+            out.writeUTF(sample.getName());
+        }
+        for (int first = 0; first < samples.size(); first++) {
+            for (int second = 0; second < samples.size(); second++) {
+                out.writeShort(getWins(first, second));
+            }
+        }
+    }
+
+    private final class PairTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int firstPair;
+        private final int endPair;
+
+        private PairTask(int firstPair, int endPair) {
+            this.firstPair = firstPair;
+            this.endPair = endPair;
+        }
+
+        @Override
+        protected void compute() {
+            if (endPair - firstPair <= PAIRS_PER_TASK) {
+                playPairs(firstPair, endPair);
+                return;
+            }
+            int middle = (firstPair + endPair) >>> 1;
+            invokeAll(new PairTask(firstPair, middle), new PairTask(middle, endPair));
+        }
+
+    }
+
+}
@@ -0,0 +1,173 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.game.actions.Action;
+import edu.kit.kastel.game.monsters.Monster;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chooses the action and target of the current monster with Monte Carlo Tree Search.
+ * <p>
+ * All monsters select their actions of a turn before any of them is applied, so the tree has one node per
+ * turn and the monsters select independently at each node with their own UCB1 statistics (decoupled UCT).
+ * Children are keyed by the joint selection of the turn; random outcomes are sampled anew in every
+ * simulation. Selections targeting a monster that has fainted in the simulated state are never chosen, so the
+ * budget is not spent on actions that always fail. Below the tree, games are finished with random selections.
+ * </p>
+ * <p>
+ * Every core grows its own tree until the time budget is used up (root parallelization) and the choice with
+ * the most visits over all trees is taken. The real game and its random number generator are not affected.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public final class MonteCarloTreeSearch {
+    private static final double EXPLORATION = Math.sqrt(2);
+    private static final double DRAW_REWARD = 0.5;
+    private static final int MAX_TREE_TURNS = 64;
+
+    private MonteCarloTreeSearch() {
+
+    }
+
+    /**
+     * Searches the best action and target of the current monster of the given competition.
+     * At least one game is simulated, even if the budget is used up before. The competition is not changed.
+     *
+     * @param competition  the competition
+     * @param budgetMillis the time budget in milliseconds
+     * @return the chosen action and target
+     */
+    public static SearchDecision search(Competition competition, long budgetMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        Action[][] actions = Rollouts.collectActions(competition);
+        MoveTable moves = new MoveTable(actions);
+        List<Node> roots = Rollouts.runInParallel(random -> grow(competition, actions, moves, random, deadline));
+
+        int user = competition.getCurrentMonsterIndex();
+        int[] visits = new int[moves.getCount(user)];
+        int simulations = 0;
+        for (Node root : roots) {
+            simulations += root.totals[user];
+            for (int move = 0; move < visits.length; move++) {
+                visits[move] += root.visits[user][move];
+            }
+        }
+        int best = 0;
+        for (int move = 1; move < visits.length; move++) {
+            if (visits[move] > visits[best]) {
+                best = move;
+            }
+        }
+        return new SearchDecision(moves.getAction(user, best), moves.getTarget(competition, user, best), simulations);
+    }
+
+    private static Node grow(Competition competition, Action[][] actions, MoveTable moves,
+                             SplittableRandom random, long deadline) {
+        Node root = new Node(moves);
+        Competition state = competition.copyWithoutEvents();
+        List<Monster> monsters = state.getMonsters();
+        int maxPathLength = MAX_TREE_TURNS * monsters.size();
+        Node[] pathNodes = new Node[maxPathLength];
+        int[] pathUsers = new int[maxPathLength];
+        int[] pathMoves = new int[maxPathLength];
+        do {
+            competition.copyInto(state);
+            Node node = root;
+            int length = 0;
+            int winner = Rollouts.findWinner(state);
+            for (int depth = 0; winner == Rollouts.UNDECIDED && depth < MAX_TREE_TURNS; depth++) {
+                int turn = state.getTurn();
+                long key = 0;
+                while (state.getTurn() == turn) {
+                    int user = state.getCurrentMonsterIndex();
+                    int move = node.choose(state, moves, user, random);
+                    pathNodes[length] = node;
+                    pathUsers[length] = user;
+                    pathMoves[length++] = move;
+                    key = key * moves.getCodeBase() + moves.getCode(user, move);
+                    moves.select(state, user, move);
+                }
+                winner = Rollouts.findWinner(state);
+                Node child = node.children.get(key);
+                if (child == null) {
+                    node.children.put(key, new Node(moves));
+                    break;
+                }
+                node = child;
+            }
+            if (winner == Rollouts.UNDECIDED) {
+                winner = Rollouts.playRandomly(state, actions, random);
+            }
+            for (int i = 0; i < length; i++) {
+                int user = pathUsers[i];
+                double reward = winner == Rollouts.DRAW ? DRAW_REWARD : winner == user ? 1 : 0;
+                pathNodes[i].update(user, pathMoves[i], reward);
+            }
+        } while (System.nanoTime() < deadline);
+        return root;
+    }
+
+    private static final class Node {
+        private final int[][] visits;
+        private final double[][] rewards;
+        private final int[] totals;
+        private final Map<Long, Node> children = new HashMap<>();
+
+        private Node(MoveTable moves) {
+            int monsterCount = moves.getMonsterCount();
+            visits = new int[monsterCount][];
+            rewards = new double[monsterCount][];
+            totals = new int[monsterCount];
+            for (int user = 0; user < monsterCount; user++) {
+                visits[user] = new int[moves.getCount(user)];
+                rewards[user] = new double[moves.getCount(user)];
+            }
+        }
+
+        private int choose(Competition state, MoveTable moves, int user, SplittableRandom random) {
+            int[] userVisits = visits[user];
+            int untriedCount = 0;
+            for (int move = 0; move < userVisits.length; move++) {
+                if (userVisits[move] == 0 && moves.isAvailable(state, user, move)) {
+                    untriedCount++;
+                }
+            }
+            if (untriedCount > 0) {
+                int untried = random.nextInt(untriedCount);
+                for (int move = 0; move < userVisits.length; move++) {
+                    if (userVisits[move] == 0 && moves.isAvailable(state, user, move) && untried-- == 0) {
+                        return move;
+                    }
+                }
+            }
+            double logTotal = Math.log(totals[user]);
+            int best = 0;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int move = 0; move < userVisits.length; move++) {
+                if (!moves.isAvailable(state, user, move)) {
+                    continue;
+                }
+                double value = rewards[user][move] / userVisits[move]
+                        + EXPLORATION * Math.sqrt(logTotal / userVisits[move]);
+                if (value > bestValue) {
+                    best = move;
+                    bestValue = value;
+                }
+            }
+            return best;
+        }
+
+        private void update(int user, int move, double reward) {
+            visits[user][move]++;
+            rewards[user][move] += reward;
+            totals[user]++;
+        }
+
+    }
+
+}
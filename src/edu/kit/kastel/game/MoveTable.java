@@ -0,0 +1,147 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.game.actions.Action;
+import edu.kit.kastel.game.monsters.Monster;
+
+/**
+ * The possible selections of every monster of a competition, each a combination of one of its actions with
+ * a target if the action needs one. The selections of a monster are numbered from {@code 0}.
+ *
+ * @author uyqbd
+ */
+final class MoveTable {
+    private static final int NO_TARGET = -1;
+
+    private final Action[][] actions;
+    private final int[][] targets;
+    private final int codeBase;
+    private final int maxCount;
+
+    /**
+     * Builds the selections from the actions of every monster. Each action needing a target is combined with
+     * every other monster. A monster without actions can only pass.
+     *
+     * @param monsterActions the actions per monster, in the order of the competition
+     */
+    MoveTable(Action[][] monsterActions) {
+        int monsterCount = monsterActions.length;
+        actions = new Action[monsterCount][];
+        targets = new int[monsterCount][];
+        int max = 1;
+        for (int user = 0; user < monsterCount; user++) {
+            int count = 0;
+            for (Action action : monsterActions[user]) {
+                count += action.needTarget() ? monsterCount - 1 : 1;
+            }
+            if (count == 0) {
+                actions[user] = new Action[] {Action.EMPTY_ACTION};
+                targets[user] = new int[] {NO_TARGET};
+                continue;
+            }
+            actions[user] = new Action[count];
+            targets[user] = new int[count];
+            int move = 0;
+            for (Action action : monsterActions[user]) {
+                for (int target = 0; target < monsterCount; target++) {
+                    if (action.needTarget() ? target != user : target == 0) {
+                        actions[user][move] = action;
+                        targets[user][move++] = action.needTarget() ? target : NO_TARGET;
+                    }
+                }
+            }
+            max = Math.max(max, count);
+        }
+        maxCount = max;
+        codeBase = monsterCount * max + 1;
+    }
+
+    /**
+     * Returns the number of monsters.
+     *
+     * @return the number of monsters
+     */
+    int getMonsterCount() {
+        return actions.length;
+    }
+
+    /**
+     * Returns the number of selections of the given monster.
+     *
+     * @param user the index of the monster
+     * @return the number of selections
+     */
+    int getCount(int user) {
+        return actions[user].length;
+    }
+
+    /**
+     * Returns the action of a selection.
+     *
+     * @param user the index of the monster
+     * @param move the number of the selection
+     * @return the selected action
+     */
+    Action getAction(int user, int move) {
+        return actions[user][move];
+    }
+
+    /**
+     * Returns the target of a selection within the given competition.
+     *
+     * @param competition the competition
+     * @param user        the index of the monster
+     * @param move        the number of the selection
+     * @return the target monster or {@code null} if the action has no target
+     */
+    Monster getTarget(Competition competition, int user, int move) {
+        int target = targets[user][move];
+        return target != NO_TARGET ? competition.getMonsters().get(target) : null;
+    }
+
+    /**
+     * Checks whether a selection can take effect in the given competition, i.e. whether its target, if it has
+     * one, has not fainted. Selections targeting a fainted monster always fail.
+     *
+     * @param competition the competition
+     * @param user        the index of the monster
+     * @param move        the number of the selection
+     * @return {@code true} if the selection has no target or a living one
+     */
+    boolean isAvailable(Competition competition, int user, int move) {
+        int target = targets[user][move];
+        return target == NO_TARGET || !competition.getMonsters().get(target).isFainted();
+    }
+
+    /**
+     * Returns a number identifying the selection among the selections of all monsters, between {@code 1}
+     * and {@link #getCodeBase()} (exclusive). A sequence of selections can thereby be combined into one number.
+     *
+     * @param user the index of the monster
+     * @param move the number of the selection
+     * @return the code of the selection
+     */
+    int getCode(int user, int move) {
+        return user * maxCount + move + 1;
+    }
+
+    /**
+     * Returns the upper bound (exclusive) of the selection codes.
+     *
+     * @return the base for combining selection codes
+     */
+    int getCodeBase() {
+        return codeBase;
+    }
+
+    /**
+     * Selects the given selection for the current monster of the competition.
+     *
+     * @param competition the competition
+     * @param user        the index of the current monster
+     * @param move        the number of the selection
+     */
+    void select(Competition competition, int user, int move) {
+        competition.select(actions[user][move], getTarget(competition, user, move));
+    }
+
+}
@@ -0,0 +1,210 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.Application;
+import edu.kit.kastel.game.actions.Action;
+import edu.kit.kastel.game.log.BattleLog;
+import edu.kit.kastel.game.monsters.Monster;
+import edu.kit.kastel.utils.RandomGenerator;
+import edu.kit.kastel.utils.RandomSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Helpers for simulating continuations of a competition, shared by the estimators and searches.
+ * <p>
+ * Simulations run on one worker thread per core. Every worker takes its random decisions from its own
+ * generator and mutes its output, so the real game and its random number generator are not affected
+ * and no message is formatted.
+ * </p>
+ *
+ * @author uyqbd
+ */
+final class Rollouts {
+    /**
+     * The result of a playout without a winner.
+     */
+    static final int DRAW = -1;
+    /**
+     * The result of a competition in which more than one monster is left.
+     */
+    static final int UNDECIDED = -2;
+
+    private static final int MAX_PLAYOUT_TURNS = 1000;
+
+    private Rollouts() {
+
+    }
+
+    /**
+     * Runs the given work on one worker thread per core and collects the results.
+     *
+     * @param work the work of one worker, given the random generator of the worker
+     * @param <T>  the type of the results
+     * @return the results of all workers
+     */
+    static <T> List<T> runInParallel(Function<SplittableRandom, T> work) {
+        int workerCount = Runtime.getRuntime().availableProcessors();
+        SplittableRandom seeds = new SplittableRandom();
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount);
+        try {
+            List<Future<T>> futures = new ArrayList<>(workerCount);
+            for (int i = 0; i < workerCount; i++) {
+                SplittableRandom random = seeds.split();
+                futures.add(executor.submit(() -> runIsolated(new SplittableSource(random), () -> work.apply(random))));
+            }
+            List<T> results = new ArrayList<>(workerCount);
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Runs the given work in the current thread with muted output and suspended battle log,
+     * taking all random decisions from the given source.
+     *
+     * @param source the source of the random decisions
+     * @param work   the work to run
+     * @param <T>    the type of the result
+     * @return the result of the work
+     */
+    static <T> T runIsolated(RandomSource source, Supplier<T> work) {
+        RandomSource previous = RandomGenerator.bind(source);
+        Application.DEFAULT_OUTPUT_STREAM.mute();
+        BattleLog.suspend();
+        try {
+            return work.get();
+        } finally {
+            BattleLog.resume();
+            Application.DEFAULT_OUTPUT_STREAM.unmute();
+            RandomGenerator.bind(previous);
+        }
+    }
+
+    /**
+     * Collects the actions of every monster of the competition.
+     *
+     * @param competition the competition
+     * @return the actions per monster, in the order of the competition
+     */
+    static Action[][] collectActions(Competition competition) {
+        List<Monster> monsters = competition.getMonsters();
+        Action[][] actions = new Action[monsters.size()][];
+        for (int i = 0; i < monsters.size(); i++) {
+            List<String> names = monsters.get(i).getSample().getActions();
+            actions[i] = new Action[names.size()];
+            for (int j = 0; j < names.size(); j++) {
+                try {
+                    actions[i][j] = Action.find(names.get(j));
+                } catch (GameRuntimeException e) {
+                    actions[i][j] = Action.EMPTY_ACTION;
+                }
+            }
+        }
+        return actions;
+    }
+
+    /**
+     * Returns the index of the only monster that is not fainted.
+     *
+     * @param competition the competition
+     * @return the index of the winner, {@link #DRAW} if all monsters fainted,
+     *         or {@link #UNDECIDED} if more than one monster is left
+     */
+    static int findWinner(Competition competition) {
+        List<Monster> monsters = competition.getMonsters();
+        int winner = DRAW;
+        for (int i = 0; i < monsters.size(); i++) {
+            if (!monsters.get(i).isFainted()) {
+                if (winner != DRAW) {
+                    return UNDECIDED;
+                }
+                winner = i;
+            }
+        }
+        return winner;
+    }
+
+    /**
+     * Continues the competition with uniformly chosen actions and targets until at most one monster is left.
+     *
+     * @param competition the competition to continue
+     * @param actions     the actions per monster
+     * @param random      the generator choosing the actions and targets
+     * @return the index of the winner or {@link #DRAW}
+     */
+    static int playRandomly(Competition competition, Action[][] actions, SplittableRandom random) {
+        List<Monster> monsters = competition.getMonsters();
+        int lastTurn = competition.getTurn() + MAX_PLAYOUT_TURNS;
+        int[] targets = new int[monsters.size()];
+        int winner = findWinner(competition);
+        while (winner == UNDECIDED && competition.getTurn() < lastTurn) {
+            int user = competition.getCurrentMonsterIndex();
+            Action[] userActions = actions[user];
+            Action action = userActions.length > 0 ? userActions[random.nextInt(userActions.length)] : Action.EMPTY_ACTION;
+            Monster target = null;
+            if (action.needTarget()) {
+                int targetCount = 0;
+                for (int i = 0; i < monsters.size(); i++) {
+                    if (i != user && !monsters.get(i).isFainted()) {
+                        targets[targetCount++] = i;
+                    }
+                }
+                target = monsters.get(targets[random.nextInt(targetCount)]);
+            }
+            competition.select(action, target);
+            winner = findWinner(competition);
+        }
+        return winner == UNDECIDED ? DRAW : winner;
+    }
+
+    /**
+     * A source of random decisions taken from a {@link SplittableRandom}, with the same semantics as the
+     * default source of {@link RandomGenerator}.
+     */
+    static final class SplittableSource implements RandomSource {
+        private final SplittableRandom random;
+
+        /**
+         * Creates a source taking its decisions from the given generator.
+         *
+         * @param random the generator
+         */
+        SplittableSource(SplittableRandom random) {
+            this.random = random;
+        }
+
+        @Override
+        public boolean probabilityGood(double probability, String debugMessage) {
+            return random.nextDouble() * 100 <= probability;
+        }
+
+        @Override
+        public double getRandomFactor(double min, double max, String debugMessage) {
+            return random.nextDouble(min, max);
+        }
+
+        @Override
+        public int getRandomNumber(int min, int max, String debugMessage) {
+            return random.nextInt(min, max + 1);
+        }
+
+    }
+
+}
@@ -0,0 +1,16 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.game.actions.Action;
+import edu.kit.kastel.game.monsters.Monster;
+
+/**
+ * The action and target a search chose for the current monster of a competition.
+ *
+ * @param action      the chosen action
+ * @param target      the chosen target or {@code null} if the action has no target
+ * @param simulations the number of simulated games the choice is based on
+ * @author uyqbd
+ */
+public record SearchDecision(Action action, Monster target, int simulations) {
+
+}
@@ -0,0 +1,16 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.game.actions.Action;
+import edu.kit.kastel.game.monsters.Monster;
+
+/**
+ * A selection of the current monster together with the probability that the monster wins after it.
+ *
+ * @param action         the selected action
+ * @param target         the selected target or {@code null} if the action has no target
+ * @param winProbability the probability that the current monster wins if both monsters play their best afterwards
+ * @author uyqbd
+ */
+public record SolvedMove(Action action, Monster target, double winProbability) {
+
+}
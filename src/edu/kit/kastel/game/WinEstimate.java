@@ -0,0 +1,75 @@
+package edu.kit.kastel.game;
+
+/**
+ * The result of a {@link WinEstimator}: how many of the simulated continuations of a competition
+ * each monster won.
+ *
+ * @author uyqbd
+ */
+public final class WinEstimate {
+    private static final double CONFIDENCE_Z = 1.96;
+
+    private final int[] wins;
+    private final int draws;
+    private final int rollouts;
+
+    /**
+     * Constructs an estimate from the counted outcomes.
+     *
+     * @param wins  the number of won rollouts per monster, in the order of the competition
+     * @param draws the number of rollouts without a winner
+     */
+    WinEstimate(int[] wins, int draws) {
+        this.wins = wins.clone();
+        this.draws = draws;
+        int total = draws;
+        for (int win : wins) {
+            total += win;
+        }
+        this.rollouts = total;
+    }
+
+    /**
+     * Returns the number of simulated rollouts.
+     *
+     * @return the number of rollouts
+     */
+    public int getRollouts() {
+        return rollouts;
+    }
+
+    /**
+     * Returns the estimated probability that the monster at the given index wins.
+     *
+     * @param monsterIndex the index of the monster in the competition
+     * @return the share of rollouts the monster won
+     */
+    public double getWinProbability(int monsterIndex) {
+        return share(wins[monsterIndex]);
+    }
+
+    /**
+     * Returns the estimated probability that no monster wins.
+     *
+     * @return the share of rollouts without a winner
+     */
+    public double getDrawProbability() {
+        return share(draws);
+    }
+
+    /**
+     * Returns the half width of the 95% confidence interval of an estimated probability,
+     * using the normal approximation of the binomial distribution.
+     *
+     * @param probability the estimated probability
+     * @return the margin of error of the probability
+     */
+    public double getMargin(double probability) {
+        return rollouts == 0 ? 0 : CONFIDENCE_Z * Math.sqrt(probability * (1 - probability) / rollouts);
+    }
+
+    private double share(int count) {
+        return rollouts == 0 ? 0 : (double) count / rollouts;
+    }
+
+}
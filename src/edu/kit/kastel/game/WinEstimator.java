@@ -0,0 +1,66 @@
+package edu.kit.kastel.game;
+
+import edu.kit.kastel.game.actions.Action;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Estimates the win probability of every monster of a competition by simulating random continuations.
+ * <p>
+ * Each rollout continues a copy of the competition with uniformly chosen actions and targets until at
+ * most one monster is left. The rollouts are shared among one worker per core, each reusing a single copy.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public final class WinEstimator {
+
+    private WinEstimator() {
+
+    }
+
+    /**
+     * Runs rollouts of the given competition until the given number of rollouts is reached or the time
+     * budget is used up. The competition is not changed.
+     *
+     * @param competition  the competition to estimate
+     * @param maxRollouts  the maximal number of rollouts
+     * @param budgetMillis the time budget in milliseconds
+     * @return the counted outcomes of the finished rollouts
+     */
+    public static WinEstimate estimate(Competition competition, int maxRollouts, long budgetMillis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        AtomicInteger remaining = new AtomicInteger(maxRollouts);
+        Action[][] actions = Rollouts.collectActions(competition);
+        List<int[]> results = Rollouts.runInParallel(
+                random -> runRollouts(competition, actions, random, remaining, deadline)
+        );
+        int monsterCount = actions.length;
+        int[] wins = new int[monsterCount];
+        int draws = 0;
+        for (int[] outcomes : results) {
+            for (int i = 0; i < monsterCount; i++) {
+                wins[i] += outcomes[i];
+            }
+            draws += outcomes[monsterCount];
+        }
+        return new WinEstimate(wins, draws);
+    }
+
+    private static int[] runRollouts(Competition competition, Action[][] actions, SplittableRandom random,
+                                     AtomicInteger remaining, long deadline) {
+        int monsterCount = actions.length;
+        int[] outcomes = new int[monsterCount + 1];
+        Competition rollout = competition.copyWithoutEvents();
+        while (System.nanoTime() < deadline && remaining.getAndDecrement() > 0) {
+            competition.copyInto(rollout);
+            int winner = Rollouts.playRandomly(rollout, actions, random);
+            outcomes[winner != Rollouts.DRAW ? winner : monsterCount]++;
+        }
+        return outcomes;
+    }
+
+}
@@ -1,12 +1,12 @@
 package edu.kit.kastel.game.actions;
 
 import edu.kit.kastel.game.GameRuntimeException;
-import edu.kit.kastel.game.actions.effects.ApplyableEffect;
 import edu.kit.kastel.game.actions.effects.Effect;
 import edu.kit.kastel.game.actions.effects.EffectType;
 import edu.kit.kastel.game.types.element.Element;
 import edu.kit.kastel.utils.RegexConstructor;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -21,6 +21,8 @@
  * @author uyqbd
  */
 public class Action {
+    private static volatile ActionEngine engine = ActionEngine.INTERPRETED;
+
     /**
      * A predefined, immutable instance of {@code Action} with no name, no elemental type,
      * and an empty list of effects. This represents an action that performs no operation,
@@ -36,7 +38,9 @@ public class Action {
     private final String name;
     private final Element element;
     private final List<Effect> effects;
+    private final EffectPlan plan;
     private final boolean needTarget;
+    private volatile ActionExecutor executor;
 
     /**
      * Constructs a new {@code Action} with a given name, element, and list of effects.
@@ -49,6 +53,8 @@ public Action(String name, Element element, List<Effect> effects) {
         this.name = name;
         this.element = element;
         this.effects = effects;
+        this.plan = EffectPlan.compile(effects);
+        this.executor = engine.createExecutor(plan);
         needTarget = effectNeedTarget();
         if (name != null) {
             ACTIONS.put(name, this);
@@ -65,18 +71,43 @@ private boolean effectNeedTarget() {
     }
 
     /**
-     * Creates and retrieves a list of {@link ApplyableEffect} instances based on the current action's
-     * associated effects. It iterates through all {@link Effect} objects in the action, invoking
-     * their {@code create} method to generate applicable effects.
+     * Retrieves the effects of the action compiled at creation into a flat plan.
+     *
+     * @return the compiled effect plan
+     */
+    EffectPlan getPlan() {
+        return plan;
+    }
+
+    /**
+     * Retrieves the executor of the effects of the action for the current engine.
+     *
+     * @return the executor
+     */
+    ActionExecutor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Chooses how the effects of all actions are executed. The executors of all registered actions are
+     * created at once, and actions created later use the engine as well.
      *
-     * @return a list of {@link ApplyableEffect} objects derived from the current action's effects
+     * @param actionEngine the engine to use
      */
-    public List<ApplyableEffect> createEffects() {
-        List<ApplyableEffect> effects = new LinkedList<>();
-        for (Effect effect : this.effects) {
-            effects.addAll(effect.create());
+    public static void setEngine(ActionEngine actionEngine) {
+        engine = actionEngine;
+        for (Action action : ACTIONS.values()) {
+            action.executor = actionEngine.createExecutor(action.plan);
         }
-        return effects;
+    }
+
+    /**
+     * Retrieves the engine the effects of actions are executed with.
+     *
+     * @return the current engine
+     */
+    public static ActionEngine getEngine() {
+        return engine;
     }
 
     /**
@@ -109,6 +140,16 @@ public String getName() {
         return name;
     }
 
+    /**
+     * Retrieves the effects of the action in the order they are applied, as configured,
+     * i.e. before repeated effects are expanded.
+     *
+     * @return an unmodifiable list of the effects
+     */
+    public List<Effect> getEffects() {
+        return Collections.unmodifiableList(effects);
+    }
+
     /**
      * Provides a regex pattern for matching an action's configuration.
      *
@@ -0,0 +1,137 @@
+package edu.kit.kastel.game.actions;
+
+import edu.kit.kastel.Application;
+import edu.kit.kastel.ApplicationException;
+import edu.kit.kastel.config.ConfigParser;
+import edu.kit.kastel.game.log.BattleLog;
+import edu.kit.kastel.game.monsters.Monster;
+import edu.kit.kastel.game.monsters.MonsterSample;
+import edu.kit.kastel.game.monsters.StatTerm;
+import edu.kit.kastel.utils.RandomGenerator;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A benchmark measuring how long resolving one action takes, from drawing its repetitions to applying its effects.
+ * <p>
+ * The benchmark loads the given configuration and lets the user monster use each of its actions in turn against
+ * the target monster, replacing both by fresh monsters every few actions so they do not faint. Output and battle
+ * log are suppressed. After some rounds to warm up the just-in-time compiler, the median time per action over
+ * the measured rounds is printed, followed by the hits and misses of the {@link StatTerm} cache.
+ * </p>
+ * <p>
+ * Run with {@code -XX:+UnlockDiagnosticVMOptions -XX:+PrintInlining}, the benchmark also shows whether the calls
+ * of the engines into the effects are bound statically: no call of a method of the effects package may be
+ * reported with "no static binding".
+ * </p>
+ *
+ * @author uyqbd
+ */
+public final class ActionBenchmark {
+    private static final String COMMAND_LINE_ARGUMENTS_MESSAGE = "Error, arguments expected: <config> <user> <target>";
+    private static final String MONSTER_NOT_FOUND_FORMAT = "Error, monster %s not found.";
+    private static final String ROUND_FORMAT = "Round %d: %.1f ns per action";
+    private static final String RESULT_FORMAT = "%d actions per round, median %.1f ns per action.";
+    private static final String CACHE_FORMAT = "Stat term cache: %d hits, %d misses.";
+
+    private static final int ARGS_COUNT = 3;
+    private static final int CONFIG_PATH_INDEX = 0;
+    private static final int USER_INDEX = 1;
+    private static final int TARGET_INDEX = 2;
+    private static final long SEED = 7;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 10;
+    private static final int ACTIONS_PER_ROUND = 1_000_000;
+    private static final int ACTIONS_PER_MONSTER = 8;
+
+
+    private ActionBenchmark() {
+
+    }
+
+    /**
+     * The entry point of the benchmark.
+     *
+     * @param args the configuration path, the name of the user monster and the name of the target monster
+     */
+    public static void main(String[] args) {
+        if (args.length != ARGS_COUNT) {
+            Application.DEFAULT_ERROR_STREAM.println(COMMAND_LINE_ARGUMENTS_MESSAGE);
+            return;
+        }
+        try {
+            ConfigParser.parse(args[CONFIG_PATH_INDEX]);
+            MonsterSample user = findSample(args[USER_INDEX]);
+            MonsterSample target = findSample(args[TARGET_INDEX]);
+            if (user == null || target == null) {
+                return;
+            }
+            run(user, target);
+        } catch (ApplicationException e) {
+            Application.DEFAULT_ERROR_STREAM.println(e.getMessage());
+        } finally {
+            Application.DEFAULT_OUTPUT_STREAM.flush();
+        }
+    }
+
+    private static MonsterSample findSample(String name) {
+        MonsterSample sample = MonsterSample.find(name);
+        if (sample == null) {
+            Application.DEFAULT_ERROR_STREAM.println(MONSTER_NOT_FOUND_FORMAT.formatted(name));
+        }
+        return sample;
+    }
+
+    private static void run(MonsterSample userSample, MonsterSample targetSample) throws ApplicationException {
+        List<String> actionNames = userSample.getActions();
+        Action[] actions = new Action[actionNames.size()];
+        for (int i = 0; i < actions.length; i++) {
+            actions[i] = Action.find(actionNames.get(i));
+        }
+        RandomGenerator.setSeed(SEED);
+        double[] nanosPerAction = new double[MEASURED_ROUNDS];
+        long checksum = 0;
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            Application.DEFAULT_OUTPUT_STREAM.mute();
+            BattleLog.suspend();
+            long start = System.nanoTime();
+            try {
+                checksum += runRound(userSample, targetSample, actions);
+            } finally {
+                BattleLog.resume();
+                Application.DEFAULT_OUTPUT_STREAM.unmute();
+            }
+            double nanos = (double) (System.nanoTime() - start) / ACTIONS_PER_ROUND;
+            if (round >= WARMUP_ROUNDS) {
+                nanosPerAction[round - WARMUP_ROUNDS] = nanos;
+                Application.DEFAULT_OUTPUT_STREAM.println(ROUND_FORMAT.formatted(round - WARMUP_ROUNDS + 1, nanos));
+            }
+        }
+        Arrays.sort(nanosPerAction);
+        // the checksum keeps the results alive, so the just-in-time compiler cannot remove the work
+        if (checksum == Long.MIN_VALUE) {
+            Application.DEFAULT_OUTPUT_STREAM.println(checksum);
+        }
+        Application.DEFAULT_OUTPUT_STREAM.println(RESULT_FORMAT.formatted(
+                ACTIONS_PER_ROUND, nanosPerAction[MEASURED_ROUNDS / 2]
+        ));
+        Application.DEFAULT_OUTPUT_STREAM.println(CACHE_FORMAT.formatted(StatTerm.getHits(), StatTerm.getMisses()));
+    }
+
+    private static long runRound(MonsterSample userSample, MonsterSample targetSample, Action[] actions) {
+        long checksum = 0;
+        Monster user = null;
+        Monster target = null;
+        for (int i = 0; i < ACTIONS_PER_ROUND; i++) {
+            if (i % ACTIONS_PER_MONSTER == 0) {
+                user = userSample.create(0);
+                target = targetSample.create(0);
+            }
+            new EffectQueue(user, target, actions[i % actions.length]).apply();
+            checksum += target.getHealth();
+        }
+        return checksum;
+    }
+
+}
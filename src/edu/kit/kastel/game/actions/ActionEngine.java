@@ -0,0 +1,38 @@
+package edu.kit.kastel.game.actions;
+
+/**
+ * The ways the effects of actions can be executed. Both engines give the same results,
+ * including the order of the random decisions.
+ *
+ * @author uyqbd
+ */
+public enum ActionEngine {
+    /**
+     * Interprets the compiled effect plan of an action with a switch over its opcodes.
+     */
+    INTERPRETED {
+        @Override
+        ActionExecutor createExecutor(EffectPlan plan) {
+            return new PlanInterpreter(plan);
+        }
+    },
+    /**
+     * Generates a specialized method handle tree for every action, with its effects bound as constants,
+     * so that the just-in-time compiler can inline the whole execution of the action.
+     */
+    GENERATED {
+        @Override
+        ActionExecutor createExecutor(EffectPlan plan) {
+            return ExecutorGenerator.generate(plan);
+        }
+    };
+
+    /**
+     * Creates an executor of the given plan for this engine.
+     *
+     * @param plan the compiled effects of an action
+     * @return the executor of the action
+     */
+    abstract ActionExecutor createExecutor(EffectPlan plan);
+
+}
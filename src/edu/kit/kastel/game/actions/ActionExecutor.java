@@ -0,0 +1,25 @@
+package edu.kit.kastel.game.actions;
+
+import edu.kit.kastel.game.monsters.Monster;
+
+/**
+ * Executes the effects of one action, once its repetitions are drawn and the condition of the user allows it.
+ * <p>
+ * The first effect decides whether the action fails: if it misses, no further effect is applied.
+ * Every following effect is applied if it is not blocked and hits. Implementations only differ in speed.
+ * </p>
+ *
+ * @author uyqbd
+ */
+interface ActionExecutor {
+
+    /**
+     * Applies the effects of the action.
+     *
+     * @param user        the monster using the action
+     * @param target      the target of the action, or {@code null} if it has none
+     * @param repetitions the drawn repetitions of the repeats of the action, in their order
+     */
+    void execute(Monster user, Monster target, int[] repetitions);
+
+}
@@ -0,0 +1,189 @@
+package edu.kit.kastel.game.actions;
+
+import edu.kit.kastel.game.actions.effects.ApplyableEffect;
+import edu.kit.kastel.game.actions.effects.DamageEffect;
+import edu.kit.kastel.game.actions.effects.Effect;
+import edu.kit.kastel.game.actions.effects.ProtectionType;
+import edu.kit.kastel.game.actions.effects.RepeatEffect;
+import edu.kit.kastel.game.monsters.Monster;
+import edu.kit.kastel.game.types.Condition;
+import edu.kit.kastel.game.types.count.Count;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The exact distribution of the damage an action deals to its target, computed without drawing random numbers.
+ * <p>
+ * The distribution covers everything that is random when the action is used in the current state: whether the
+ * condition of the user ends first, whether the user wakes up, how often effects are repeated, whether each
+ * effect hits, critical hits and the random damage factor. As in the competition, the action fails if its first
+ * effect misses. The damage is capped at the health of the target, so the largest value is the probability that
+ * the target faints. Changes of stats made by the action itself are not taken into account.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public final class DamageDistribution {
+    private static final double PERCENT = 100;
+
+    private final Monster target;
+    private final double[] probabilities;
+
+    private DamageDistribution(Monster target, double[] probabilities) {
+        this.target = target;
+        this.probabilities = probabilities;
+    }
+
+    /**
+     * Computes the distribution of the damage the given user deals to the given target with the action.
+     * Nothing is printed and no random numbers are drawn.
+     *
+     * @param user   the monster using the action
+     * @param target the monster targeted by the action, or {@code null} if the action needs no target
+     * @param action the action to preview
+     * @return the distribution of the damage, which is always {@code 0} without target
+     */
+    public static DamageDistribution compute(Monster user, Monster target, Action action) {
+        if (target == null) {
+            return new DamageDistribution(null, new double[] {1});
+        }
+        double[] probabilities = new double[target.getHealth() + 1];
+        Condition condition = user.getCondition();
+        if (user.isFainted() || target.isFainted()) {
+            probabilities[0] = 1;
+        } else if (condition == null) {
+            addEffects(probabilities, 1, user, target, action.getEffects(), 0, new ArrayList<>());
+        } else {
+            double finishChance = Condition.getFinishProbability() / PERCENT;
+            addEffects(probabilities, finishChance, user.copyWithoutCondition(), target, action.getEffects(), 0, new ArrayList<>());
+            if (condition == Condition.SLEEP) {
+                probabilities[0] += 1 - finishChance;
+            } else {
+                addEffects(probabilities, 1 - finishChance, user, target, action.getEffects(), 0, new ArrayList<>());
+            }
+        }
+        return new DamageDistribution(target, probabilities);
+    }
+
+    private static void addEffects(double[] probabilities, double weight, Monster user, Monster target,
+                                   List<Effect> effects, int index, List<ApplyableEffect> expandedEffects) {
+        if (index == effects.size()) {
+            addExpandedEffects(probabilities, weight, user, target, expandedEffects);
+            return;
+        }
+        Effect effect = effects.get(index);
+        RepeatEffect repeatEffect = effect.asRepeatEffect();
+        if (repeatEffect == null) {
+            expandedEffects.add(effect.asApplyableEffect());
+            addEffects(probabilities, weight, user, target, effects, index + 1, expandedEffects);
+            expandedEffects.remove(expandedEffects.size() - 1);
+            return;
+        }
+        Count count = repeatEffect.getCount();
+        double countWeight = weight / (count.getMaxValue() - count.getMinValue() + 1);
+        List<Effect> repeatedEffects = repeatEffect.getEffects();
+        int expandedCount = expandedEffects.size();
+        for (int repetitions = count.getMinValue(); repetitions <= count.getMaxValue(); repetitions++) {
+            for (int i = 0; i < repetitions; i++) {
+                for (Effect repeatedEffect : repeatedEffects) {
+                    expandedEffects.add(repeatedEffect.asApplyableEffect());
+                }
+            }
+            addEffects(probabilities, countWeight, user, target, effects, index + 1, expandedEffects);
+            expandedEffects.subList(expandedCount, expandedEffects.size()).clear();
+        }
+    }
+
+    private static void addExpandedEffects(double[] probabilities, double weight, Monster user, Monster target,
+                                           List<ApplyableEffect> effects) {
+        double[] damageProbabilities = new double[probabilities.length];
+        damageProbabilities[0] = 1;
+        double hitWeight = weight;
+        boolean first = true;
+        for (ApplyableEffect effect : effects) {
+            double hitChance = Math.max(0, Math.min(1, effect.getHitChance(user, target) / PERCENT));
+            if (first) {
+                probabilities[0] += hitWeight * (1 - hitChance);
+                hitWeight *= hitChance;
+                hitChance = 1;
+                first = false;
+            }
+            if (effect instanceof DamageEffect damageEffect && !damageEffect.isOnUser()
+                    && target.getProtectionType() != ProtectionType.HEALTH) {
+                double[] values = damageEffect.getPower().getValueProbabilities(user, target, damageEffect.getActionElement());
+                damageProbabilities = addDamage(damageProbabilities, values, hitChance);
+            }
+        }
+        for (int damage = 0; damage < probabilities.length; damage++) {
+            probabilities[damage] += hitWeight * damageProbabilities[damage];
+        }
+    }
+
+    private static double[] addDamage(double[] damageProbabilities, double[] values, double hitChance) {
+        int maxDamage = damageProbabilities.length - 1;
+        double[] result = new double[damageProbabilities.length];
+        for (int damage = 0; damage <= maxDamage; damage++) {
+            double probability = damageProbabilities[damage];
+            if (probability == 0) {
+                continue;
+            }
+            result[damage] += probability * (1 - hitChance);
+            for (int value = 0; value < values.length; value++) {
+                result[Math.min(maxDamage, damage + value)] += probability * hitChance * values[value];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the monster receiving the damage.
+     *
+     * @return the target of the action, or {@code null} if the action needs no target
+     */
+    public Monster getTarget() {
+        return target;
+    }
+
+    /**
+     * Retrieves the largest damage the target can take, which is its current health.
+     *
+     * @return the largest possible damage
+     */
+    public int getMaxDamage() {
+        return probabilities.length - 1;
+    }
+
+    /**
+     * Retrieves the probability that the target takes exactly the given damage.
+     *
+     * @param damage the damage, capped at the health of the target
+     * @return the probability of the damage, {@code 0} if it is out of range
+     */
+    public double getProbability(int damage) {
+        return damage >= 0 && damage < probabilities.length ? probabilities[damage] : 0;
+    }
+
+    /**
+     * Computes the mean of the damage the target takes.
+     *
+     * @return the expected damage
+     */
+    public double getExpectedDamage() {
+        double expectedDamage = 0;
+        for (int damage = 0; damage < probabilities.length; damage++) {
+            expectedDamage += damage * probabilities[damage];
+        }
+        return expectedDamage;
+    }
+
+    /**
+     * Retrieves the probability that the target faints from the action.
+     *
+     * @return the probability to faint
+     */
+    public double getFaintProbability() {
+        return getMaxDamage() > 0 ? probabilities[getMaxDamage()] : 0;
+    }
+
+}
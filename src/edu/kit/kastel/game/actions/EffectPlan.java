@@ -0,0 +1,187 @@
+package edu.kit.kastel.game.actions;
+
+import edu.kit.kastel.game.actions.effects.ApplyableEffect;
+import edu.kit.kastel.game.actions.effects.ContinueEffect;
+import edu.kit.kastel.game.actions.effects.Effect;
+import edu.kit.kastel.game.actions.effects.HealEffect;
+import edu.kit.kastel.game.actions.effects.HealthShiftEffect;
+import edu.kit.kastel.game.actions.effects.ProtectEffect;
+import edu.kit.kastel.game.actions.effects.RepeatEffect;
+import edu.kit.kastel.game.actions.effects.StatScaleEffect;
+import edu.kit.kastel.game.actions.effects.StatusConditionEffect;
+import edu.kit.kastel.game.types.count.Count;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The effects of an action compiled into a flat, immutable instruction stream that is interpreted in place.
+ * <p>
+ * Every effect becomes an instruction of two ints: the opcode of its kind and the index of the effect in the
+ * constant pool of the plan. A repeat becomes {@link #REPEAT} with the index of the repeat and the position
+ * after its body, followed by the instructions of the repeated effects and a single {@link #LOOP}.
+ * Since effects have no state, they are shared instead of copied, so resolving an action only needs the
+ * drawn repetitions of its repeats.
+ * </p>
+ *
+ * @author uyqbd
+ */
+final class EffectPlan {
+    /**
+     * Applies a {@link HealthShiftEffect} that deals damage.
+     */
+    static final int DAMAGE = 0;
+    /**
+     * Applies a {@link HealEffect}.
+     */
+    static final int HEAL = 1;
+    /**
+     * Applies a {@link StatusConditionEffect}.
+     */
+    static final int INFLICT_STATUS_CONDITION = 2;
+    /**
+     * Applies a {@link StatScaleEffect}.
+     */
+    static final int INFLICT_STAT_CHANGE = 3;
+    /**
+     * Applies a {@link ProtectEffect}.
+     */
+    static final int PROTECT_STAT = 4;
+    /**
+     * Applies a {@link ContinueEffect}, which only has to hit.
+     */
+    static final int CONTINUE = 5;
+    /**
+     * Starts a repeat, skipping its body if it is repeated zero times.
+     */
+    static final int REPEAT = 6;
+    /**
+     * Ends the body of a repeat, jumping back while repetitions remain.
+     */
+    static final int LOOP = 7;
+    /**
+     * The number of ints of an instruction applying an effect.
+     */
+    static final int EFFECT_LENGTH = 2;
+    /**
+     * The number of ints of a {@link #REPEAT} instruction.
+     */
+    static final int REPEAT_LENGTH = 3;
+    /**
+     * The number of ints of a {@link #LOOP} instruction.
+     */
+    static final int LOOP_LENGTH = 1;
+    /**
+     * The message of the exception thrown when an executor meets an opcode it does not know.
+     */
+    static final String UNKNOWN_OPCODE_FORMAT = "unknown opcode %d";
+
+    private static final String DEBUG_MESSAGE = "count of repeating";
+    private static final String UNKNOWN_EFFECT_FORMAT = "no opcode for effect %s";
+
+    private final int[] code;
+    private final ApplyableEffect[] effects;
+    private final Count[] counts;
+
+    private EffectPlan(int[] code, ApplyableEffect[] effects, Count[] counts) {
+        this.code = code;
+        this.effects = effects;
+        this.counts = counts;
+    }
+
+    /**
+     * Compiles the configured effects of an action into a plan.
+     *
+     * @param configuredEffects the effects of the action, with repeats not yet expanded
+     * @return the compiled plan
+     */
+    static EffectPlan compile(List<Effect> configuredEffects) {
+        List<Integer> code = new ArrayList<>();
+        List<ApplyableEffect> effects = new ArrayList<>();
+        List<Count> counts = new ArrayList<>();
+        for (Effect effect : configuredEffects) {
+            RepeatEffect repeatEffect = effect.asRepeatEffect();
+            if (repeatEffect == null) {
+                addEffect(code, effects, effect.asApplyableEffect());
+                continue;
+            }
+            int repeatStart = code.size();
+            code.add(REPEAT);
+            code.add(counts.size());
+            code.add(0);
+            counts.add(repeatEffect.getCount());
+            for (Effect repeatedEffect : repeatEffect.getEffects()) {
+                addEffect(code, effects, repeatedEffect.asApplyableEffect());
+            }
+            code.add(LOOP);
+            code.set(repeatStart + 2, code.size());
+        }
+        int[] instructions = new int[code.size()];
+        for (int i = 0; i < instructions.length; i++) {
+            instructions[i] = code.get(i);
+        }
+        return new EffectPlan(instructions, effects.toArray(new ApplyableEffect[0]), counts.toArray(new Count[0]));
+    }
+
+    private static void addEffect(List<Integer> code, List<ApplyableEffect> effects, ApplyableEffect effect) {
+        code.add(getOpcode(effect));
+        code.add(effects.size());
+        effects.add(effect);
+    }
+
+    // the hierarchy of applyable effects is sealed, so every effect has one of these opcodes and an effect
+    // added to it without an opcode fails when its action is compiled
+    private static int getOpcode(ApplyableEffect effect) {
+        if (effect instanceof HealthShiftEffect) {
+            return effect instanceof HealEffect ? HEAL : DAMAGE;
+        } else if (effect instanceof StatusConditionEffect) {
+            return INFLICT_STATUS_CONDITION;
+        } else if (effect instanceof StatScaleEffect) {
+            return INFLICT_STAT_CHANGE;
+        } else if (effect instanceof ProtectEffect) {
+            return PROTECT_STAT;
+        } else if (effect instanceof ContinueEffect) {
+            return CONTINUE;
+        }
+        throw new IllegalStateException(UNKNOWN_EFFECT_FORMAT.formatted(effect.getClass().getName()));
+    }
+
+    /**
+     * Retrieves the number of repeats in the plan, i.e. how many repetitions are drawn per resolution.
+     *
+     * @return the number of repeats
+     */
+    int getRepeatCount() {
+        return counts.length;
+    }
+
+    /**
+     * Draws the repetitions of every repeat in the order of the repeats.
+     *
+     * @param repetitions the array receiving the repetitions, at least {@link #getRepeatCount()} long
+     */
+    void drawRepetitions(int[] repetitions) {
+        for (int repeat = 0; repeat < counts.length; repeat++) {
+            repetitions[repeat] = counts[repeat].getValue(DEBUG_MESSAGE);
+        }
+    }
+
+    /**
+     * Retrieves the instruction stream. It must not be modified.
+     *
+     * @return the instructions
+     */
+    int[] getCode() {
+        return code;
+    }
+
+    /**
+     * Retrieves the constant pool of the effects referenced by the instructions. It must not be modified.
+     *
+     * @return the effects
+     */
+    ApplyableEffect[] getEffects() {
+        return effects;
+    }
+
+}
@@ -6,9 +6,10 @@
 import edu.kit.kastel.game.monsters.Monster;
 import edu.kit.kastel.game.types.Condition;
 import edu.kit.kastel.game.types.power.BasicPower;
+import edu.kit.kastel.utils.MessageTemplate;
+import edu.kit.kastel.game.log.BattleLog;
 
 import java.util.LinkedList;
-import java.util.List;
 
 /**
  * A queue for handling action and constant effects applied by a monster.
@@ -19,12 +20,13 @@
  * @author uyqbd
  */
 public class EffectQueue implements Comparable<EffectQueue> {
-    private static final String MONSTERS_TURN_FORMAT = "%nIt's %s's turn.%n";
-    private static final String USE_ACTION_MESSAGE_FORMAT = "%s uses %s!%n";
+    private static final MessageTemplate MONSTERS_TURN_FORMAT = new MessageTemplate("%nIt's %s's turn.%n");
+    private static final MessageTemplate USE_ACTION_MESSAGE_FORMAT = new MessageTemplate("%s uses %s!%n");
     private static final String ACTION_FAIL_MESSAGE = "The action failed...";
-    private static final String PASS_MESSAGE_FORMAT = "%s passes!%n";
+    private static final MessageTemplate PASS_MESSAGE_FORMAT = new MessageTemplate("%s passes!%n");
+    private static final int[] NO_REPETITIONS = new int[0];
 
-    private final LinkedList<ApplyableEffect> constantEffects = new LinkedList<>();
+    private final LinkedList<BurnDamageEffect> constantEffects = new LinkedList<>();
     private final Action action;
     private final Monster user;
     private final Monster target;
@@ -58,12 +60,15 @@ public void apply() {
             return;
         }
 
-        Application.DEFAULT_OUTPUT_STREAM.printf(MONSTERS_TURN_FORMAT, user.getName());
+        Application.DEFAULT_OUTPUT_STREAM.print(MONSTERS_TURN_FORMAT).arg(user.getName());
+        BattleLog.action(user, action, target);
 
-        List<ApplyableEffect> effects = action.createEffects();
+        EffectPlan plan = action.getPlan();
+        int[] repetitions = plan.getRepeatCount() == 0 ? NO_REPETITIONS : new int[plan.getRepeatCount()];
+        plan.drawRepetitions(repetitions);
 
         processCondition();
-        applyActionEffects(effects);
+        applyActionEffects(repetitions);
         applyConstantEffects();
     }
 
@@ -83,42 +88,72 @@ private void processCondition() {
 
     private void printMessage() {
         if (action.getName() != null) { // else is pass command
-            Application.DEFAULT_OUTPUT_STREAM.printf(USE_ACTION_MESSAGE_FORMAT, user.getName(), action.getName());
+            Application.DEFAULT_OUTPUT_STREAM.print(USE_ACTION_MESSAGE_FORMAT).arg(user.getName()).arg(action.getName());
         } else {
-            Application.DEFAULT_OUTPUT_STREAM.printf(PASS_MESSAGE_FORMAT, user.getName());
+            Application.DEFAULT_OUTPUT_STREAM.print(PASS_MESSAGE_FORMAT).arg(user.getName());
         }
     }
 
-    private void applyActionEffects(List<ApplyableEffect> effects) {
+    private void applyActionEffects(int[] repetitions) {
         if (!applyActionEffects) {
             return;
         }
 
         BasicPower.printNextElementEfficiency();
-        boolean first = true;
-        for (ApplyableEffect effect : effects) {
-            if (first) {
-                if (effect.hits(user, target)) {
-                    if (effect.canBeApplied(user, target, true)) {
-                        effect.apply(user, target);
-                    }
-                } else {
-                    Application.DEFAULT_OUTPUT_STREAM.println(ACTION_FAIL_MESSAGE);
-                    return;
-                }
-                first = false;
-            } else if (effect.canBeApplied(user, target, null)) {
-                effect.apply(user, target);
-            }
+        action.getExecutor().execute(user, target, repetitions);
+    }
+
+    /**
+     * Checks whether the first effect of an action hits, logging the result and printing that the action
+     * failed if it misses.
+     *
+     * @param effect the first effect of the action
+     * @param user   the monster using the action
+     * @param target the target of the action
+     * @return {@code true} if the effect hits and the action goes on
+     */
+    static boolean hitsFirst(ApplyableEffect effect, Monster user, Monster target) {
+        boolean hits = effect.hits(user, target);
+        BattleLog.hit(user, hits);
+        if (!hits) {
+            Application.DEFAULT_OUTPUT_STREAM.println(ACTION_FAIL_MESSAGE);
         }
+        return hits;
     }
 
     private void applyConstantEffects() {
-        for (ApplyableEffect effect : constantEffects) {
+        for (BurnDamageEffect effect : constantEffects) {
             effect.apply(user, target);
         }
     }
 
+    /**
+     * Retrieves the monster using the action.
+     *
+     * @return the user of the action
+     */
+    public Monster getUser() {
+        return user;
+    }
+
+    /**
+     * Retrieves the target of the action.
+     *
+     * @return the target monster, or {@code null} if the action has no target
+     */
+    public Monster getTarget() {
+        return target;
+    }
+
+    /**
+     * Retrieves the queued action.
+     *
+     * @return the action
+     */
+    public Action getAction() {
+        return action;
+    }
+
     @Override
     public int compareTo(EffectQueue o) {
         return user.compareTo(o.user);
@@ -0,0 +1,199 @@
+package edu.kit.kastel.game.actions;
+
+import edu.kit.kastel.Application;
+import edu.kit.kastel.ApplicationException;
+import edu.kit.kastel.config.ConfigParser;
+import edu.kit.kastel.game.GameRuntimeException;
+import edu.kit.kastel.game.actions.effects.ProtectionType;
+import edu.kit.kastel.game.log.BattleLog;
+import edu.kit.kastel.game.monsters.Monster;
+import edu.kit.kastel.game.monsters.MonsterSample;
+import edu.kit.kastel.game.types.Condition;
+import edu.kit.kastel.utils.RandomGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A differential test checking that every {@link ActionEngine} resolves actions exactly like the interpreter.
+ * <p>
+ * For every seed, the test picks an action of the configuration, a user able to use it and a target, puts them
+ * into a random starting state, e.g. with a condition, a protection or almost no health, and lets the user use the
+ * action a few times. This is done once per engine with the same seed, and the runs of every engine are compared
+ * with the ones of the interpreter. The printed messages, the final states of
+ * both monsters and the next random number, which shows that the same decisions were drawn, have to be equal.
+ * The process exits with status {@value #DIFFERENCE_EXIT_STATUS} if any run differs.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public final class EngineComparison {
+    private static final String COMMAND_LINE_ARGUMENTS_MESSAGE = "Error, arguments expected: <config> [runs]";
+    private static final String WRONG_RUN_COUNT_MESSAGE = "Error, run count has to be a positive number.";
+    private static final String NO_ACTIONS_MESSAGE = "Error, the configuration has no monster with actions.";
+    private static final String COMPARISON_FAILED_FORMAT = "Error, comparison failed: %s";
+    private static final String DIFFERENCE_FORMAT = "Error, %s differs from %s: seed %d, %s uses %s against %s.";
+    private static final String RESULT_FORMAT = "%d runs per engine, %d differences.";
+    private static final String RANDOM_DEBUG_MESSAGE = "comparison";
+    private static final String RUN_COUNT_REGEX = "[1-9]\\d{0,8}";
+
+    private static final int MIN_ARGS_COUNT = 1;
+    private static final int MAX_ARGS_COUNT = 2;
+    private static final int CONFIG_PATH_INDEX = 0;
+    private static final int RUN_COUNT_INDEX = 1;
+    private static final int DEFAULT_RUN_COUNT = 20_000;
+    private static final int USES_PER_RUN = 3;
+    private static final int START_STATES = 8;
+    private static final int USER_CONDITION_STATE = 1;
+    private static final int TARGET_CONDITION_STATE = 2;
+    private static final int PROTECTION_STATE = 3;
+    private static final int LOW_HEALTH_STATE = 4;
+    private static final int MAX_PROTECTION_DURATION = 3;
+    private static final int LOW_HEALTH = 3;
+    private static final int MAX_REPORTED_DIFFERENCES = 5;
+    private static final int DIFFERENCE_EXIT_STATUS = 1;
+
+
+    private EngineComparison() {
+
+    }
+
+    /**
+     * The entry point of the test.
+     *
+     * @param args the configuration path and optionally the number of runs per engine
+     */
+    public static void main(String[] args) {
+        if (args.length < MIN_ARGS_COUNT || args.length > MAX_ARGS_COUNT) {
+            Application.DEFAULT_ERROR_STREAM.println(COMMAND_LINE_ARGUMENTS_MESSAGE);
+            return;
+        }
+        if (args.length > RUN_COUNT_INDEX && !args[RUN_COUNT_INDEX].matches(RUN_COUNT_REGEX)) {
+            Application.DEFAULT_ERROR_STREAM.println(WRONG_RUN_COUNT_MESSAGE);
+            return;
+        }
+        int runCount = args.length > RUN_COUNT_INDEX ? Integer.parseInt(args[RUN_COUNT_INDEX]) : DEFAULT_RUN_COUNT;
+        int differences;
+        ActionEngine previousEngine = Action.getEngine();
+        try {
+            ConfigParser.parse(args[CONFIG_PATH_INDEX]);
+            differences = compare(runCount);
+        } catch (ApplicationException e) {
+            Application.DEFAULT_ERROR_STREAM.println(e.getMessage());
+            return;
+        } catch (IOException e) {
+            Application.DEFAULT_ERROR_STREAM.println(COMPARISON_FAILED_FORMAT.formatted(e.getMessage()));
+            return;
+        } finally {
+            Action.setEngine(previousEngine);
+            Application.DEFAULT_OUTPUT_STREAM.flush();
+        }
+        if (differences > 0) {
+            System.exit(DIFFERENCE_EXIT_STATUS);
+        }
+    }
+
+    private static int compare(int runCount) throws ApplicationException, IOException {
+        List<MonsterSample> users = new ArrayList<>();
+        for (MonsterSample sample : MonsterSample.getSamples()) {
+            if (!sample.getActions().isEmpty()) {
+                users.add(sample);
+            }
+        }
+        if (users.isEmpty()) {
+            Application.DEFAULT_ERROR_STREAM.println(NO_ACTIONS_MESSAGE);
+            return 0;
+        }
+        List<MonsterSample> targets = MonsterSample.getSamples();
+        Action.setEngine(ActionEngine.INTERPRETED);
+        byte[][] expected = new byte[runCount][];
+        for (int seed = 0; seed < runCount; seed++) {
+            expected[seed] = run(new Run(seed, users, targets));
+        }
+        int differences = 0;
+        for (ActionEngine engine : ActionEngine.values()) {
+            if (engine == ActionEngine.INTERPRETED) {
+                continue;
+            }
+            Action.setEngine(engine);
+            for (int seed = 0; seed < runCount; seed++) {
+                Run run = new Run(seed, users, targets);
+                if (!Arrays.equals(expected[seed], run(run)) && differences++ < MAX_REPORTED_DIFFERENCES) {
+                    Application.DEFAULT_ERROR_STREAM.println(DIFFERENCE_FORMAT.formatted(engine, ActionEngine.INTERPRETED,
+                            seed, run.user.getName(), run.action.getName(), run.target.getName()));
+                }
+            }
+        }
+        Application.DEFAULT_OUTPUT_STREAM.println(RESULT_FORMAT.formatted(runCount, differences));
+        return differences;
+    }
+
+    // returns everything observable of the uses: the printed messages, the final states and the next random number
+    private static byte[] run(Run run) throws IOException {
+        Random start = new Random(run.startSeed);
+        Monster user = run.user.create(1);
+        Monster target = run.target.create(2);
+        ByteArrayOutputStream observed = new ByteArrayOutputStream();
+        RandomGenerator.setSeed(run.seed);
+        Application.DEFAULT_OUTPUT_STREAM.bind(observed);
+        BattleLog.suspend();
+        try {
+            switch (run.startState) {
+                case USER_CONDITION_STATE -> user.setCondition(randomElement(Condition.values(), start));
+                case TARGET_CONDITION_STATE -> target.setCondition(randomElement(Condition.values(), start));
+                case PROTECTION_STATE -> target.setProtection(randomElement(ProtectionType.values(), start),
+                        start.nextInt(MAX_PROTECTION_DURATION) + 1);
+                case LOW_HEALTH_STATE -> target.shiftHealth(LOW_HEALTH - target.getHealth());
+                default -> {
+                    // the monsters start unharmed
+                }
+            }
+            for (int i = 0; i < USES_PER_RUN; i++) {
+                new EffectQueue(user, target, run.action).apply();
+            }
+        } finally {
+            BattleLog.resume();
+            Application.DEFAULT_OUTPUT_STREAM.unbind();
+        }
+        DataOutputStream out = new DataOutputStream(observed);
+        user.writeState(out);
+        target.writeState(out);
+        out.writeInt(RandomGenerator.getRandomNumber(0, Integer.MAX_VALUE - 1, RANDOM_DEBUG_MESSAGE));
+        out.flush();
+        return observed.toByteArray();
+    }
+
+    private static <T> T randomElement(T[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /**
+     * The setup of one run, drawn from its seed so every engine is tested with the same setups.
+     */
+    private static final class Run {
+        private final long seed;
+        private final MonsterSample user;
+        private final MonsterSample target;
+        private final Action action;
+        private final int startState;
+        private final long startSeed;
+
+        private Run(long seed, List<MonsterSample> users, List<MonsterSample> targets) throws GameRuntimeException {
+            Random choices = new Random(seed);
+            this.seed = seed;
+            this.user = users.get(choices.nextInt(users.size()));
+            this.target = targets.get(choices.nextInt(targets.size()));
+            List<String> actionNames = user.getActions();
+            this.action = Action.find(actionNames.get(choices.nextInt(actionNames.size())));
+            this.startState = choices.nextInt(START_STATES);
+            this.startSeed = choices.nextLong();
+        }
+
+    }
+
+}
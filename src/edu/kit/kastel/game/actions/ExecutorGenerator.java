@@ -0,0 +1,274 @@
+package edu.kit.kastel.game.actions;
+
+import edu.kit.kastel.game.actions.effects.ApplyableEffect;
+import edu.kit.kastel.game.actions.effects.HealthShiftEffect;
+import edu.kit.kastel.game.actions.effects.StatScaleEffect;
+import edu.kit.kastel.game.monsters.Monster;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates a specialized executor for every action at runtime.
+ * <p>
+ * The effects of the action are composed into one method handle tree in which every effect, its hit rate,
+ * power, element and target are bound constants and every call has the exact class of its effect as receiver.
+ * Repeats become counted loops and the first effect, which lets the action fail, is unrolled from the repeats.
+ * The tree is handed as class data to a hidden class defined from the bytes of {@link Template}, which keeps
+ * it in a static final field. As such it is a constant for the just-in-time compiler, which can inline the
+ * whole execution of the action into the one method of the hidden class.
+ * </p>
+ *
+ * @author uyqbd
+ */
+final class ExecutorGenerator {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType EFFECT_TYPE = MethodType.methodType(void.class, Monster.class, Monster.class);
+    private static final MethodType CHECK_TYPE = MethodType.methodType(boolean.class, Monster.class, Monster.class);
+    private static final MethodType EXECUTE_TYPE = MethodType.methodType(void.class, Monster.class, Monster.class, int[].class);
+    private static final String TEMPLATE_RESOURCE = Template.class.getName()
+            .substring(Template.class.getPackageName().length() + 1) + ".class";
+    private static final MethodHandle EFFECT_NOTHING = MethodHandles.empty(EFFECT_TYPE);
+    private static final MethodHandle EXECUTE_NOTHING = MethodHandles.empty(EXECUTE_TYPE);
+    private static final MethodHandle REPETITIONS = MethodHandles.arrayElementGetter(int[].class);
+    private static final MethodHandle NOT;
+    private static final MethodHandle IS_POSITIVE;
+    private static final MethodHandle DECREMENT;
+    private static final MethodHandle HAS_NO_CONDITION;
+    private static final MethodHandle HITS_FIRST;
+
+    static {
+        try {
+            NOT = LOOKUP.findStatic(ExecutorGenerator.class, "not", MethodType.methodType(boolean.class, boolean.class));
+            IS_POSITIVE = LOOKUP.findStatic(ExecutorGenerator.class, "isPositive", MethodType.methodType(boolean.class, int.class));
+            DECREMENT = LOOKUP.findStatic(ExecutorGenerator.class, "decrement", MethodType.methodType(int.class, int.class));
+            HAS_NO_CONDITION = LOOKUP.findStatic(ExecutorGenerator.class, "hasNoCondition",
+                    MethodType.methodType(boolean.class, Monster.class));
+            HITS_FIRST = LOOKUP.findStatic(EffectQueue.class, "hitsFirst",
+                    MethodType.methodType(boolean.class, ApplyableEffect.class, Monster.class, Monster.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private ExecutorGenerator() {
+
+    }
+
+    /**
+     * Generates the executor of the given plan.
+     *
+     * @param plan the compiled effects of the action
+     * @return the generated executor
+     * @throws IllegalStateException if the executor cannot be generated
+     */
+    static ActionExecutor generate(EffectPlan plan) {
+        try {
+            MethodHandle handle = startSegments(parseSegments(plan), 0);
+            MethodHandles.Lookup hiddenLookup = LOOKUP.defineHiddenClassWithClassData(TemplateBytes.BYTES, handle, true);
+            return (ActionExecutor) hiddenLookup.findConstructor(hiddenLookup.lookupClass(), MethodType.methodType(void.class))
+                    .invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static List<Segment> parseSegments(EffectPlan plan) {
+        int[] code = plan.getCode();
+        List<Segment> segments = new ArrayList<>();
+        int position = 0;
+        while (position < code.length) {
+            if (code[position] == EffectPlan.REPEAT) {
+                Segment segment = new Segment(code[position + 1], new ArrayList<>());
+                position += EffectPlan.REPEAT_LENGTH;
+                while (code[position] != EffectPlan.LOOP) {
+                    segment.steps.add(new Step(code[position], plan.getEffects()[code[position + 1]]));
+                    position += EffectPlan.EFFECT_LENGTH;
+                }
+                segments.add(segment);
+                position += EffectPlan.LOOP_LENGTH;
+            } else {
+                segments.add(new Segment(Segment.ONCE, List.of(new Step(code[position], plan.getEffects()[code[position + 1]]))));
+                position += EffectPlan.EFFECT_LENGTH;
+            }
+        }
+        return segments;
+    }
+
+    private static MethodHandle startSegments(List<Segment> segments, int index) throws ReflectiveOperationException {
+        if (index == segments.size()) {
+            return EXECUTE_NOTHING;
+        }
+        Segment segment = segments.get(index);
+        if (segment.steps.isEmpty()) {
+            return startSegments(segments, index + 1);
+        }
+        MethodHandle first = applyFirst(segment.steps.get(0));
+        MethodHandle remaining = applySteps(segment.steps.subList(1, segment.steps.size()));
+        MethodHandle following = applySegments(segments, index + 1);
+        if (segment.repeat == Segment.ONCE) {
+            return MethodHandles.guardWithTest(first, sequence(remaining, following), EXECUTE_NOTHING);
+        }
+        MethodHandle started = MethodHandles.guardWithTest(first,
+                sequence(remaining, sequence(repeat(segment, true), following)), EXECUTE_NOTHING);
+        MethodHandle repeated = MethodHandles.filterReturnValue(getRepetitions(segment.repeat), IS_POSITIVE);
+        return MethodHandles.guardWithTest(repeated, started, startSegments(segments, index + 1));
+    }
+
+    private static MethodHandle applySegments(List<Segment> segments, int index) throws ReflectiveOperationException {
+        MethodHandle handle = EXECUTE_NOTHING;
+        for (int i = segments.size() - 1; i >= index; i--) {
+            Segment segment = segments.get(i);
+            MethodHandle segmentHandle = segment.repeat == Segment.ONCE ? applySteps(segment.steps) : repeat(segment, false);
+            handle = sequence(segmentHandle, handle);
+        }
+        return handle;
+    }
+
+    private static MethodHandle repeat(Segment segment, boolean started) throws ReflectiveOperationException {
+        MethodHandle iterations = getRepetitions(segment.repeat);
+        if (started) {
+            iterations = MethodHandles.filterReturnValue(iterations, DECREMENT);
+        }
+        return MethodHandles.countedLoop(iterations, null, MethodHandles.dropArguments(applySteps(segment.steps), 0, int.class));
+    }
+
+    private static MethodHandle getRepetitions(int repeat) {
+        MethodHandle repetitions = MethodHandles.insertArguments(REPETITIONS, 1, repeat);
+        return MethodHandles.dropArguments(repetitions, 0, Monster.class, Monster.class);
+    }
+
+    private static MethodHandle applySteps(List<Step> steps) throws ReflectiveOperationException {
+        MethodHandle handle = EXECUTE_NOTHING;
+        for (int i = steps.size() - 1; i >= 0; i--) {
+            Step step = steps.get(i);
+            MethodHandle hits = bind(step, ApplyableEffect.class, "hits", CHECK_TYPE);
+            MethodHandle applied = MethodHandles.guardWithTest(hits, apply(step), EFFECT_NOTHING);
+            applied = MethodHandles.guardWithTest(isApplicable(step), applied, EFFECT_NOTHING);
+            handle = sequence(MethodHandles.dropArguments(applied, 2, int[].class), handle);
+        }
+        return handle;
+    }
+
+    private static MethodHandle applyFirst(Step step) throws ReflectiveOperationException {
+        MethodHandle hits = MethodHandles.insertArguments(HITS_FIRST, 0, step.effect);
+        MethodHandle applied = MethodHandles.guardWithTest(isApplicable(step), apply(step), EFFECT_NOTHING);
+        applied = MethodHandles.filterReturnValue(applied, MethodHandles.constant(boolean.class, true));
+        MethodHandle failed = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, false), 0, Monster.class, Monster.class);
+        return MethodHandles.guardWithTest(hits, applied, failed);
+    }
+
+    private static MethodHandle isApplicable(Step step) throws ReflectiveOperationException {
+        return switch (step.opcode) {
+            case EffectPlan.DAMAGE, EffectPlan.HEAL -> isNotBlocked(step, HealthShiftEffect.class);
+            case EffectPlan.INFLICT_STAT_CHANGE -> isNotBlocked(step, StatScaleEffect.class);
+            case EffectPlan.INFLICT_STATUS_CONDITION -> MethodHandles.dropArguments(HAS_NO_CONDITION, 0, Monster.class);
+            // protections and continue effects are never blocked
+            case EffectPlan.PROTECT_STAT, EffectPlan.CONTINUE ->
+                    MethodHandles.dropArguments(MethodHandles.constant(boolean.class, true), 0, Monster.class, Monster.class);
+            default -> throw new IllegalStateException(EffectPlan.UNKNOWN_OPCODE_FORMAT.formatted(step.opcode));
+        };
+    }
+
+    private static MethodHandle isNotBlocked(Step step, Class<? extends ApplyableEffect> effectClass)
+            throws ReflectiveOperationException {
+        MethodHandle blocked = bind(step, effectClass, "isBlocked", MethodType.methodType(boolean.class, Monster.class));
+        return MethodHandles.dropArguments(MethodHandles.filterReturnValue(blocked, NOT), 0, Monster.class);
+    }
+
+    private static MethodHandle apply(Step step) throws ReflectiveOperationException {
+        return switch (step.opcode) {
+            case EffectPlan.DAMAGE, EffectPlan.HEAL, EffectPlan.INFLICT_STATUS_CONDITION, EffectPlan.INFLICT_STAT_CHANGE,
+                    EffectPlan.PROTECT_STAT -> bind(step, step.effect.getClass(), "apply", EFFECT_TYPE);
+            // continue effects only have to hit
+            case EffectPlan.CONTINUE -> EFFECT_NOTHING;
+            default -> throw new IllegalStateException(EffectPlan.UNKNOWN_OPCODE_FORMAT.formatted(step.opcode));
+        };
+    }
+
+    private static MethodHandle bind(Step step, Class<? extends ApplyableEffect> declaringClass, String name, MethodType type)
+            throws ReflectiveOperationException {
+        return LOOKUP.findVirtual(declaringClass, name, type).bindTo(step.effect);
+    }
+
+    private static MethodHandle sequence(MethodHandle first, MethodHandle second) {
+        return MethodHandles.foldArguments(second, first);
+    }
+
+    private static boolean not(boolean value) {
+        return !value;
+    }
+
+    private static boolean isPositive(int value) {
+        return value > 0;
+    }
+
+    private static int decrement(int value) {
+        return value - 1;
+    }
+
+    private static boolean hasNoCondition(Monster target) {
+        return target.getCondition() == null;
+    }
+
+    private record Step(int opcode, ApplyableEffect effect) {
+
+    }
+
+    private record Segment(int repeat, List<Step> steps) {
+        private static final int ONCE = -1;
+    }
+
+    private static final class TemplateBytes {
+        private static final byte[] BYTES = readTemplate();
+
+        private static byte[] readTemplate() {
+            try (InputStream in = ExecutorGenerator.class.getResourceAsStream(TEMPLATE_RESOURCE)) {
+                if (in == null) {
+                    throw new IllegalStateException(TEMPLATE_RESOURCE);
+                }
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+    }
+
+    /**
+     * The class every generated executor is defined from. It is never loaded by itself: each hidden class
+     * defined from its bytes receives the method handle tree of one action as class data.
+     */
+    private static final class Template implements ActionExecutor {
+        private static final MethodHandle HANDLE;
+
+        static {
+            try {
+                HANDLE = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, MethodHandle.class);
+            } catch (IllegalAccessException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        @Override
+        public void execute(Monster user, Monster target, int[] repetitions) {
+            try {
+                HANDLE.invokeExact(user, target, repetitions);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,104 @@
+package edu.kit.kastel.game.actions;
+
+import edu.kit.kastel.game.actions.effects.ApplyableEffect;
+import edu.kit.kastel.game.actions.effects.HealthShiftEffect;
+import edu.kit.kastel.game.actions.effects.ProtectEffect;
+import edu.kit.kastel.game.actions.effects.StatScaleEffect;
+import edu.kit.kastel.game.actions.effects.StatusConditionEffect;
+import edu.kit.kastel.game.monsters.Monster;
+
+/**
+ * Executes the effects of an action by interpreting its {@link EffectPlan} with a switch over the opcodes.
+ * <p>
+ * The first effect is executed in a phase of its own, in which the action fails if the effect misses.
+ * The main loop continues where that phase stopped. All state of an execution is kept in local variables,
+ * so one interpreter serves every execution of its action, on any thread. Since the effect hierarchy is sealed,
+ * every opcode casts to the exact class of its effect and no call in the loop is dispatched dynamically.
+ * </p>
+ *
+ * @author uyqbd
+ */
+final class PlanInterpreter implements ActionExecutor {
+    private final EffectPlan plan;
+
+    /**
+     * Creates an interpreter of the given plan.
+     *
+     * @param plan the compiled effects of the action
+     */
+    PlanInterpreter(EffectPlan plan) {
+        this.plan = plan;
+    }
+
+    @Override
+    public void execute(Monster user, Monster target, int[] repetitions) {
+        int[] code = plan.getCode();
+        ApplyableEffect[] effects = plan.getEffects();
+        int position = 0;
+        int remainingRepetitions = 0;
+        int loopStart = 0;
+        while (position < code.length) {
+            int opcode = code[position];
+            if (opcode == EffectPlan.REPEAT) {
+                remainingRepetitions = repetitions[code[position + 1]];
+                loopStart = position + EffectPlan.REPEAT_LENGTH;
+                position = remainingRepetitions == 0 ? code[position + 2] : loopStart;
+            } else if (opcode == EffectPlan.LOOP) {
+                position = --remainingRepetitions > 0 ? loopStart : position + EffectPlan.LOOP_LENGTH;
+            } else {
+                ApplyableEffect effect = effects[code[position + 1]];
+                if (!EffectQueue.hitsFirst(effect, user, target)) {
+                    return;
+                }
+                if (isApplicable(opcode, effect, user, target)) {
+                    execute(opcode, effect, user, target);
+                }
+                position += EffectPlan.EFFECT_LENGTH;
+                break;
+            }
+        }
+        while (position < code.length) {
+            int opcode = code[position];
+            switch (opcode) {
+                case EffectPlan.REPEAT -> {
+                    remainingRepetitions = repetitions[code[position + 1]];
+                    loopStart = position + EffectPlan.REPEAT_LENGTH;
+                    position = remainingRepetitions == 0 ? code[position + 2] : loopStart;
+                }
+                case EffectPlan.LOOP -> position = --remainingRepetitions > 0 ? loopStart : position + EffectPlan.LOOP_LENGTH;
+                default -> {
+                    ApplyableEffect effect = effects[code[position + 1]];
+                    if (isApplicable(opcode, effect, user, target) && effect.hits(user, target)) {
+                        execute(opcode, effect, user, target);
+                    }
+                    position += EffectPlan.EFFECT_LENGTH;
+                }
+            }
+        }
+    }
+
+    private static boolean isApplicable(int opcode, ApplyableEffect effect, Monster user, Monster target) {
+        return switch (opcode) {
+            case EffectPlan.DAMAGE, EffectPlan.HEAL -> !((HealthShiftEffect) effect).isBlocked(target);
+            case EffectPlan.INFLICT_STAT_CHANGE -> !((StatScaleEffect) effect).isBlocked(target);
+            case EffectPlan.INFLICT_STATUS_CONDITION -> target.getCondition() == null;
+            // protections and continue effects are never blocked
+            case EffectPlan.PROTECT_STAT, EffectPlan.CONTINUE -> true;
+            default -> throw new IllegalStateException(EffectPlan.UNKNOWN_OPCODE_FORMAT.formatted(opcode));
+        };
+    }
+
+    private static void execute(int opcode, ApplyableEffect effect, Monster user, Monster target) {
+        switch (opcode) {
+            case EffectPlan.DAMAGE, EffectPlan.HEAL -> ((HealthShiftEffect) effect).apply(user, target);
+            case EffectPlan.INFLICT_STATUS_CONDITION -> ((StatusConditionEffect) effect).apply(user, target);
+            case EffectPlan.INFLICT_STAT_CHANGE -> ((StatScaleEffect) effect).apply(user, target);
+            case EffectPlan.PROTECT_STAT -> ((ProtectEffect) effect).apply(user, target);
+            case EffectPlan.CONTINUE -> {
+                // continue effects only have to hit
+            }
+            default -> throw new IllegalStateException(EffectPlan.UNKNOWN_OPCODE_FORMAT.formatted(opcode));
+        }
+    }
+
+}
@@ -1,7 +1,9 @@
 package edu.kit.kastel.game.actions.effects;
 
 import edu.kit.kastel.game.monsters.Monster;
+import edu.kit.kastel.game.monsters.StatTerm;
 import edu.kit.kastel.utils.RandomGenerator;
+import edu.kit.kastel.game.types.DurationChain;
 import edu.kit.kastel.game.types.StatType;
 
 import java.util.List;
@@ -10,12 +12,15 @@
  * An abstract effect that can be applied to a {@link Monster}.
  *
  * <p>Subclasses must implement {@link #apply(Monster, Monster)} to define
- * how the effect behaves.</p>
+ * how the effect behaves. The permitted subclasses are the effects of the configuration language.</p>
  *
  * @author uyqbd
  */
-public abstract class ApplyableEffect extends Effect {
+public abstract sealed class ApplyableEffect extends Effect
+        permits HealthShiftEffect, StatScaleEffect, StatusConditionEffect, ProtectEffect, ContinueEffect {
     private static final String DEBUG_MESSAGE = "apply action effect";
+    private static final StatTerm PRECISION_QUOTIENT = new StatTerm(StatType.PRC, StatType.AGL,
+            (userPrecision, targetAgility) -> userPrecision / targetAgility);
 
     private final int effectHitRate;
     private final TargetType target;
@@ -39,21 +44,6 @@ public ApplyableEffect(int effectHitRate, TargetType target) {
      */
     public abstract void apply(Monster user, Monster target);
 
-    /**
-     * Determines whether the effect can be applied from the user to the target,
-     * considering whether the action successfully "hits" based on the provided
-     * 'hits' parameter or recalculating it if 'hits' is null.
-     *
-     * @param user   the monster attempting to use this effect
-     * @param target the monster that is targeted by this effect
-     * @param hits   the predefined result of whether the effect hits, or {@code null}
-     *               if the hit success should be recalculated
-     * @return {@code true} if the effect can be applied, otherwise {@code false}
-     */
-    public boolean canBeApplied(Monster user, Monster target, Boolean hits) {
-        return hits == null ? hits(user, target) : hits;
-    }
-
     /**
      * Determines if an effect successfully "hits" the target by comparing the user's precision
      * and the target's agility, factoring in the predefined effect hit rate and a random probability check.
@@ -62,16 +52,34 @@ public boolean canBeApplied(Monster user, Monster target, Boolean hits) {
      * @param target the monster targeted by this effect, whose agility is referenced if the effect is applied to a target
      * @return {@code true} if the effect hits the target, otherwise {@code false}
      */
-    public boolean hits(Monster user, Monster target) {
+    public final boolean hits(Monster user, Monster target) {
         if (user.isFainted() || (!isOnUser() && target.isFainted())) {
             return false;
         }
 
-        double userPRC = user.getStat(StatType.PRC);
-        double targetAGL = isOnUser() ? 1 : target.getStat(StatType.AGL);
-        double conditionQuotient = userPRC / targetAGL;
+        return RandomGenerator.probabilityGood(getHitChance(user, target), DEBUG_MESSAGE);
+    }
+
+    /**
+     * Computes the chance in percent that the effect hits, from the hit rate, the user's precision and
+     * the target's agility. Values above {@code 100} always hit. Fainted monsters are not considered.
+     *
+     * @param user   the monster using this effect
+     * @param target the monster targeted by this effect
+     * @return the hit chance in percent
+     */
+    public final double getHitChance(Monster user, Monster target) {
+        double conditionQuotient = isOnUser() ? user.getStat(StatType.PRC) : PRECISION_QUOTIENT.get(user, target);
+        return effectHitRate * conditionQuotient;
+    }
 
-        return RandomGenerator.probabilityGood(effectHitRate * conditionQuotient, DEBUG_MESSAGE);
+    /**
+     * Creates the Markov chain of the number of turns the state set by this effect lasts.
+     *
+     * @return the chain of the duration, or {@code null} if the effect does not set a lasting state
+     */
+    public DurationChain getDurationChain() {
+        return null;
     }
 
     @Override
@@ -1,12 +1,12 @@
 package edu.kit.kastel.game.actions.effects;
 
-import edu.kit.kastel.game.monsters.Monster;
 import edu.kit.kastel.game.types.power.RelativePower;
 
 /**
  * A specialized health-shift effect that inflicts burn damage on the user.
  *
- * <p>This effect always applies, ignoring standard conditions.</p>
+ * <p>This effect always applies, ignoring standard conditions: it is applied directly at the end of the
+ * turn of a burning monster, without checking whether it hits.</p>
  *
  * @author uyqbd
  */
@@ -22,11 +22,6 @@ public BurnDamageEffect() {
         super(0, TargetType.USER, null, new RelativePower(10), POWER_SCALE, REASON);
     }
 
-    @Override
-    public boolean hits(Monster user, Monster target) {
-        return true;
-    }
-
     @Override
     public ApplyableEffect copy() {
         return new BurnDamageEffect();
@@ -10,10 +10,13 @@
  * Each effect should specify how it's queued, whether it needs a target,
  * and its base hit rate.
  * </p>
+ * <p>
+ * The hierarchy is sealed, so the engine can dispatch on the exact class of an effect.
+ * </p>
  *
  * @author uyqbd
  */
-public abstract class Effect {
+public abstract sealed class Effect permits ApplyableEffect, RepeatEffect {
 
     /**
      * Creates and returns a list of {@link ApplyableEffect} instances associated with this effect.
@@ -61,5 +64,14 @@ public ApplyableEffect asApplyableEffect() {
         return null;
     }
 
+    /**
+     * Converts the current effect into a {@link RepeatEffect}, if it is one.
+     *
+     * @return this effect as {@link RepeatEffect}, or {@code null} if it does not repeat other effects
+     */
+    public RepeatEffect asRepeatEffect() {
+        return null;
+    }
+
 
 }
@@ -4,6 +4,9 @@
 import edu.kit.kastel.game.monsters.Monster;
 import edu.kit.kastel.game.types.power.Power;
 import edu.kit.kastel.game.types.element.Element;
+import edu.kit.kastel.utils.MessageAppender;
+import edu.kit.kastel.utils.MessageTemplate;
+import edu.kit.kastel.game.log.BattleLog;
 
 /**
  * An abstract class for effects that shift a monster's health,
@@ -15,12 +18,13 @@
  *
  * @author uyqbd
  */
-public abstract class HealthShiftEffect extends ApplyableEffect {
-    private static final String MESSAGE_DEFEAT_FORMAT = "%s faints!%n";
-    private static final String MASSAGE_PROTECTED_FORMAT = "%s is protected and takes no damage!%n";
-    private static final String TAKING_DAMAGE_FORMAT = "%%s takes %%d damage%s!%%n";
-    private static final String GAINING_HEALTH_FORMAT = "%%s gains back %%d health%s!%%n";
-    private static final String REASON_FORMAT = " from %s";
+public abstract sealed class HealthShiftEffect extends ApplyableEffect permits DamageEffect, HealEffect, BurnDamageEffect {
+    private static final MessageTemplate MESSAGE_DEFEAT_FORMAT = new MessageTemplate("%s faints!%n");
+    private static final MessageTemplate MASSAGE_PROTECTED_FORMAT = new MessageTemplate("%s is protected and takes no damage!%n");
+    private static final MessageTemplate TAKING_DAMAGE_FORMAT = new MessageTemplate("%s takes %d damage!%n");
+    private static final MessageTemplate TAKING_DAMAGE_REASON_FORMAT = new MessageTemplate("%s takes %d damage from %s!%n");
+    private static final MessageTemplate GAINING_HEALTH_FORMAT = new MessageTemplate("%s gains back %d health!%n");
+    private static final MessageTemplate GAINING_HEALTH_REASON_FORMAT = new MessageTemplate("%s gains back %d health from %s!%n");
 
     private final Element actionElement;
     private final Power power;
@@ -59,32 +63,45 @@ public HealthShiftEffect(int effectHitRate, TargetType target, Element actionEle
     }
 
     @Override
-    public void apply(Monster userMonster, Monster targetMonster) {
+    public final void apply(Monster userMonster, Monster targetMonster) {
         Monster target = isOnUser() ? userMonster : targetMonster;
 
         int shiftValue = powerScale * power.getValue(userMonster, target, actionElement);
 
         target.shiftHealth(shiftValue);
-        Application.DEFAULT_OUTPUT_STREAM.printf((getMessageFormat(shiftValue)), target.getName(), Math.abs(shiftValue));
+        BattleLog.healthShift(userMonster, target, shiftValue, reason);
+        MessageAppender message = Application.DEFAULT_OUTPUT_STREAM.print(getMessageFormat(shiftValue))
+                .arg(target.getName())
+                .arg(Math.abs(shiftValue));
+        if (reason != null) {
+            message.arg(reason);
+        }
 
         if (target.isFainted()) {
-            Application.DEFAULT_OUTPUT_STREAM.printf(MESSAGE_DEFEAT_FORMAT, target.getName());
+            Application.DEFAULT_OUTPUT_STREAM.print(MESSAGE_DEFEAT_FORMAT).arg(target.getName());
         }
     }
 
-    @Override
-    public boolean canBeApplied(Monster user, Monster target, Boolean hits) {
+    /**
+     * Checks whether the target is protected against this effect, printing so if it is.
+     * The hit chance is not considered.
+     *
+     * @param target the monster targeted by the action
+     * @return {@code true} if the protection of the target blocks this effect
+     */
+    public final boolean isBlocked(Monster target) {
         if (!isOnUser() && powerScale < 0 && target.getProtectionType() == ProtectionType.HEALTH) {
-            Application.DEFAULT_OUTPUT_STREAM.printf(MASSAGE_PROTECTED_FORMAT, target.getName());
-            return false;
+            Application.DEFAULT_OUTPUT_STREAM.print(MASSAGE_PROTECTED_FORMAT).arg(target.getName());
+            return true;
         }
-        return super.canBeApplied(user, target, hits);
+        return false;
     }
 
-    private String getMessageFormat(int shiftValue) {
-        return (shiftValue < 0 ? TAKING_DAMAGE_FORMAT : GAINING_HEALTH_FORMAT).formatted(
-                reason == null ? "" : REASON_FORMAT.formatted(reason)
-        );
+    private MessageTemplate getMessageFormat(int shiftValue) {
+        if (shiftValue < 0) {
+            return reason == null ? TAKING_DAMAGE_FORMAT : TAKING_DAMAGE_REASON_FORMAT;
+        }
+        return reason == null ? GAINING_HEALTH_FORMAT : GAINING_HEALTH_REASON_FORMAT;
     }
 
     @Override
@@ -1,6 +1,7 @@
 package edu.kit.kastel.game.actions.effects;
 
 import edu.kit.kastel.game.monsters.Monster;
+import edu.kit.kastel.game.types.DurationChain;
 import edu.kit.kastel.game.types.count.Count;
 
 /**
@@ -35,6 +36,20 @@ public void apply(Monster user, Monster target) {
         user.setProtection(protectionType, count.getValue(DEBUG_MESSAGE));
     }
 
+    /**
+     * Retrieves the type of protection this effect grants.
+     *
+     * @return the protection type
+     */
+    public ProtectionType getProtectionType() {
+        return protectionType;
+    }
+
+    @Override
+    public DurationChain getDurationChain() {
+        return DurationChain.ofProtection(count);
+    }
+
     @Override
     public ApplyableEffect copy() {
         return new ProtectEffect(getHitRate(), protectionType, count);
@@ -76,6 +76,19 @@ public Power getPower() {
     public List<Effect> getEffects() {
         return new LinkedList<>(effects);
     }
-    
-    
+
+    /**
+     * Retrieves how many times the effects are repeated.
+     *
+     * @return the count of repetitions
+     */
+    public Count getCount() {
+        return count;
+    }
+
+    @Override
+    public RepeatEffect asRepeatEffect() {
+        return this;
+    }
+
 }
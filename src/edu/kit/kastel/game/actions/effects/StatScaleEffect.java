@@ -3,6 +3,7 @@
 import edu.kit.kastel.Application;
 import edu.kit.kastel.game.monsters.Monster;
 import edu.kit.kastel.game.types.StatType;
+import edu.kit.kastel.utils.MessageTemplate;
 
 /**
  * Adjusts a monster's stat (e.g., ATK, DEF, SPD, etc.) by a specified amount.
@@ -13,10 +14,10 @@
  * @author uyqbd
  */
 public final class StatScaleEffect extends ApplyableEffect {
-    private static final String MASSAGE_PROTECTED_FORMAT = "%s is protected and is unaffected!%n";
+    private static final MessageTemplate MASSAGE_PROTECTED_FORMAT = new MessageTemplate("%s is protected and is unaffected!%n");
     private static final String POSITIVE_SHIFT_MESSAGE_END = "rises!";
     private static final String NEGATIVE_SHIFT_MESSAGE_END = "decreases...";
-    private static final String MESSAGE_FORMAT = "%s's %s %s%n";
+    private static final MessageTemplate MESSAGE_FORMAT = new MessageTemplate("%s's %s %s%n");
 
     private final StatType state;
     private final int scaleShift;
@@ -40,19 +41,25 @@ public StatScaleEffect(int effectHitRate, TargetType target, StatType state, int
     public void apply(Monster user, Monster targetMonster) {
         Monster target = isOnUser() ? user : targetMonster;
         target.shiftScale(state, scaleShift);
-        Application.DEFAULT_OUTPUT_STREAM.printf(MESSAGE_FORMAT,
-                target.getName(),
-                state,
-                scaleShift < 0 ? NEGATIVE_SHIFT_MESSAGE_END : POSITIVE_SHIFT_MESSAGE_END);
+        Application.DEFAULT_OUTPUT_STREAM.print(MESSAGE_FORMAT)
+                .arg(target.getName())
+                .arg(state)
+                .arg(scaleShift < 0 ? NEGATIVE_SHIFT_MESSAGE_END : POSITIVE_SHIFT_MESSAGE_END);
     }
 
-    @Override
-    public boolean canBeApplied(Monster user, Monster target, Boolean hits) {
+    /**
+     * Checks whether the target is protected against this effect, printing so if it is.
+     * The hit chance is not considered.
+     *
+     * @param target the monster targeted by the action
+     * @return {@code true} if the protection of the target blocks this effect
+     */
+    public boolean isBlocked(Monster target) {
         if (!this.isOnUser() && scaleShift < 0 && target.getProtectionType() == ProtectionType.STATS) {
-            Application.DEFAULT_OUTPUT_STREAM.printf(MASSAGE_PROTECTED_FORMAT, target.getName());
-            return false;
+            Application.DEFAULT_OUTPUT_STREAM.print(MASSAGE_PROTECTED_FORMAT).arg(target.getName());
+            return true;
         }
-        return super.canBeApplied(user, target, hits);
+        return false;
     }
 
     @Override
@@ -2,6 +2,7 @@
 
 import edu.kit.kastel.game.monsters.Monster;
 import edu.kit.kastel.game.types.Condition;
+import edu.kit.kastel.game.types.DurationChain;
 
 /**
  * Applies a {@link Condition} status effect to a monster, if conditions allow.
@@ -32,9 +33,18 @@ public void apply(Monster user, Monster targetMonster) {
         target.setCondition(condition);
     }
 
+    /**
+     * Retrieves the condition this effect inflicts.
+     *
+     * @return the condition
+     */
+    public Condition getCondition() {
+        return condition;
+    }
+
     @Override
-    public boolean canBeApplied(Monster user, Monster target, Boolean hits) {
-        return target.getCondition() == null && super.canBeApplied(user, target, hits);
+    public DurationChain getDurationChain() {
+        return DurationChain.ofCondition();
     }
 
     @Override
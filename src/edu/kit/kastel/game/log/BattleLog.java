@@ -0,0 +1,247 @@
+package edu.kit.kastel.game.log;
+
+import edu.kit.kastel.game.actions.Action;
+import edu.kit.kastel.game.monsters.Monster;
+import edu.kit.kastel.game.types.Condition;
+import edu.kit.kastel.game.types.element.ElementEfficiency;
+import edu.kit.kastel.utils.Json;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Records every battle event as a compact JSON line for offline analysis.
+ * <p>
+ * Each line contains the number of the competition, the turn and the event type with its details, e.g.
+ * {@code {"competition":1,"turn":2,"event":"damage","user":"A","target":"B","value":12,"critical":false}}.
+ * The lines are written by a {@link RotatingLogWriter}, so logging never blocks the game on disk I/O.
+ * As long as no log file is opened or logging is suspended for the current thread, all methods return immediately.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public final class BattleLog {
+    private static final long MAX_FILE_SIZE = 64L * 1024 * 1024;
+    private static final int MAX_FILE_COUNT = 8;
+    private static final String PASS_ACTION_NAME = "pass";
+    private static final String CONDITION_INFLICTED = "inflicted";
+    private static final String CONDITION_ENDED = "ended";
+
+    private static final StringBuilder LINE = new StringBuilder();
+    private static final ThreadLocal<Boolean> SUSPENDED = ThreadLocal.withInitial(() -> false);
+
+    private static RotatingLogWriter writer;
+    private static int competition = 0;
+    private static int turn = 0;
+    private static ElementEfficiency pendingEfficiency;
+    private static boolean pendingCriticalHit;
+
+    private BattleLog() {
+
+    }
+
+    /**
+     * Starts writing the battle events to the given file. A previously opened log is closed first.
+     *
+     * @param file the path of the log file
+     * @throws IOException if the log file cannot be opened
+     */
+    public static void open(Path file) throws IOException {
+        close();
+        writer = new RotatingLogWriter(file, MAX_FILE_SIZE, MAX_FILE_COUNT);
+    }
+
+    /**
+     * Writes all pending events and closes the log file, if one is opened.
+     */
+    public static void close() {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    /**
+     * Stops recording the events caused by the current thread until {@link #resume()} is called,
+     * e.g. while a competition replays already recorded turns.
+     */
+    public static void suspend() {
+        SUSPENDED.set(true);
+    }
+
+    /**
+     * Continues recording the events caused by the current thread.
+     */
+    public static void resume() {
+        SUSPENDED.remove();
+    }
+
+    /**
+     * Records the start of a new competition with the given monsters.
+     *
+     * @param monsters the monsters entering the competition
+     */
+    public static void startCompetition(List<Monster> monsters) {
+        competition++;
+        turn = 0;
+        if (isOff()) {
+            return;
+        }
+        begin("start").append(",\"monsters\":[");
+        for (int i = 0; i < monsters.size(); i++) {
+            Json.appendString(i == 0 ? LINE : LINE.append(','), monsters.get(i).getName());
+        }
+        LINE.append(']');
+        end();
+    }
+
+    /**
+     * Records the start of the next turn, in which the selected actions of all monsters are applied.
+     *
+     * @param turnNumber the number of the turn within the current competition
+     */
+    public static void startTurn(int turnNumber) {
+        if (SUSPENDED.get()) {
+            return;
+        }
+        turn = turnNumber;
+    }
+
+    /**
+     * Records a monster using an action.
+     *
+     * @param user   the monster using the action
+     * @param action the used action
+     * @param target the target monster of the action, or {@code null} if the action has no target
+     */
+    public static void action(Monster user, Action action, Monster target) {
+        if (isOff()) {
+            return;
+        }
+        begin("action");
+        appendField("user", user.getName());
+        appendField("action", action.getName() != null ? action.getName() : PASS_ACTION_NAME);
+        if (target != null) {
+            appendField("target", target.getName());
+        }
+        end();
+    }
+
+    /**
+     * Records whether the first effect of an action hit, which decides whether the whole action fails.
+     *
+     * @param user the monster using the action
+     * @param hit  {@code true} if the action hit, {@code false} if it failed
+     */
+    public static void hit(Monster user, boolean hit) {
+        if (isOff()) {
+            return;
+        }
+        begin(hit ? "hit" : "miss");
+        appendField("user", user.getName());
+        end();
+    }
+
+    /**
+     * Notes the element efficiency and critical hit of the damage that is calculated right now.
+     * Both are attached to the next recorded health change.
+     *
+     * @param efficiency  the efficiency of the action element against the target element
+     * @param criticalHit {@code true} if the damage is a critical hit
+     */
+    public static void noteDamageDetails(ElementEfficiency efficiency, boolean criticalHit) {
+        if (isOff()) {
+            return;
+        }
+        pendingEfficiency = efficiency;
+        pendingCriticalHit = criticalHit;
+    }
+
+    /**
+     * Records a health change of a monster.
+     *
+     * @param user   the monster causing the change
+     * @param target the monster whose health changes
+     * @param shift  the applied health change, negative for damage
+     * @param reason the reason of the change, e.g. burning, or {@code null} if it is caused by an action
+     */
+    public static void healthShift(Monster user, Monster target, int shift, String reason) {
+        if (isOff()) {
+            return;
+        }
+        ElementEfficiency efficiency = pendingEfficiency;
+        boolean criticalHit = pendingCriticalHit;
+        pendingEfficiency = null;
+        pendingCriticalHit = false;
+        begin(shift < 0 ? "damage" : "heal");
+        appendField("user", user.getName());
+        appendField("target", target.getName());
+        LINE.append(",\"value\":").append(Math.abs(shift));
+        if (efficiency != null) {
+            LINE.append(",\"critical\":").append(criticalHit);
+            appendField("efficiency", efficiency.name());
+        }
+        if (reason != null) {
+            appendField("reason", reason);
+        }
+        end();
+        if (target.isFainted()) {
+            begin("faint");
+            appendField("target", target.getName());
+            end();
+        }
+    }
+
+    /**
+     * Records a monster getting a new condition.
+     *
+     * @param target    the affected monster
+     * @param condition the new condition
+     */
+    public static void conditionInflicted(Monster target, Condition condition) {
+        condition(target, condition, CONDITION_INFLICTED);
+    }
+
+    /**
+     * Records the condition of a monster coming to an end.
+     *
+     * @param target    the affected monster
+     * @param condition the ended condition
+     */
+    public static void conditionEnded(Monster target, Condition condition) {
+        condition(target, condition, CONDITION_ENDED);
+    }
+
+    private static void condition(Monster target, Condition condition, String state) {
+        if (isOff()) {
+            return;
+        }
+        begin("condition");
+        appendField("target", target.getName());
+        appendField("condition", condition.name());
+        appendField("state", state);
+        end();
+    }
+
+    private static boolean isOff() {
+        return writer == null || SUSPENDED.get();
+    }
+
+    private static StringBuilder begin(String event) {
+        LINE.setLength(0);
+        LINE.append("{\"competition\":").append(competition).append(",\"turn\":").append(turn);
+        appendField("event", event);
+        return LINE;
+    }
+
+    private static void appendField(String name, String value) {
+        LINE.append(",\"").append(name).append("\":");
+        Json.appendString(LINE, value);
+    }
+
+    private static void end() {
+        writer.write(LINE.append('}').toString());
+    }
+
+}
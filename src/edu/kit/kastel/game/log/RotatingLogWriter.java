@@ -0,0 +1,129 @@
+package edu.kit.kastel.game.log;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Writes lines to a log file on a dedicated background thread.
+ * <p>
+ * Lines are handed over through an unbounded queue, so the writing thread never waits for disk I/O.
+ * Once the current file exceeds its size limit, it is rotated: {@code file} becomes {@code file.1},
+ * {@code file.1} becomes {@code file.2} and so on, and the oldest file is dropped.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public class RotatingLogWriter {
+    private static final String THREAD_NAME = "battle-log-writer";
+    private static final String ROTATED_FILE_FORMAT = "%s.%d";
+    private static final String END_OF_LOG = new String();
+
+    private final BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+    private final Path file;
+    private final long maxFileSize;
+    private final int maxFileCount;
+    private final Thread thread;
+
+    private BufferedWriter writer;
+    private long fileSize;
+    private volatile boolean failed;
+
+    /**
+     * Constructs a new {@code RotatingLogWriter} and starts its writing thread.
+     *
+     * @param file         the path of the current log file
+     * @param maxFileSize  the size in bytes after which the file is rotated
+     * @param maxFileCount the count of rotated files that are kept besides the current file
+     * @throws IOException if the log file cannot be opened
+     */
+    public RotatingLogWriter(Path file, long maxFileSize, int maxFileCount) throws IOException {
+        this.file = file;
+        this.maxFileSize = maxFileSize;
+        this.maxFileCount = maxFileCount;
+        open();
+        thread = new Thread(this::run, THREAD_NAME);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Queues a line to be written. The line separator is appended by the writer.
+     * Lines are dropped once writing to the file has failed.
+     *
+     * @param line the line to be written
+     */
+    public void write(String line) {
+        if (!failed) {
+            lines.add(line);
+        }
+    }
+
+    /**
+     * Writes all queued lines, closes the file and stops the writing thread.
+     */
+    public void close() {
+        lines.add(END_OF_LOG);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (true) {
+                String line = lines.take();
+                while (line != null) {
+                    if (line == END_OF_LOG) {
+                        writer.close();
+                        return;
+                    }
+                    writeLine(line);
+                    line = lines.poll();
+                }
+                writer.flush();
+            }
+        } catch (IOException | InterruptedException e) {
+            failed = true;
+            lines.clear();
+        }
+    }
+
+    private void writeLine(String line) throws IOException {
+        writer.write(line);
+        writer.newLine();
+        fileSize += line.length() + System.lineSeparator().length();
+        if (fileSize >= maxFileSize) {
+            writer.close();
+            rotate();
+            open();
+        }
+    }
+
+    private void rotate() throws IOException {
+        for (int i = maxFileCount - 1; i >= 1; i--) {
+            Path source = rotatedFile(i);
+            if (Files.exists(source)) {
+                Files.move(source, rotatedFile(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rotatedFile(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path rotatedFile(int index) {
+        return Path.of(ROTATED_FILE_FORMAT.formatted(file, index));
+    }
+
+    private void open() throws IOException {
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        fileSize = 0;
+    }
+
+}
@@ -0,0 +1,30 @@
+package edu.kit.kastel.game.monsters;
+
+/**
+ * The exclusive or of the Zobrist hashes of several monsters, kept up to date by the monsters attached to it
+ * (see {@link Monster#attach(CombinedHash)}), so the hash of all of them is retrieved in constant time.
+ *
+ * @author uyqbd
+ */
+public final class CombinedHash {
+    private long value;
+
+    /**
+     * Retrieves the combined hash of the attached monsters.
+     *
+     * @return the exclusive or of the hashes of the attached monsters
+     */
+    public long getValue() {
+        return value;
+    }
+
+    /**
+     * Includes or excludes the given key, i.e. a change of the hash of an attached monster.
+     *
+     * @param key the key to toggle
+     */
+    void toggle(long key) {
+        value ^= key;
+    }
+
+}
@@ -6,47 +6,122 @@
 import edu.kit.kastel.game.types.Protection;
 import edu.kit.kastel.game.actions.effects.ProtectionType;
 import edu.kit.kastel.utils.Utility;
+import edu.kit.kastel.utils.MessageTemplate;
+import edu.kit.kastel.game.log.BattleLog;
 
-import java.util.HashMap;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 
 /**
  * Represents an active monster with modifiable health, stats, conditions, and protections.
  * @author uyqbd
  */
 public class Monster implements Comparable<Monster> {
-    private static final String PROTECTION_FADES_FORMAT = "%s's protection fades away...%n";
-    private static final String PROTECTION_ADDED_FORMAT = "%s is now protected against %s!%n";
+    private static final MessageTemplate PROTECTION_FADES_FORMAT = new MessageTemplate("%s's protection fades away...%n");
+    private static final MessageTemplate PROTECTION_ADDED_FORMAT = new MessageTemplate("%s is now protected against %s!%n");
     private static final String FAINTED_STATUS = "FAINTED";
     private static final String NORMAL_STATUS = "OK";
-    private static final String NAME_FORMAT = "%s#%d";
+    private static final String NAME_INDEX_SEPARATOR = "#";
     private static final int MIN_SCALE_VALUE = -5;
     private static final int MAX_SCALE_VALUE = 5;
     private static final int DEFAULT_SCALE_VALUE = 0;
     private static final int DEFAULT_CONDITION_FACTOR = 1;
     private static final int MIN_HEALTH_VALUE = 0;
+    private static final int NO_INDEX = 0;
+    private static final int NO_ORDINAL = -1;
+    private static final String INVALID_STATE_MESSAGE = "invalid monster state";
+    private static final StatType[] STAT_TYPES = StatType.values();
+    private static final int HEALTH_FEATURE = 0;
+    private static final int SCALE_FEATURE = HEALTH_FEATURE + 1;
+    private static final int CONDITION_FEATURE = SCALE_FEATURE + STAT_TYPES.length;
+    private static final int PROTECTION_FEATURE = CONDITION_FEATURE + 1;
+    private static final int SCALE_BITS = 4;
+    private static final int ORDINAL_BITS = 4;
+    private static final int SCALES_SHIFT = Integer.SIZE;
+    private static final int CONDITION_SHIFT = SCALES_SHIFT + SCALE_BITS * STAT_TYPES.length;
+    private static final int PROTECTION_SHIFT = CONDITION_SHIFT + ORDINAL_BITS;
+    private static final long SCALE_MASK = (1L << SCALE_BITS) - 1;
+    private static final long ORDINAL_MASK = (1L << ORDINAL_BITS) - 1;
+    private static final long INT_MASK = 0xFFFFFFFFL;
+    private static final int STATE_WORD = 0;
+    private static final int DURATION_WORD = 1;
+    private static final int MIN_PROTECTION_DURATION = 0;
+    private static final int SIGNATURE_CONDITION_BITS = 3;
+    private static final int SIGNATURE_SAMPLE_SHIFT = SCALE_BITS + SIGNATURE_CONDITION_BITS;
+
+    /**
+     * The number of {@code long} words written by {@link #packState(long[], int)}.
+     */
+    public static final int PACKED_STATE_LENGTH = 2;
 
     private final MonsterSample sample;
-    private final Map<StatType,  Integer> scales;
-    private final int index;
+    private final int[] scales;
+    private final String name;
+    private final long keySeed;
 
     private Condition condition;
     private Protection protection;
     private int health;
+    private long zobristHash;
+    private CombinedHash combinedHash;
 
     /**
      * Creates a new monster instance based on a given sample and index.
      *
      * @param sample the monster template
-     * @param index  the instance number if multiple monsters of the same type exist
+     * @param index  the instance number if multiple monsters of the same type exist, or {@code 0} otherwise
      */
     public Monster(MonsterSample sample, int index) {
         this.sample = sample;
-        scales = new HashMap<>();
+        scales = new int[STAT_TYPES.length];
         this.health = sample.getMaxHealth();
-        this.index = index;
+        this.name = index == NO_INDEX ? sample.getName() : sample.getName() + NAME_INDEX_SEPARATOR + index;
+        this.keySeed = Utility.mixHash(name.hashCode(), name.length());
+        this.zobristHash = computeZobristHash();
+    }
+
+    /**
+     * Creates a copy of the given monster. The copy shares the immutable sample and name
+     * and has its own health, stat scales, condition and protection.
+     *
+     * @param monster the monster to copy
+     */
+    public Monster(Monster monster) {
+        this.sample = monster.sample;
+        this.name = monster.name;
+        this.keySeed = monster.keySeed;
+        this.scales = new int[STAT_TYPES.length];
+        copyStateFrom(monster);
+    }
+
+    /**
+     * Creates a copy of the monster whose condition has ended, e.g. to preview what it does once it recovers.
+     * Nothing is printed or logged.
+     *
+     * @return the copy without condition
+     */
+    public Monster copyWithoutCondition() {
+        Monster copy = new Monster(this);
+        copy.updateHash(copy.conditionKey(copy.condition));
+        copy.condition = null;
+        return copy;
+    }
+
+    /**
+     * Overwrites the health, stat scales, condition and protection of this monster
+     * with the ones of the given monster, which has to have the same sample.
+     *
+     * @param monster the monster whose state is copied
+     */
+    public void copyStateFrom(Monster monster) {
+        health = monster.health;
+        System.arraycopy(monster.scales, 0, scales, 0, scales.length);
+        condition = monster.condition;
+        protection = monster.protection != null ? new Protection(monster.protection.getType(), monster.protection.getDuration()) : null;
+        updateHash(zobristHash ^ monster.zobristHash);
     }
 
     /**
@@ -58,9 +133,10 @@ public Monster(MonsterSample sample, int index) {
      * @param shift the value to shift the stat's current scale by; can be positive or negative
      */
     public void shiftScale(StatType stat, int shift) {
-        scales.put(stat,
-                Utility.absLimitValue(scales.getOrDefault(stat, DEFAULT_SCALE_VALUE) + shift, MIN_SCALE_VALUE, MAX_SCALE_VALUE)
-        );
+        int ordinal = stat.ordinal();
+        int lastScale = scales[ordinal];
+        scales[ordinal] = Utility.absLimitValue(lastScale + shift, MIN_SCALE_VALUE, MAX_SCALE_VALUE);
+        updateHash(key(SCALE_FEATURE + ordinal, lastScale) ^ key(SCALE_FEATURE + ordinal, scales[ordinal]));
     }
 
     /**
@@ -69,7 +145,9 @@ public void shiftScale(StatType stat, int shift) {
      * @param shift the amount to add (positive or negative)
      */
     public void shiftHealth(int shift) {
+        int lastHealth = health;
         health = Utility.absLimitValue(health + shift, MIN_HEALTH_VALUE, sample.getMaxHealth());
+        updateHash(key(HEALTH_FEATURE, lastHealth) ^ key(HEALTH_FEATURE, health));
     }
 
     /**
@@ -98,7 +176,31 @@ public boolean isFainted() {
      */
     public double getStat(StatType stat) {
         double conditionFactor = condition == null ? DEFAULT_CONDITION_FACTOR : condition.getStateFactor(stat);
-        return Utility.scaleStat(stat, sample.getStat(stat), scales.getOrDefault(stat, DEFAULT_SCALE_VALUE)) * conditionFactor;
+        return Utility.scaleStat(stat, sample.getStat(stat), scales[stat.ordinal()]) * conditionFactor;
+    }
+
+    /**
+     * Returns the current scale of a stat, between -5 and 5.
+     *
+     * @param stat the stat to retrieve (e.g., ATK, DEF)
+     * @return the scale of the stat, {@code 0} if it was never changed
+     */
+    public int getScale(StatType stat) {
+        return scales[stat.ordinal()];
+    }
+
+    /**
+     * Returns a compact signature of everything {@link #getStat(StatType)} depends on for the given stat:
+     * the sample, the scale of the stat and the condition. Monsters whose signatures for a stat are equal
+     * have the same value of the stat, as long as the samples are not cleared.
+     *
+     * @param stat the stat to describe
+     * @return the signature of the stat
+     */
+    public long getStatSignature(StatType stat) {
+        long signature = (long) sample.getIndex() << SIGNATURE_SAMPLE_SHIFT;
+        signature |= (long) (scales[stat.ordinal()] - MIN_SCALE_VALUE) << SIGNATURE_CONDITION_BITS;
+        return signature | (condition != null ? condition.ordinal() + 1 : 0);
     }
 
     /**
@@ -117,10 +219,13 @@ public void updateCondition() {
         Condition lastCondition = condition;
         if (condition != null) {
             condition = condition.step();
-            Application.DEFAULT_OUTPUT_STREAM.printf(
-                    lastCondition != condition ? lastCondition.getFinishingMessage() : lastCondition.getExistingMessage(),
-                    sample.getName()
-            );
+            updateHash(conditionKey(lastCondition) ^ conditionKey(condition));
+            if (lastCondition != condition) {
+                BattleLog.conditionEnded(this, lastCondition);
+            }
+            Application.DEFAULT_OUTPUT_STREAM.print(
+                    lastCondition != condition ? lastCondition.getFinishingMessage() : lastCondition.getExistingMessage()
+            ).arg(sample.getName());
             Application.DEFAULT_OUTPUT_STREAM.println();
         }
     }
@@ -131,9 +236,11 @@ public void updateCondition() {
      * @param condition a {@link Condition} (e.g., POISON, SLEEP)
      */
     public void setCondition(Condition condition) {
-        Application.DEFAULT_OUTPUT_STREAM.printf(condition.getCreationMessage(), getName());
+        Application.DEFAULT_OUTPUT_STREAM.print(condition.getCreationMessage()).arg(getName());
         Application.DEFAULT_OUTPUT_STREAM.println();
+        updateHash(conditionKey(this.condition) ^ conditionKey(condition));
         this.condition = condition;
+        BattleLog.conditionInflicted(this, condition);
     }
 
     /**
@@ -150,10 +257,12 @@ public Condition getCondition() {
      */
     public void updateProtection() {
         if (protection != null) {
+            long lastKey = protectionKey();
             if (protection.step() == null) {
                 protection = null;
-                Application.DEFAULT_OUTPUT_STREAM.printf(PROTECTION_FADES_FORMAT, getName());
+                Application.DEFAULT_OUTPUT_STREAM.print(PROTECTION_FADES_FORMAT).arg(getName());
             }
+            updateHash(lastKey ^ protectionKey());
         }
     }
 
@@ -164,8 +273,10 @@ public void updateProtection() {
      * @param duration how many turns the protection lasts
      */
     public void setProtection(ProtectionType type, int duration) {
+        long lastKey = protectionKey();
         this.protection = new Protection(type, duration);
-        Application.DEFAULT_OUTPUT_STREAM.printf(PROTECTION_ADDED_FORMAT, getName(), type.getMessage());
+        updateHash(lastKey ^ protectionKey());
+        Application.DEFAULT_OUTPUT_STREAM.print(PROTECTION_ADDED_FORMAT).arg(getName()).arg(type.getMessage());
     }
 
     /**
@@ -198,11 +309,176 @@ public String getStatus() {
      * @return the monster's display name
      */
     public String getName() {
-        if (sample.getCreatedCount() > 1) {
-            return NAME_FORMAT.formatted(sample.getName(), index);
-        } else {
-            return sample.getName();
+        return name;
+    }
+
+    /**
+     * Writes the current state of the monster, i.e. its health, the scales of all stats,
+     * its condition and its protection with the remaining duration.
+     *
+     * @param out the output receiving the state
+     * @throws IOException if the state cannot be written
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(health);
+        for (StatType stat : STAT_TYPES) {
+            out.writeByte(getScale(stat));
+        }
+        out.writeByte(condition != null ? condition.ordinal() : NO_ORDINAL);
+        out.writeByte(protection != null ? protection.getType().ordinal() : NO_ORDINAL);
+        if (protection != null) {
+            out.writeInt(protection.getDuration());
+        }
+    }
+
+    /**
+     * Replaces the state of the monster by a state written by {@link #writeState(DataOutput)}.
+     * No messages are printed and no events are logged.
+     *
+     * @param in the input providing the state
+     * @throws IOException if the state cannot be read or is invalid
+     */
+    public void readState(DataInput in) throws IOException {
+        int newHealth = in.readInt();
+        int[] newScales = new int[STAT_TYPES.length];
+        for (int i = 0; i < newScales.length; i++) {
+            newScales[i] = in.readByte();
+        }
+        int conditionOrdinal = in.readByte();
+        int protectionOrdinal = in.readByte();
+        int duration = protectionOrdinal != NO_ORDINAL ? in.readInt() : MIN_PROTECTION_DURATION;
+        setState(newHealth, newScales, conditionOrdinal, protectionOrdinal, duration);
+    }
+
+    /**
+     * Packs the current state of the monster into {@link #PACKED_STATE_LENGTH} words of the given array.
+     * The first word holds the health, the stat scales, the condition and the protection type, the second
+     * one the remaining duration of the protection. Equal states are packed into equal words.
+     *
+     * @param words  the array receiving the state
+     * @param offset the index of the first word to write
+     */
+    public void packState(long[] words, int offset) {
+        long word = health & INT_MASK;
+        for (int i = 0; i < scales.length; i++) {
+            word |= (long) (scales[i] - MIN_SCALE_VALUE) << (SCALES_SHIFT + i * SCALE_BITS);
+        }
+        word |= (long) (condition != null ? condition.ordinal() + 1 : 0) << CONDITION_SHIFT;
+        word |= (long) (protection != null ? protection.getType().ordinal() + 1 : 0) << PROTECTION_SHIFT;
+        words[offset + STATE_WORD] = word;
+        words[offset + DURATION_WORD] = protection != null ? protection.getDuration() : MIN_PROTECTION_DURATION;
+    }
+
+    /**
+     * Replaces the state of the monster by a state packed by {@link #packState(long[], int)}.
+     * No messages are printed and no events are logged.
+     *
+     * @param words  the array holding the state
+     * @param offset the index of the first word to read
+     * @throws IllegalArgumentException if the words do not hold a valid state of this monster
+     */
+    public void unpackState(long[] words, int offset) {
+        long word = words[offset + STATE_WORD];
+        long duration = words[offset + DURATION_WORD];
+        int[] newScales = new int[STAT_TYPES.length];
+        for (int i = 0; i < newScales.length; i++) {
+            newScales[i] = (int) ((word >>> (SCALES_SHIFT + i * SCALE_BITS)) & SCALE_MASK) + MIN_SCALE_VALUE;
+        }
+        int protectionOrdinal = (int) ((word >>> PROTECTION_SHIFT) & ORDINAL_MASK) - 1;
+        try {
+            if (word >>> (PROTECTION_SHIFT + ORDINAL_BITS) != 0 || duration != (int) duration
+                    || protectionOrdinal == NO_ORDINAL && duration != MIN_PROTECTION_DURATION) {
+                throw new IOException(INVALID_STATE_MESSAGE);
+            }
+            setState((int) (word & INT_MASK), newScales, (int) ((word >>> CONDITION_SHIFT) & ORDINAL_MASK) - 1,
+                    protectionOrdinal, (int) duration);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(INVALID_STATE_MESSAGE, e);
+        }
+    }
+
+    // validates the whole state before changing anything, so an invalid state leaves the monster as it was
+    private void setState(int newHealth, int[] newScales, int conditionOrdinal, int protectionOrdinal, int duration)
+            throws IOException {
+        if (newHealth < MIN_HEALTH_VALUE || newHealth > sample.getMaxHealth()) {
+            throw new IOException(INVALID_STATE_MESSAGE);
+        }
+        for (int scale : newScales) {
+            if (scale < MIN_SCALE_VALUE || scale > MAX_SCALE_VALUE) {
+                throw new IOException(INVALID_STATE_MESSAGE);
+            }
+        }
+        Condition newCondition = conditionOrdinal != NO_ORDINAL ? readOrdinal(Condition.values(), conditionOrdinal) : null;
+        ProtectionType protectionType = protectionOrdinal != NO_ORDINAL
+                ? readOrdinal(ProtectionType.values(), protectionOrdinal)
+                : null;
+        if (duration < MIN_PROTECTION_DURATION) {
+            throw new IOException(INVALID_STATE_MESSAGE);
+        }
+        health = newHealth;
+        System.arraycopy(newScales, 0, scales, 0, scales.length);
+        condition = newCondition;
+        protection = protectionType != null ? new Protection(protectionType, duration) : null;
+        updateHash(zobristHash ^ computeZobristHash());
+    }
+
+    /**
+     * Returns the Zobrist hash of the current state of the monster, i.e. of everything written by
+     * {@link #writeState(DataOutput)}. The hash is updated with every change of the state, so retrieving it
+     * takes constant time. Monsters with different names use different keys, so the hashes of the monsters
+     * of a competition can be combined with an exclusive or.
+     *
+     * @return the hash of the state
+     */
+    public long getZobristHash() {
+        return zobristHash;
+    }
+
+    /**
+     * Attaches the monster to a combined hash, which from now on includes the hash of the state of the monster
+     * and is updated with every change of it. A monster is attached to at most one combined hash.
+     *
+     * @param combinedHash the combined hash of the monsters of a competition
+     */
+    public void attach(CombinedHash combinedHash) {
+        this.combinedHash = combinedHash;
+        combinedHash.toggle(zobristHash);
+    }
+
+    private void updateHash(long change) {
+        zobristHash ^= change;
+        if (combinedHash != null) {
+            combinedHash.toggle(change);
+        }
+    }
+
+    private long computeZobristHash() {
+        long hash = key(HEALTH_FEATURE, health);
+        for (int i = 0; i < scales.length; i++) {
+            hash ^= key(SCALE_FEATURE + i, scales[i]);
+        }
+        return hash ^ conditionKey(condition) ^ protectionKey();
+    }
+
+    private long conditionKey(Condition condition) {
+        return condition != null ? key(CONDITION_FEATURE, condition.ordinal()) : 0;
+    }
+
+    private long protectionKey() {
+        return protection != null
+                ? key(PROTECTION_FEATURE, (long) protection.getType().ordinal() << Integer.SIZE | protection.getDuration())
+                : 0;
+    }
+
+    private long key(int feature, long value) {
+        return Utility.zobristKey(keySeed + feature, value);
+    }
+
+    private static <T> T readOrdinal(T[] values, int ordinal) throws IOException {
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IOException(INVALID_STATE_MESSAGE);
         }
+        return values[ordinal];
     }
 
     @Override
@@ -218,7 +494,7 @@ public String toString() {
             stats.add("%s %s%s".formatted(
                     stat,
                     sample.getStat(stat),
-                    scales.getOrDefault(stat, DEFAULT_SCALE_VALUE) != DEFAULT_SCALE_VALUE ? "(%+d)".formatted(scales.get(stat)) : ""
+                    scales[stat.ordinal()] != DEFAULT_SCALE_VALUE ? "(%+d)".formatted(scales[stat.ordinal()]) : ""
             ));
         }
         return String.join(", ", stats);
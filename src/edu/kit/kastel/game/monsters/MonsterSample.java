@@ -22,14 +22,16 @@ public class MonsterSample {
     private static final String PRINT_FORMAT = "%s: ELEMENT %s, HP %d, ATK %d, DEF %d, SPD %d";
     private static final Map<String, MonsterSample> SAMPLES = new LinkedHashMap<>();
     private static final int DEFAULT_STAT_VALUE = 1;
+    private static int nextIndex = 0;
+    private static volatile int catalogVersion = 0;
 
     private final Map<StatType, Integer> stats;
     private final List<String> actions;
     private final String name;
     private final Element element;
     private final int maxHealth;
-
-    private int createdCount = 0;
+    private final int index;
+    private final int version;
 
     /**
      * Constructs a new {@code MonsterSample} with specified stats, element, and actions.
@@ -48,6 +50,8 @@ public MonsterSample(String name, Element element, int maxHealth, int atk, int d
         this.name = name;
         this.element = element;
         this.maxHealth = maxHealth;
+        this.index = nextIndex++;
+        this.version = catalogVersion;
         SAMPLES.put(name, this);
     }
 
@@ -61,29 +65,61 @@ public static MonsterSample find(String name) {
         return SAMPLES.get(name);
     }
 
+    /**
+     * Retrieves all registered monster samples in the order of the configuration.
+     *
+     * @return an unmodifiable list of the samples
+     */
+    public static List<MonsterSample> getSamples() {
+        return List.copyOf(SAMPLES.values());
+    }
+
     /**
      * Clears all registered monster samples.
      */
     public static void clearSamples() {
         SAMPLES.clear();
+        nextIndex = 0;
+        catalogVersion++;
     }
 
     /**
-     * Resets the created count for every {@code MonsterSample} in the registry to 0.
+     * Retrieves the version of the registered samples, which changes whenever they are cleared
+     * for a new configuration. Values derived from the samples of an older version are outdated.
+     *
+     * @return the version of the samples
      */
-    public static void clearCreatedCounts() {
-        for (MonsterSample sample : SAMPLES.values()) {
-            sample.createdCount = 0;
-        }
+    public static int getCatalogVersion() {
+        return catalogVersion;
+    }
+
+    /**
+     * Retrieves the version of the samples this sample was registered under. Indices of samples are only
+     * unique among samples of the same version.
+     *
+     * @return the version the sample belongs to
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * Retrieves the number of the sample in the order of creation since the samples were last cleared.
+     *
+     * @return the index of the sample
+     */
+    public int getIndex() {
+        return index;
     }
 
     /**
      * Creates a new {@link Monster} instance from this sample.
      *
+     * @param index the instance number if multiple monsters of this sample exist, or {@code 0} otherwise
      * @return the newly created monster
      */
-    public Monster create() {
-        return new Monster(this, ++createdCount);
+    public Monster create(int index) {
+        return new Monster(this, index);
     }
 
     /**
@@ -132,15 +168,6 @@ public List<String> getActions() {
         return List.copyOf(actions);
     }
 
-    /**
-     * Gets the number of {@link Monster} instances already created from this sample.
-     *
-     * @return the count of created monsters
-     */
-    public int getCreatedCount() {
-        return createdCount;
-    }
-
     /**
      * Builds a regex pattern to match a monster sample definition in the config.
      *
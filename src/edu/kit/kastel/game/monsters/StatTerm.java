@@ -0,0 +1,142 @@
+package edu.kit.kastel.game.monsters;
+
+import edu.kit.kastel.game.types.StatType;
+import edu.kit.kastel.utils.Utility;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleBinaryOperator;
+
+/**
+ * A deterministic term computed from a stat of a user and a stat of a target, e.g. the ratio of attack and
+ * defense, whose values are memoized.
+ * <p>
+ * All terms share one bounded cache, so the values are reused within a competition as well as across all
+ * competitions over the same samples. An entry is keyed by the term and the signatures of both stats
+ * (see {@link Monster#getStatSignature(StatType)}) and is overwritten by the next entry for the same slot.
+ * The cache is dropped whenever the samples are cleared for a new configuration. Since the sample indices in the
+ * signatures restart then, monsters of samples of an older configuration, e.g. in competitions still running
+ * after a reload, bypass the cache. It may be used by several threads at once: entries are immutable, so a
+ * thread either finds a complete entry or computes the value itself. Lookups in the cache are counted as hits
+ * or misses, values of monsters bypassing it are not.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public final class StatTerm {
+    private static final int CAPACITY = 1 << 12;
+    private static final int SLOT_MASK = CAPACITY - 1;
+    private static final int SIGNATURE_BITS = 24;
+    private static final int TERM_SHIFT = 2 * SIGNATURE_BITS;
+    private static final long MAX_SIGNATURE = (1L << SIGNATURE_BITS) - 1;
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static int nextId = 0;
+    private static volatile Table table = new Table(MonsterSample.getCatalogVersion());
+
+    private final long id;
+    private final StatType userStat;
+    private final StatType targetStat;
+    private final DoubleBinaryOperator formula;
+
+    /**
+     * Creates a term. Terms are meant to be constants, since each one takes its own part of the keys.
+     *
+     * @param userStat   the stat of the user the term depends on
+     * @param targetStat the stat of the target the term depends on
+     * @param formula    computes the term from the values of the user's and the target's stat
+     */
+    public StatTerm(StatType userStat, StatType targetStat, DoubleBinaryOperator formula) {
+        synchronized (StatTerm.class) {
+            this.id = nextId++;
+        }
+        this.userStat = userStat;
+        this.targetStat = targetStat;
+        this.formula = formula;
+    }
+
+    /**
+     * Retrieves the value of the term for the current stats of the given monsters, computing it
+     * only if it is not cached. The result is the same as applying the formula to the stats directly.
+     *
+     * @param user   the monster providing the user's stat
+     * @param target the monster providing the target's stat
+     * @return the value of the term
+     */
+    public double get(Monster user, Monster target) {
+        long userSignature = user.getStatSignature(userStat);
+        long targetSignature = target.getStatSignature(targetStat);
+        if (userSignature > MAX_SIGNATURE || targetSignature > MAX_SIGNATURE) {
+            return compute(user, target);
+        }
+        int version = user.getSample().getVersion();
+        if (target.getSample().getVersion() != version || version != MonsterSample.getCatalogVersion()) {
+            return compute(user, target);
+        }
+        Table current = table;
+        if (current.catalogVersion != version) {
+            current = replaceTable(version);
+            if (current.catalogVersion != version) {
+                return compute(user, target);
+            }
+        }
+        long key = id << TERM_SHIFT | userSignature << SIGNATURE_BITS | targetSignature;
+        int slot = (int) Utility.mixHash(key, id) & SLOT_MASK;
+        Entry entry = current.entries[slot];
+        if (entry != null && entry.key == key) {
+            HITS.increment();
+            return entry.value;
+        }
+        MISSES.increment();
+        double value = compute(user, target);
+        current.entries[slot] = new Entry(key, value);
+        return value;
+    }
+
+    /**
+     * Retrieves how many values were found in the cache so far, over all terms.
+     *
+     * @return the number of cache hits
+     */
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    /**
+     * Retrieves how many values had to be computed and stored in the cache so far, over all terms.
+     * Values of monsters bypassing the cache are not included.
+     *
+     * @return the number of cache misses
+     */
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    private double compute(Monster user, Monster target) {
+        return formula.applyAsDouble(user.getStat(userStat), target.getStat(targetStat));
+    }
+
+    // only replaces the table by a newer one, so a thread with an outdated version cannot drop the current table
+    private static synchronized Table replaceTable(int catalogVersion) {
+        Table current = table;
+        if (current.catalogVersion < catalogVersion) {
+            current = new Table(catalogVersion);
+            table = current;
+        }
+        return current;
+    }
+
+    private record Entry(long key, double value) {
+
+    }
+
+    private static final class Table {
+        private final int catalogVersion;
+        private final Entry[] entries = new Entry[CAPACITY];
+
+        private Table(int catalogVersion) {
+            this.catalogVersion = catalogVersion;
+        }
+
+    }
+
+}
@@ -1,5 +1,6 @@
 package edu.kit.kastel.game.types;
 
+import edu.kit.kastel.utils.MessageTemplate;
 import edu.kit.kastel.utils.RandomGenerator;
 import edu.kit.kastel.utils.RegexConstructor;
 import edu.kit.kastel.utils.RegexProvider;
@@ -105,14 +106,14 @@ public enum Condition implements RegexProvider {
     private static final String END_CONDITION_DEBUG_MESSAGE = "end of condition";
 
     private final Map<StatType, Double> stateFactor;
-    private final String creationMessage;
-    private final String existingMessage;
-    private final String finishingMessage;
+    private final MessageTemplate creationMessage;
+    private final MessageTemplate existingMessage;
+    private final MessageTemplate finishingMessage;
 
     Condition(String creationMessage, String existingMessage, String finishingMessage, StateFactor... stateFactors) {
-        this.creationMessage = creationMessage;
-        this.existingMessage = existingMessage;
-        this.finishingMessage = finishingMessage;
+        this.creationMessage = new MessageTemplate(creationMessage);
+        this.existingMessage = new MessageTemplate(existingMessage);
+        this.finishingMessage = new MessageTemplate(finishingMessage);
         this.stateFactor = new HashMap<>();
         for (StateFactor stateFactor : stateFactors) {
             this.stateFactor.put(stateFactor.state(), stateFactor.factor());
@@ -129,6 +130,15 @@ public double getStateFactor(StatType state) {
         return stateFactor.getOrDefault(state, 1.0);
     }
 
+    /**
+     * Retrieves the chance in percent that a condition ends when it is advanced.
+     *
+     * @return the chance to end in percent
+     */
+    public static double getFinishProbability() {
+        return FINISH_PROBABILITY;
+    }
+
     /**
      * Advances the condition, potentially removing it with a certain probability.
      *
@@ -159,27 +169,27 @@ public String toRegex(boolean nameGroup) {
     /**
      * Retrieves the creation message associated with this instance.
      *
-     * @return a string containing the creation message
+     * @return a template of the creation message, expecting the monster name
      */
-    public String getCreationMessage() {
+    public MessageTemplate getCreationMessage() {
         return creationMessage;
     }
 
     /**
      * Retrieves the existing message.
      *
-     * @return the existing message as a {@code String}
+     * @return the existing message as a template, expecting the monster name
      */
-    public String getExistingMessage() {
+    public MessageTemplate getExistingMessage() {
         return existingMessage;
     }
 
     /**
      * Retrieves the finishing message associated with a specific operation or process.
      *
-     * @return the finishing message as a string
+     * @return the finishing message as a template, expecting the monster name
      */
-    public String getFinishingMessage() {
+    public MessageTemplate getFinishingMessage() {
         return finishingMessage;
     }
 
@@ -0,0 +1,211 @@
+package edu.kit.kastel.game.types;
+
+import edu.kit.kastel.game.types.count.Count;
+
+import java.util.Arrays;
+
+/**
+ * An absorbing Markov chain describing how many turns a condition or a protection lasts once it is applied.
+ * <p>
+ * The transient states are the states of the effect, e.g. the remaining duration of a protection. Every turn
+ * the chain either moves to another transient state or is absorbed, i.e. the effect ends. The number of turns
+ * the effect lasts is the number of steps the chain stays transient. Its distribution, expectation and the
+ * stationary distribution of the states are computed exactly from the transition probabilities.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public final class DurationChain {
+    private static final double PERCENT = 100;
+
+    private final double[] start;
+    private final double[][] transitions;
+
+    private DurationChain(double[] start, double[][] transitions) {
+        this.start = start;
+        this.transitions = transitions;
+    }
+
+    /**
+     * Creates the chain of a condition, which ends with a fixed probability every time it is advanced.
+     * The affected monster advances it at the start of each of its turns, so the number of turns is the
+     * number of its turns with the condition.
+     *
+     * @return the chain of a condition
+     */
+    public static DurationChain ofCondition() {
+        double finishChance = Condition.getFinishProbability() / PERCENT;
+        return new DurationChain(new double[] {1}, new double[][] {{1 - finishChance}});
+    }
+
+    /**
+     * Creates the chain of a protection whose duration is drawn from the given count. The state is the
+     * remaining duration, which is counted down at the end of every turn, so the number of turns is the
+     * drawn duration.
+     *
+     * @param duration the count the duration is drawn from
+     * @return the chain of a protection
+     */
+    public static DurationChain ofProtection(Count duration) {
+        int minDuration = Math.max(0, duration.getMinValue());
+        int maxDuration = Math.max(minDuration, duration.getMaxValue());
+        double[] start = new double[maxDuration + 1];
+        double[][] transitions = new double[maxDuration + 1][maxDuration + 1];
+        for (int remaining = minDuration; remaining <= maxDuration; remaining++) {
+            start[remaining] = 1. / (maxDuration - minDuration + 1);
+        }
+        for (int remaining = 1; remaining <= maxDuration; remaining++) {
+            transitions[remaining][remaining - 1] = 1;
+        }
+        return new DurationChain(start, transitions);
+    }
+
+    /**
+     * Computes the distribution of the number of turns the effect lasts within the given horizon.
+     *
+     * @param horizon the maximal number of turns considered
+     * @return the probabilities indexed by turns, where the last entry is the probability to last at least {@code horizon} turns
+     */
+    public double[] getTurnsDistribution(int horizon) {
+        double[] distribution = new double[horizon + 1];
+        double[] state = start.clone();
+        double survival = sum(state);
+        for (int turns = 0; turns < horizon; turns++) {
+            state = step(state);
+            double nextSurvival = sum(state);
+            distribution[turns] = survival - nextSurvival;
+            survival = nextSurvival;
+        }
+        distribution[horizon] = survival;
+        return distribution;
+    }
+
+    /**
+     * Computes the expected number of turns the effect lasts within the given horizon.
+     *
+     * @param horizon the maximal number of turns considered
+     * @return the expectation of the turns, at most {@code horizon}
+     */
+    public double getExpectedTurns(int horizon) {
+        double expectedTurns = 0;
+        double[] state = start;
+        for (int turns = 0; turns < horizon; turns++) {
+            state = step(state);
+            expectedTurns += sum(state);
+        }
+        return expectedTurns;
+    }
+
+    /**
+     * Computes the expected number of turns the effect lasts without limit, with the fundamental matrix
+     * of the chain.
+     *
+     * @return the expectation of the turns
+     */
+    public double getExpectedTurns() {
+        double[] visits = solve(getFundamentalSystem(false), ones());
+        double expectedVisits = 0;
+        for (int i = 0; i < start.length; i++) {
+            expectedVisits += start[i] * visits[i];
+        }
+        return expectedVisits - sum(start);
+    }
+
+    /**
+     * Computes the stationary distribution of the states if the effect is applied again as soon as it ends,
+     * i.e. how likely a turn in which the effect is active finds it in each state.
+     *
+     * @return the probabilities indexed by state
+     */
+    public double[] getStationaryDistribution() {
+        double[] visits = solve(getFundamentalSystem(true), start.clone());
+        double total = sum(visits);
+        for (int i = 0; i < visits.length; i++) {
+            visits[i] /= total;
+        }
+        return visits;
+    }
+
+    /**
+     * Computes the expected damage a protection against damage prevents, if the protected monster
+     * would otherwise take the given damage per turn.
+     *
+     * @param damagePerTurn the expected damage per turn without protection
+     * @return the expected prevented damage
+     */
+    public double getExpectedDamagePrevented(double damagePerTurn) {
+        return damagePerTurn * getExpectedTurns();
+    }
+
+    private double[] step(double[] state) {
+        double[] next = new double[state.length];
+        for (int from = 0; from < state.length; from++) {
+            if (state[from] != 0) {
+                for (int to = 0; to < state.length; to++) {
+                    next[to] += state[from] * transitions[from][to];
+                }
+            }
+        }
+        return next;
+    }
+
+    private double[][] getFundamentalSystem(boolean transposed) {
+        int size = start.length;
+        double[][] system = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                system[i][j] = (i == j ? 1 : 0) - (transposed ? transitions[j][i] : transitions[i][j]);
+            }
+        }
+        return system;
+    }
+
+    private double[] ones() {
+        double[] ones = new double[start.length];
+        Arrays.fill(ones, 1);
+        return ones;
+    }
+
+    private static double sum(double[] values) {
+        double sum = 0;
+        for (double value : values) {
+            sum += value;
+        }
+        return sum;
+    }
+
+    private static double[] solve(double[][] system, double[] values) {
+        int size = values.length;
+        for (int column = 0; column < size; column++) {
+            int pivot = column;
+            for (int row = column + 1; row < size; row++) {
+                if (Math.abs(system[row][column]) > Math.abs(system[pivot][column])) {
+                    pivot = row;
+                }
+            }
+            double[] pivotRow = system[pivot];
+            system[pivot] = system[column];
+            system[column] = pivotRow;
+            double pivotValue = values[pivot];
+            values[pivot] = values[column];
+            values[column] = pivotValue;
+            for (int row = column + 1; row < size; row++) {
+                double factor = system[row][column] / system[column][column];
+                for (int j = column; j < size; j++) {
+                    system[row][j] -= factor * system[column][j];
+                }
+                values[row] -= factor * values[column];
+            }
+        }
+        double[] solution = new double[size];
+        for (int row = size - 1; row >= 0; row--) {
+            double value = values[row];
+            for (int j = row + 1; j < size; j++) {
+                value -= system[row][j] * solution[j];
+            }
+            solution[row] = value / system[row][row];
+        }
+        return solution;
+    }
+
+}
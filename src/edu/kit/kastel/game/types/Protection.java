@@ -45,4 +45,13 @@ public ProtectionType getType() {
         return type;
     }
 
-}
\ No newline at end of file
+    /**
+     * Retrieves the number of remaining turns after the current one.
+     *
+     * @return the remaining duration
+     */
+    public int getDuration() {
+        return duration;
+    }
+
+}
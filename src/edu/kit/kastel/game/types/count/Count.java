@@ -41,6 +41,21 @@ public static Count create(String... args) {
      */
     public abstract int getValue(String debugMessage);
 
+    /**
+     * Retrieves the smallest value this count can take.
+     *
+     * @return the minimal value
+     */
+    public abstract int getMinValue();
+
+    /**
+     * Retrieves the largest value this count can take. All values between the smallest and the largest one
+     * are equally likely.
+     *
+     * @return the maximal value
+     */
+    public abstract int getMaxValue();
+
     /**
      * Builds a regex pattern matching either a {@link ValueCount}
      * or a {@link RandomCount}.
@@ -46,4 +46,14 @@ public int getValue(String debugMessage) {
         return RandomGenerator.getRandomNumber(min, max, debugMessage);
     }
 
+    @Override
+    public int getMinValue() {
+        return min;
+    }
+
+    @Override
+    public int getMaxValue() {
+        return max;
+    }
+
 }
@@ -34,4 +34,14 @@ public int getValue(String debugMessage) {
         return value;
     }
 
+    @Override
+    public int getMinValue() {
+        return value;
+    }
+
+    @Override
+    public int getMaxValue() {
+        return value;
+    }
+
 }
@@ -2,11 +2,14 @@
 
 import edu.kit.kastel.Application;
 import edu.kit.kastel.game.monsters.Monster;
+import edu.kit.kastel.game.monsters.StatTerm;
 import edu.kit.kastel.game.actions.effects.ValueType;
 import edu.kit.kastel.game.types.StatType;
 import edu.kit.kastel.game.types.element.Element;
 import edu.kit.kastel.utils.RandomGenerator;
 import edu.kit.kastel.utils.RegexConstructor;
+import edu.kit.kastel.game.log.BattleLog;
+import edu.kit.kastel.game.types.element.ElementEfficiency;
 
 /**
  * Represents a basic implementation of the Power class with specific
@@ -36,9 +39,14 @@ public final class BasicPower extends Power {
     private static final double NORMAL_FACTOR_MULTIPLIER = 1 / 3.;
     private static final double RANDOM_FACTOR_MIN = 0.85;
     private static final double RANDOM_FACTOR_MAX = 1;
+    private static final double PERCENT = 100;
+    private static final StatTerm STATUS_FACTOR = new StatTerm(StatType.ATK, StatType.DEF,
+            (userAttack, targetDefense) -> userAttack / targetDefense);
+    private static final StatTerm CRITICAL_HIT_PROBABILITY = new StatTerm(StatType.SPD, StatType.SPD,
+            (userSpeed, targetSpeed) -> Math.pow(10, -targetSpeed / userSpeed) * PERCENT);
 
 
-    private static boolean printElementEfficiency = false;
+    private static final ThreadLocal<Boolean> PRINT_ELEMENT_EFFICIENCY = ThreadLocal.withInitial(() -> Boolean.FALSE);
 
     /**
      * Constructs an instance of the BasicPower class with a specified value.
@@ -51,17 +59,26 @@ public BasicPower(int value) {
 
     @Override
     public int getValue(Monster user, Monster target, Element actionElement) {
-        double elementFactor = actionElement.getEfficiency(target.getSample().getElement(), printElementEfficiency).getDamageScale();
-        printElementEfficiency = false;
-        double statusFactor = user.getStat(StatType.ATK) / target.getStat(StatType.DEF);
-        double criticalHitProbability = Math.pow(10, -target.getStat(StatType.SPD) / user.getStat(StatType.SPD)) * 100;
+        ElementEfficiency efficiency = actionElement.getEfficiency(
+                target.getSample().getElement(),
+                PRINT_ELEMENT_EFFICIENCY.get()
+        );
+        double elementFactor = efficiency.getDamageScale();
+        PRINT_ELEMENT_EFFICIENCY.set(Boolean.FALSE);
+        double statusFactor = STATUS_FACTOR.get(user, target);
+        double criticalHitProbability = CRITICAL_HIT_PROBABILITY.get(user, target);
         int criticalHitFactor = DEFAULT_HIT_MULTIPLIER;
         if (RandomGenerator.probabilityGood(criticalHitProbability, CRITICAL_HIT_DEBUG_MESSAGE)) {
             Application.DEFAULT_OUTPUT_STREAM.println(CRITICAL_HIT_MESSAGE);
             criticalHitFactor = CRITICAL_HIT_MULTIPLIER;
         }
         double sameElementFactor = user.getSample().getElement() == actionElement ? SAME_ELEMENT_MULTIPLIER : DEFAULT_HIT_MULTIPLIER;
-        double randomFactor = RandomGenerator.getRandomFactor(RANDOM_FACTOR_MIN, RANDOM_FACTOR_MAX, RANDOM_FACTOR_DEBUG_MESSAGE);
+        // the damage is the product of the random factor with the other factors rounded up
+        double scale = getValue() * elementFactor * statusFactor * criticalHitFactor * sameElementFactor
+                * NORMAL_FACTOR_MULTIPLIER;
+        double randomFactor = RandomGenerator.getRandomFactor(RANDOM_FACTOR_MIN, RANDOM_FACTOR_MAX, scale,
+                RANDOM_FACTOR_DEBUG_MESSAGE);
+        BattleLog.noteDamageDetails(efficiency, criticalHitFactor == CRITICAL_HIT_MULTIPLIER);
         return (int) Math.ceil(getValue()
                 * elementFactor
                 * statusFactor
@@ -73,10 +90,52 @@ public int getValue(Monster user, Monster target, Element actionElement) {
     }
 
     /**
-     * Next call of this class will print element efficiency.
+     * Computes the exact distribution of the damage: the critical hit doubles the damage with its probability
+     * and the random factor is uniform, so every damage value has the probability of the factors rounded up to it.
+     *
+     * @param user          the monster using the power
+     * @param target        the target monster affected by the power
+     * @param actionElement the element associated with the action
+     * @return the probabilities indexed by damage
+     */
+    @Override
+    public double[] getValueProbabilities(Monster user, Monster target, Element actionElement) {
+        double elementFactor = actionElement.getEfficiency(target.getSample().getElement(), false).getDamageScale();
+        double statusFactor = STATUS_FACTOR.get(user, target);
+        double sameElementFactor = user.getSample().getElement() == actionElement ? SAME_ELEMENT_MULTIPLIER : DEFAULT_HIT_MULTIPLIER;
+        double criticalHitChance = Math.min(1, CRITICAL_HIT_PROBABILITY.get(user, target) / PERCENT);
+        double baseValue = getValue() * elementFactor * statusFactor * sameElementFactor * NORMAL_FACTOR_MULTIPLIER;
+        double[] normalProbabilities = getFactorProbabilities(baseValue);
+        double[] probabilities = getFactorProbabilities(baseValue * CRITICAL_HIT_MULTIPLIER);
+        for (int i = 0; i < probabilities.length; i++) {
+            double normalProbability = i < normalProbabilities.length ? normalProbabilities[i] : 0;
+            probabilities[i] = probabilities[i] * criticalHitChance + normalProbability * (1 - criticalHitChance);
+        }
+        return probabilities;
+    }
+
+    private static double[] getFactorProbabilities(double value) {
+        int maxDamage = (int) Math.ceil(value * RANDOM_FACTOR_MAX);
+        double[] probabilities = new double[Math.max(maxDamage, 0) + 1];
+        if (value <= 0) {
+            probabilities[0] = 1;
+            return probabilities;
+        }
+        for (int damage = (int) Math.ceil(value * RANDOM_FACTOR_MIN); damage <= maxDamage; damage++) {
+            double low = Math.max(RANDOM_FACTOR_MIN, (damage - 1) / value);
+            double high = Math.min(RANDOM_FACTOR_MAX, damage / value);
+            if (high > low) {
+                probabilities[damage] = (high - low) / (RANDOM_FACTOR_MAX - RANDOM_FACTOR_MIN);
+            }
+        }
+        return probabilities;
+    }
+
+    /**
+     * Next call of this class within the current thread will print element efficiency.
      */
     public static void printNextElementEfficiency() {
-        printElementEfficiency = true;
+        PRINT_ELEMENT_EFFICIENCY.set(Boolean.TRUE);
     }
 
     /**
@@ -44,6 +44,22 @@ protected Power(int value, String type) {
      */
     public abstract int getValue(Monster user, Monster target, Element actionElement);
 
+    /**
+     * Computes the probability of every value {@link #getValue(Monster, Monster, Element)} can return,
+     * without drawing random numbers or printing anything. By default, the power is deterministic,
+     * so the only value it returns has the probability {@code 1}.
+     *
+     * @param user          the monster using the power
+     * @param target        the target monster affected by the power
+     * @param actionElement the element associated with the action
+     * @return the probabilities indexed by value
+     */
+    public double[] getValueProbabilities(Monster user, Monster target, Element actionElement) {
+        double[] probabilities = new double[getValue(user, target, actionElement) + 1];
+        probabilities[probabilities.length - 1] = 1;
+        return probabilities;
+    }
+
     /**
      * Retrieves the base value of the power instance.
      *
@@ -0,0 +1,33 @@
+package edu.kit.kastel.server;
+
+import edu.kit.kastel.ApplicationException;
+
+/**
+ * Signals a request the {@link ApiServer} cannot fulfil, together with the HTTP status to answer with.
+ *
+ * @author uyqbd
+ */
+public class ApiException extends ApplicationException {
+    private final int status;
+
+    /**
+     * Constructs a new {@code ApiException}.
+     *
+     * @param status  the HTTP status code of the response
+     * @param message the error message
+     */
+    public ApiException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    /**
+     * Returns the HTTP status code of the response.
+     *
+     * @return the status code
+     */
+    public int getStatus() {
+        return status;
+    }
+
+}
@@ -0,0 +1,350 @@
+package edu.kit.kastel.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import edu.kit.kastel.Application;
+import edu.kit.kastel.ApplicationException;
+import edu.kit.kastel.config.ConfigParser;
+import edu.kit.kastel.game.Competition;
+import edu.kit.kastel.game.CompetitionActor;
+import edu.kit.kastel.game.actions.Action;
+import edu.kit.kastel.game.monsters.MonsterSample;
+import edu.kit.kastel.utils.Json;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * A JSON API over HTTP for loading a catalog, creating competitions, submitting actions and reading their state.
+ * <p>
+ * Endpoints:
+ * </p>
+ * <ul>
+ *   <li>{@code POST /catalog} with {@code {"path": "..."}} loads a configuration file</li>
+ *   <li>{@code POST /competitions} with {@code {"monsters": ["A", "B"]}} creates a competition</li>
+ *   <li>{@code GET /competitions/<id>} returns the state of a competition</li>
+ *   <li>{@code POST /competitions/<id>/actions} with {@code {"action": "...", "target": "..."}} selects the
+ *       action of the current monster, a missing or null action passes</li>
+ *   <li>{@code DELETE /competitions/<id>} removes a competition</li>
+ * </ul>
+ * <p>
+ * Changing requests answer with the messages the console would have printed as {@code output} together with
+ * the new state. The state of every competition is serialized once per change and sent as is.
+ * Requests run on virtual threads if the runtime provides them, while the competitions are processed by
+ * their {@link CompetitionActor}s on a small pool of carrier threads.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public class ApiServer implements Closeable {
+    private static final String COMMAND_LINE_ARGUMENTS_MESSAGE
+            = "Error, wrong arguments count, 2 or 3 line arguments expected: <config> <port> [seed].";
+    private static final String WRONG_PORT_MESSAGE = "Error, port has to be a number between 0 and 65535.";
+    private static final String SERVER_FAILED_FORMAT = "Error, server failed: %s";
+    private static final String LISTENING_FORMAT = "Listening on port %d.";
+    private static final String NOT_FOUND_MESSAGE = "not found";
+    private static final String METHOD_NOT_ALLOWED_MESSAGE = "method not allowed";
+    private static final String COMPETITION_NOT_FOUND_FORMAT = "competition %s not found";
+    private static final String MONSTER_NOT_FOUND_FORMAT = "monster %s not found";
+    private static final String FEW_MONSTERS_MESSAGE = "not enough monsters to start competition";
+    private static final String COMPETITION_FINISHED_MESSAGE = "competition is already finished";
+    private static final String PATH_MISSING_MESSAGE = "path missing";
+    private static final String WRONG_SEED_MESSAGE = "Error, wrong third argument, number expected.";
+    private static final String PORT_REGEX = "\\d{1,5}";
+    private static final String SEED_REGEX = "-?\\d+";
+    private static final String ID_REGEX = "\\d{1,18}";
+    private static final String THREAD_NAME = "api";
+    private static final String CARRIER_THREAD_NAME = "competition-carrier";
+    private static final String CONTENT_TYPE_HEADER = "Content-Type";
+    private static final String CONTENT_TYPE = "application/json";
+    private static final String CATALOG_PATH = "/catalog";
+    private static final String COMPETITIONS_PATH = "/competitions";
+    private static final String ACTIONS_SEGMENT = "actions";
+    private static final String PATH_SEPARATOR = "/";
+    private static final String GET = "GET";
+    private static final String POST = "POST";
+    private static final String DELETE = "DELETE";
+    private static final Charset OUTPUT_CHARSET = Charset.defaultCharset();
+
+    private static final int ARGS_COUNT = 2;
+    private static final int ARGS_COUNT_WITH_SEED = 3;
+    private static final int CONFIG_PATH_INDEX = 0;
+    private static final int PORT_INDEX = 1;
+    private static final int SEED_INDEX = 2;
+    private static final int MAX_PORT = 65535;
+    private static final int MIN_MONSTERS = 2;
+    private static final int ID_SEGMENT = 2;
+    private static final int ACTION_SEGMENT = 3;
+    private static final int STATE_SEGMENTS = 3;
+    private static final int ACTION_SEGMENTS = 4;
+    private static final int BACKLOG = 1024;
+    private static final int OK = 200;
+    private static final int CREATED = 201;
+    private static final int BAD_REQUEST = 400;
+    private static final int NOT_FOUND = 404;
+    private static final int METHOD_NOT_ALLOWED = 405;
+    private static final int CONFLICT = 409;
+
+    private final HttpServer server;
+    private final ExecutorService executor = SessionThreads.newExecutor(THREAD_NAME);
+    private final ExecutorService carriers = Executors.newFixedThreadPool(
+            Runtime.getRuntime().availableProcessors(),
+            SessionThreads.daemonThreads(CARRIER_THREAD_NAME)
+    );
+    private final Map<Long, CompetitionEntry> competitions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final ReadWriteLock catalogLock = new ReentrantReadWriteLock();
+
+    /**
+     * Constructs and starts a new {@code ApiServer} listening on the given port of the loopback interface.
+     *
+     * @param port the port to listen on, or {@code 0} for any free port
+     * @throws IOException if the port cannot be bound
+     */
+    public ApiServer(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+        server.createContext(CATALOG_PATH, exchange -> handle(exchange, this::handleCatalog));
+        server.createContext(COMPETITIONS_PATH, exchange -> handle(exchange, this::handleCompetitions));
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * The entry point of the API server. Expects the configuration path, the port and optionally a seed.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length != ARGS_COUNT && args.length != ARGS_COUNT_WITH_SEED) {
+            Application.DEFAULT_ERROR_STREAM.println(COMMAND_LINE_ARGUMENTS_MESSAGE);
+            return;
+        }
+        if (!Pattern.matches(PORT_REGEX, args[PORT_INDEX]) || Integer.parseInt(args[PORT_INDEX]) > MAX_PORT) {
+            Application.DEFAULT_ERROR_STREAM.println(WRONG_PORT_MESSAGE);
+            return;
+        }
+        if (args.length == ARGS_COUNT_WITH_SEED && !Pattern.matches(SEED_REGEX, args[SEED_INDEX])) {
+            Application.DEFAULT_ERROR_STREAM.println(WRONG_SEED_MESSAGE);
+            return;
+        }
+        try {
+            ConfigParser.parse(args[CONFIG_PATH_INDEX]);
+            if (args.length == ARGS_COUNT_WITH_SEED) {
+                Application.parseRandom(args[SEED_INDEX]);
+            }
+            ApiServer server = new ApiServer(Integer.parseInt(args[PORT_INDEX]));
+            Application.DEFAULT_OUTPUT_STREAM.println(LISTENING_FORMAT.formatted(server.getPort()));
+        } catch (ApplicationException e) {
+            Application.DEFAULT_ERROR_STREAM.println(e.getMessage());
+        } catch (IOException e) {
+            Application.DEFAULT_ERROR_STREAM.println(SERVER_FAILED_FORMAT.formatted(e.getMessage()));
+        } finally {
+            Application.DEFAULT_OUTPUT_STREAM.flush();
+        }
+    }
+
+    /**
+     * Returns the port this server listens on.
+     *
+     * @return the local port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server immediately.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+        carriers.shutdown();
+    }
+
+    private void handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        try (exchange) {
+            try {
+                endpoint.handle(exchange);
+            } catch (ApiException e) {
+                send(exchange, e.getStatus(), error(e.getMessage()));
+            } catch (ApplicationException e) {
+                send(exchange, BAD_REQUEST, error(e.getMessage()));
+            }
+        }
+    }
+
+    private void handleCatalog(HttpExchange exchange) throws ApplicationException, IOException {
+        requireMethod(exchange, POST);
+        String path = JsonRequest.parse(readBody(exchange)).getString("path");
+        if (path == null) {
+            throw new ApiException(BAD_REQUEST, PATH_MISSING_MESSAGE);
+        }
+        catalogLock.writeLock().lock();
+        String output;
+        try {
+            output = captureOutput(() -> ConfigParser.parse(path));
+        } finally {
+            catalogLock.writeLock().unlock();
+        }
+        StringBuilder json = new StringBuilder("{");
+        Json.appendName(json, "output");
+        Json.appendString(json, output).append('}');
+        send(exchange, OK, json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void handleCompetitions(HttpExchange exchange) throws ApplicationException, IOException {
+        String[] segments = exchange.getRequestURI().getPath().split(PATH_SEPARATOR);
+        if (segments.length == ID_SEGMENT) {
+            requireMethod(exchange, POST);
+            createCompetition(exchange);
+            return;
+        }
+        CompetitionEntry entry = findCompetition(segments[ID_SEGMENT]);
+        if (segments.length == STATE_SEGMENTS) {
+            switch (exchange.getRequestMethod()) {
+                case GET -> send(exchange, OK, entry.getStateResponse());
+                case DELETE -> {
+                    competitions.remove(entry.getId());
+                    send(exchange, OK, entry.getStateResponse());
+                }
+                default -> throw new ApiException(METHOD_NOT_ALLOWED, METHOD_NOT_ALLOWED_MESSAGE);
+            }
+        } else if (segments.length == ACTION_SEGMENTS && segments[ACTION_SEGMENT].equals(ACTIONS_SEGMENT)) {
+            requireMethod(exchange, POST);
+            selectAction(exchange, entry);
+        } else {
+            throw new ApiException(NOT_FOUND, NOT_FOUND_MESSAGE);
+        }
+    }
+
+    private void createCompetition(HttpExchange exchange) throws ApplicationException, IOException {
+        List<String> monsterNames = JsonRequest.parse(readBody(exchange)).getStrings("monsters");
+        if (monsterNames.size() < MIN_MONSTERS) {
+            throw new ApiException(BAD_REQUEST, FEW_MONSTERS_MESSAGE);
+        }
+        List<Competition> created = new ArrayList<>(1);
+        catalogLock.readLock().lock();
+        String output;
+        try {
+            List<MonsterSample> samples = new ArrayList<>();
+            for (String monsterName : monsterNames) {
+                MonsterSample sample = MonsterSample.find(monsterName);
+                if (sample == null) {
+                    throw new ApiException(BAD_REQUEST, MONSTER_NOT_FOUND_FORMAT.formatted(monsterName));
+                }
+                samples.add(sample);
+            }
+            output = captureOutput(() -> created.add(new Competition(samples)));
+        } finally {
+            catalogLock.readLock().unlock();
+        }
+        CompetitionEntry entry = new CompetitionEntry(nextId.getAndIncrement(), created.get(0), carriers);
+        competitions.put(entry.getId(), entry);
+        send(exchange, CREATED, changeResponse(entry, output));
+    }
+
+    private void selectAction(HttpExchange exchange, CompetitionEntry entry) throws ApplicationException, IOException {
+        JsonRequest request = JsonRequest.parse(readBody(exchange));
+        String actionName = request.getString("action");
+        String target = request.getString("target");
+        Action action;
+        catalogLock.readLock().lock();
+        try {
+            action = actionName == null ? Action.EMPTY_ACTION : Action.find(actionName);
+        } finally {
+            catalogLock.readLock().unlock();
+        }
+        String output = entry.getActor().call(competition -> {
+            if (entry.isFinished()) {
+                throw new ApiException(CONFLICT, COMPETITION_FINISHED_MESSAGE);
+            }
+            String captured = captureOutput(() -> competition.selectAction(action, target));
+            entry.refreshState();
+            return captured;
+        });
+        send(exchange, OK, changeResponse(entry, output));
+    }
+
+    private CompetitionEntry findCompetition(String rawId) throws ApiException {
+        CompetitionEntry entry = null;
+        if (Pattern.matches(ID_REGEX, rawId)) {
+            entry = competitions.get(Long.parseLong(rawId));
+        }
+        if (entry == null) {
+            throw new ApiException(NOT_FOUND, COMPETITION_NOT_FOUND_FORMAT.formatted(rawId));
+        }
+        return entry;
+    }
+
+    private static String captureOutput(GameCall call) throws ApplicationException {
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        Application.DEFAULT_OUTPUT_STREAM.bind(captured);
+        try {
+            call.run();
+        } finally {
+            Application.DEFAULT_OUTPUT_STREAM.unbind();
+        }
+        return captured.toString(OUTPUT_CHARSET);
+    }
+
+    private static byte[] changeResponse(CompetitionEntry entry, String output) {
+        StringBuilder json = new StringBuilder("{");
+        Json.appendName(json, "output");
+        Json.appendString(json, output).append(',');
+        Json.appendName(json, "state").append(entry.getState()).append('}');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] error(String message) {
+        StringBuilder json = new StringBuilder("{");
+        Json.appendName(json, "error");
+        Json.appendString(json, message).append('}');
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void requireMethod(HttpExchange exchange, String method) throws ApiException {
+        if (!exchange.getRequestMethod().equals(method)) {
+            throw new ApiException(METHOD_NOT_ALLOWED, METHOD_NOT_ALLOWED_MESSAGE);
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        return new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set(CONTENT_TYPE_HEADER, CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        void handle(HttpExchange exchange) throws ApplicationException, IOException;
+    }
+
+    @FunctionalInterface
+    private interface GameCall {
+        void run() throws ApplicationException;
+    }
+
+}
@@ -0,0 +1,158 @@
+package edu.kit.kastel.server;
+
+import edu.kit.kastel.game.Competition;
+import edu.kit.kastel.game.CompetitionActor;
+import edu.kit.kastel.game.actions.effects.ProtectionType;
+import edu.kit.kastel.game.monsters.Monster;
+import edu.kit.kastel.game.types.StatType;
+import edu.kit.kastel.utils.Json;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * A competition hosted by the {@link ApiServer} together with its pre-serialized state.
+ * <p>
+ * The competition is only accessed through its {@link CompetitionActor}. The state is serialized
+ * once after every change, so reading it never touches the competition.
+ * </p>
+ *
+ * @author uyqbd
+ */
+final class CompetitionEntry {
+    private final long id;
+    private final Competition competition;
+    private final CompetitionActor actor;
+
+    private volatile String state;
+    private volatile byte[] stateResponse;
+
+    /**
+     * Constructs a new entry and serializes the initial state of its competition.
+     *
+     * @param id          the id of the competition
+     * @param competition the competition, not yet accessed by other threads
+     * @param carriers    the executor the actor of the competition runs on
+     */
+    CompetitionEntry(long id, Competition competition, Executor carriers) {
+        this.id = id;
+        this.competition = competition;
+        this.actor = new CompetitionActor(competition, carriers);
+        refreshState();
+    }
+
+    /**
+     * Returns the id of the competition.
+     *
+     * @return the id
+     */
+    long getId() {
+        return id;
+    }
+
+    /**
+     * Returns the actor all work on the competition has to be submitted to.
+     *
+     * @return the actor of the competition
+     */
+    CompetitionActor getActor() {
+        return actor;
+    }
+
+    /**
+     * Returns whether the competition is decided. May only be called by a task of the actor.
+     *
+     * @return {@code true} if at most one monster is alive
+     */
+    boolean isFinished() {
+        return competition.getAliveMonsters().size() <= 1;
+    }
+
+    /**
+     * Returns the serialized state as JSON object.
+     *
+     * @return the state
+     */
+    String getState() {
+        return state;
+    }
+
+    /**
+     * Returns the serialized state as encoded response body.
+     *
+     * @return the response body
+     */
+    byte[] getStateResponse() {
+        return stateResponse;
+    }
+
+    /**
+     * Serializes the current state of the competition. Has to be called by the task changing the competition.
+     */
+    void refreshState() {
+        StringBuilder json = new StringBuilder();
+        List<Monster> aliveMonsters = competition.getAliveMonsters();
+        boolean finished = aliveMonsters.size() <= 1;
+        Monster current = competition.getCurrentMonster();
+        json.append('{');
+        Json.appendName(json, "id").append(id).append(',');
+        Json.appendName(json, "finished").append(finished).append(',');
+        Json.appendName(json, "winner");
+        Json.appendString(json, aliveMonsters.size() == 1 ? aliveMonsters.get(0).getName() : null).append(',');
+        Json.appendName(json, "current");
+        Json.appendString(json, finished ? null : current.getName()).append(',');
+        Json.appendName(json, "actions").append('[');
+        if (!finished) {
+            appendStrings(json, current.getSample().getActions());
+        }
+        json.append("],");
+        Json.appendName(json, "monsters").append('[');
+        boolean first = true;
+        for (Monster monster : competition.getMonsters()) {
+            if (!first) {
+                json.append(',');
+            }
+            first = false;
+            appendMonster(json, monster, monster == current && !finished);
+        }
+        json.append("]}");
+        state = json.toString();
+        stateResponse = state.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void appendMonster(StringBuilder json, Monster monster, boolean current) {
+        ProtectionType protection = monster.getProtectionType();
+        json.append('{');
+        Json.appendName(json, "name");
+        Json.appendString(json, monster.getName()).append(',');
+        Json.appendName(json, "current").append(current).append(',');
+        Json.appendName(json, "health").append(monster.getHealth()).append(',');
+        Json.appendName(json, "maxHealth").append(monster.getSample().getMaxHealth()).append(',');
+        Json.appendName(json, "status");
+        Json.appendString(json, monster.getStatus()).append(',');
+        Json.appendName(json, "protection");
+        Json.appendString(json, protection != null ? protection.name() : null).append(',');
+        Json.appendName(json, "stats").append('{');
+        StatType[] stats = StatType.values();
+        for (int i = 0; i < stats.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            Json.appendName(json, stats[i].name()).append('{');
+            Json.appendName(json, "base").append(monster.getSample().getStat(stats[i])).append(',');
+            Json.appendName(json, "scale").append(monster.getScale(stats[i])).append('}');
+        }
+        json.append("}}");
+    }
+
+    private static void appendStrings(StringBuilder json, List<String> values) {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            Json.appendString(json, values.get(i));
+        }
+    }
+
+}
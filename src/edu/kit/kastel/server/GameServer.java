@@ -0,0 +1,177 @@
+package edu.kit.kastel.server;
+
+import edu.kit.kastel.Application;
+import edu.kit.kastel.ApplicationException;
+import edu.kit.kastel.config.ConfigParser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * A local TCP server speaking the line protocol of the console application.
+ * <p>
+ * Every accepted connection becomes a {@link Session} with its own command loop, input and output,
+ * so many competitions run concurrently. Sessions run on virtual threads if the runtime provides them
+ * and on pooled platform threads otherwise. Sessions without input for longer than the idle timeout
+ * are evicted. All sessions share the configuration loaded at startup.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public class GameServer implements Closeable {
+    private static final String COMMAND_LINE_ARGUMENTS_MESSAGE
+            = "Error, wrong arguments count, 2 or 3 line arguments expected: <config> <port> [seed|debug].";
+    private static final String WRONG_PORT_MESSAGE = "Error, port has to be a number between 0 and 65535.";
+    private static final String SERVER_FAILED_FORMAT = "Error, server failed: %s";
+    private static final String LISTENING_FORMAT = "Listening on port %d.";
+    private static final String PORT_REGEX = "\\d{1,5}";
+    private static final String SESSION_THREAD_NAME = "session";
+    private static final String REAPER_THREAD_NAME = "session-reaper";
+
+    private static final int ARGS_COUNT = 2;
+    private static final int ARGS_COUNT_WITH_RANDOM = 3;
+    private static final int CONFIG_PATH_INDEX = 0;
+    private static final int PORT_INDEX = 1;
+    private static final int RANDOM_INDEX = 2;
+    private static final int MAX_PORT = 65535;
+    private static final long DEFAULT_IDLE_TIMEOUT_MILLIS = TimeUnit.MINUTES.toMillis(5);
+    private static final long REAPER_INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(1);
+
+    private final ServerSocketChannel serverChannel;
+    private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sessionExecutor = SessionThreads.newExecutor(SESSION_THREAD_NAME);
+    private final ScheduledExecutorService reaper = Executors.newSingleThreadScheduledExecutor(
+            SessionThreads.daemonThreads(REAPER_THREAD_NAME)
+    );
+    private final long idleTimeoutNanos;
+
+    /**
+     * Constructs a new {@code GameServer} listening on the given port of the loopback interface.
+     *
+     * @param port              the port to listen on, or {@code 0} for any free port
+     * @param idleTimeoutMillis the time in milliseconds after which a session without input is evicted
+     * @throws IOException if the port cannot be bound
+     */
+    public GameServer(int port, long idleTimeoutMillis) throws IOException {
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        reaper.scheduleWithFixedDelay(this::evictIdleSessions,
+                REAPER_INTERVAL_MILLIS, REAPER_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The entry point of the server. Expects the configuration path, the port and optionally a seed or 'debug'.
+     *
+     * @param args the command line arguments
+     */
+    public static void main(String[] args) {
+        if (args.length != ARGS_COUNT && args.length != ARGS_COUNT_WITH_RANDOM) {
+            Application.DEFAULT_ERROR_STREAM.println(COMMAND_LINE_ARGUMENTS_MESSAGE);
+            return;
+        }
+        if (!Pattern.matches(PORT_REGEX, args[PORT_INDEX]) || Integer.parseInt(args[PORT_INDEX]) > MAX_PORT) {
+            Application.DEFAULT_ERROR_STREAM.println(WRONG_PORT_MESSAGE);
+            return;
+        }
+        try {
+            ConfigParser.parse(args[CONFIG_PATH_INDEX]);
+            if (args.length == ARGS_COUNT_WITH_RANDOM) {
+                Application.parseRandom(args[RANDOM_INDEX]);
+            }
+            try (GameServer server = new GameServer(Integer.parseInt(args[PORT_INDEX]), DEFAULT_IDLE_TIMEOUT_MILLIS)) {
+                Application.DEFAULT_OUTPUT_STREAM.println(LISTENING_FORMAT.formatted(server.getPort()));
+                Application.DEFAULT_OUTPUT_STREAM.flush();
+                server.serve();
+            }
+        } catch (ApplicationException e) {
+            Application.DEFAULT_ERROR_STREAM.println(e.getMessage());
+        } catch (IOException e) {
+            Application.DEFAULT_ERROR_STREAM.println(SERVER_FAILED_FORMAT.formatted(e.getMessage()));
+        }
+    }
+
+    /**
+     * Accepts connections and starts a session for each of them until the server is closed.
+     *
+     * @throws IOException if accepting a connection fails for another reason than the server being closed
+     */
+    public void serve() throws IOException {
+        while (serverChannel.isOpen()) {
+            SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+            } catch (ClosedChannelException e) {
+                return;
+            }
+            Session session = new Session(channel, this);
+            sessions.add(session);
+            sessionExecutor.execute(session);
+        }
+    }
+
+    /**
+     * Returns the port this server listens on.
+     *
+     * @return the local port
+     * @throws IOException if the port cannot be determined
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Returns the number of currently open sessions.
+     *
+     * @return the number of sessions
+     */
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Stops accepting connections and closes all sessions.
+     *
+     * @throws IOException if the listening channel cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        serverChannel.close();
+        reaper.shutdownNow();
+        for (Session session : sessions) {
+            session.close();
+        }
+        sessionExecutor.shutdown();
+    }
+
+    /**
+     * Removes a finished session.
+     *
+     * @param session the finished session
+     */
+    void remove(Session session) {
+        sessions.remove(session);
+    }
+
+    private void evictIdleSessions() {
+        long now = System.nanoTime();
+        for (Session session : sessions) {
+            if (now - session.getLastActivity() > idleTimeoutNanos) {
+                session.close();
+            }
+        }
+    }
+
+}
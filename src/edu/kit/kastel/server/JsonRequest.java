@@ -0,0 +1,157 @@
+package edu.kit.kastel.server;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A request body of the {@link ApiServer}: a flat JSON object whose values are strings,
+ * arrays of strings or {@code null}.
+ *
+ * @author uyqbd
+ */
+final class JsonRequest {
+    private static final int BAD_REQUEST = 400;
+    private static final String MALFORMED_FORMAT = "malformed JSON at position %d";
+    private static final String WRONG_TYPE_FORMAT = "field %s has the wrong type";
+    private static final String NULL_LITERAL = "null";
+
+    private final Map<String, Object> fields = new HashMap<>();
+    private final String text;
+    private int position;
+
+    private JsonRequest(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Parses a request body. An empty body is an empty object.
+     *
+     * @param text the request body
+     * @return the parsed request
+     * @throws ApiException if the body is no flat JSON object
+     */
+    static JsonRequest parse(String text) throws ApiException {
+        JsonRequest request = new JsonRequest(text);
+        if (!text.isBlank()) {
+            request.parseObject();
+        }
+        return request;
+    }
+
+    /**
+     * Returns a string field.
+     *
+     * @param name the name of the field
+     * @return the value, or {@code null} if the field is missing or null
+     * @throws ApiException if the field is no string
+     */
+    String getString(String name) throws ApiException {
+        Object value = fields.get(name);
+        if (value != null && !(value instanceof String)) {
+            throw new ApiException(BAD_REQUEST, WRONG_TYPE_FORMAT.formatted(name));
+        }
+        return (String) value;
+    }
+
+    /**
+     * Returns a string array field.
+     *
+     * @param name the name of the field
+     * @return the values, or an empty list if the field is missing or null
+     * @throws ApiException if the field is no array of strings
+     */
+    List<String> getStrings(String name) throws ApiException {
+        Object value = fields.get(name);
+        if (value == null) {
+            return List.of();
+        }
+        if (!(value instanceof List<?> list)) {
+            throw new ApiException(BAD_REQUEST, WRONG_TYPE_FORMAT.formatted(name));
+        }
+        List<String> strings = new ArrayList<>();
+        for (Object element : list) {
+            strings.add((String) element);
+        }
+        return strings;
+    }
+
+    private void parseObject() throws ApiException {
+        expect('{');
+        if (!tryConsume('}')) {
+            do {
+                String name = parseString();
+                expect(':');
+                fields.put(name, parseValue());
+            } while (tryConsume(','));
+            expect('}');
+        }
+        skipWhitespace();
+        if (position != text.length()) {
+            throw malformed();
+        }
+    }
+
+    private Object parseValue() throws ApiException {
+        skipWhitespace();
+        if (text.startsWith(NULL_LITERAL, position)) {
+            position += NULL_LITERAL.length();
+            return null;
+        }
+        if (!tryConsume('[')) {
+            return parseString();
+        }
+        List<String> values = new ArrayList<>();
+        if (!tryConsume(']')) {
+            do {
+                values.add(parseString());
+            } while (tryConsume(','));
+            expect(']');
+        }
+        return values;
+    }
+
+    private String parseString() throws ApiException {
+        expect('"');
+        StringBuilder value = new StringBuilder();
+        while (position < text.length() && text.charAt(position) != '"') {
+            char symbol = text.charAt(position++);
+            if (symbol == '\\') {
+                if (position >= text.length()) {
+                    throw malformed();
+                }
+                symbol = text.charAt(position++);
+            }
+            value.append(symbol);
+        }
+        expect('"');
+        return value.toString();
+    }
+
+    private boolean tryConsume(char symbol) {
+        skipWhitespace();
+        if (position < text.length() && text.charAt(position) == symbol) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char symbol) throws ApiException {
+        if (!tryConsume(symbol)) {
+            throw malformed();
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private ApiException malformed() {
+        return new ApiException(BAD_REQUEST, MALFORMED_FORMAT.formatted(position));
+    }
+
+}
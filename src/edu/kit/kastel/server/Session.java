@@ -0,0 +1,94 @@
+package edu.kit.kastel.server;
+
+import edu.kit.kastel.Application;
+import edu.kit.kastel.ui.handlers.CommandLoop;
+import edu.kit.kastel.utils.LineSource;
+import edu.kit.kastel.utils.Reader;
+import edu.kit.kastel.utils.ScriptReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.util.NoSuchElementException;
+
+/**
+ * A single connection to the {@link GameServer}.
+ * <p>
+ * The session runs its own {@link CommandLoop} on its own thread. Input lines are read from the
+ * connection, and the output and error streams of the application as well as the {@link Reader}
+ * are bound to the connection for the session thread only.
+ * </p>
+ *
+ * @author uyqbd
+ */
+final class Session implements Runnable {
+    private static final Charset CHARSET = Charset.defaultCharset();
+
+    private final SocketChannel channel;
+    private final GameServer server;
+
+    private volatile long lastActivity = System.nanoTime();
+
+    /**
+     * Constructs a new session for the given connection.
+     *
+     * @param channel the connection of the session
+     * @param server  the server hosting the session
+     */
+    Session(SocketChannel channel, GameServer server) {
+        this.channel = channel;
+        this.server = server;
+    }
+
+    @Override
+    public void run() {
+        try (channel) {
+            ScriptReader lines = new ScriptReader(
+                    new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), CHARSET))
+            );
+            LineSource input = () -> {
+                String line = lines.nextLine();
+                lastActivity = System.nanoTime();
+                return line;
+            };
+            OutputStream output = Channels.newOutputStream(channel);
+            Application.DEFAULT_OUTPUT_STREAM.bind(output);
+            Application.DEFAULT_ERROR_STREAM.bind(output);
+            Reader.setSource(input);
+            new CommandLoop(input, false).startHandling();
+        } catch (IOException | UncheckedIOException | NoSuchElementException e) {
+            // the connection was closed by the client or evicted by the server
+        } finally {
+            Reader.setSource(null);
+            Application.DEFAULT_ERROR_STREAM.unbind();
+            Application.DEFAULT_OUTPUT_STREAM.unbind();
+            server.remove(this);
+        }
+    }
+
+    /**
+     * Returns the time of the last input line in nanoseconds, as given by {@link System#nanoTime()}.
+     *
+     * @return the time of the last activity
+     */
+    long getLastActivity() {
+        return lastActivity;
+    }
+
+    /**
+     * Closes the connection of this session, which ends the session once its thread notices.
+     */
+    void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // the connection is unusable either way
+        }
+    }
+
+}
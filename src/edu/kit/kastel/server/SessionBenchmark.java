@@ -0,0 +1,148 @@
+package edu.kit.kastel.server;
+
+import edu.kit.kastel.Application;
+import edu.kit.kastel.ApplicationException;
+import edu.kit.kastel.config.ConfigParser;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A loopback client measuring how many sessions of a {@link GameServer} fit into one gigabyte of heap.
+ * <p>
+ * The benchmark starts a server in the same process, opens the given number of connections, starts a
+ * competition of the given monsters in each of them and waits for every session to ask for its first action.
+ * The heap growth divided by the number of sessions gives the memory of one idle session in a competition.
+ * Thread stacks are not part of the heap and therefore not included.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public final class SessionBenchmark {
+    private static final String COMMAND_LINE_ARGUMENTS_MESSAGE
+            = "Error, arguments expected: <config> <sessions> <monster> <monster>...";
+    private static final String WRONG_SESSION_COUNT_MESSAGE = "Error, session count has to be a positive number.";
+    private static final String BENCHMARK_FAILED_FORMAT = "Error, benchmark failed: %s";
+    private static final String CONNECTION_CLOSED_MESSAGE = "connection closed by server";
+    private static final String RESULT_FORMAT = "%d sessions, %d bytes per session, %d sessions per GB.";
+    private static final String COMPETITION_COMMAND = "competition";
+    private static final String QUIT_COMMAND = "quit";
+    private static final String PROMPT_END = "do?" + System.lineSeparator();
+    private static final String SESSION_COUNT_REGEX = "[1-9]\\d{0,6}";
+    private static final Charset CHARSET = Charset.defaultCharset();
+
+    private static final int MIN_ARGS_COUNT = 4;
+    private static final int CONFIG_PATH_INDEX = 0;
+    private static final int SESSION_COUNT_INDEX = 1;
+    private static final int FIRST_MONSTER_INDEX = 2;
+    private static final int READ_BUFFER_SIZE = 4096;
+    private static final int GC_ROUNDS = 3;
+    private static final long GC_PAUSE_MILLIS = 100;
+    private static final long BYTES_PER_GB = 1L << 30;
+    private static final long IDLE_TIMEOUT_MILLIS = 600_000;
+
+
+    private SessionBenchmark() {
+
+    }
+
+    /**
+     * The entry point of the benchmark.
+     *
+     * @param args the configuration path, the number of sessions and the monsters of each competition
+     */
+    public static void main(String[] args) {
+        if (args.length < MIN_ARGS_COUNT) {
+            Application.DEFAULT_ERROR_STREAM.println(COMMAND_LINE_ARGUMENTS_MESSAGE);
+            return;
+        }
+        if (!args[SESSION_COUNT_INDEX].matches(SESSION_COUNT_REGEX)) {
+            Application.DEFAULT_ERROR_STREAM.println(WRONG_SESSION_COUNT_MESSAGE);
+            return;
+        }
+        int sessionCount = Integer.parseInt(args[SESSION_COUNT_INDEX]);
+        StringBuilder command = new StringBuilder(COMPETITION_COMMAND);
+        for (int i = FIRST_MONSTER_INDEX; i < args.length; i++) {
+            command.append(' ').append(args[i]);
+        }
+        command.append(System.lineSeparator());
+
+        try {
+            ConfigParser.parse(args[CONFIG_PATH_INDEX]);
+            run(sessionCount, command.toString());
+        } catch (ApplicationException e) {
+            Application.DEFAULT_ERROR_STREAM.println(e.getMessage());
+        } catch (IOException | InterruptedException e) {
+            Application.DEFAULT_ERROR_STREAM.println(BENCHMARK_FAILED_FORMAT.formatted(e.getMessage()));
+        } finally {
+            Application.DEFAULT_OUTPUT_STREAM.flush();
+        }
+    }
+
+    private static void run(int sessionCount, String command) throws IOException, InterruptedException {
+        List<SocketChannel> clients = new ArrayList<>(sessionCount);
+        try (GameServer server = new GameServer(0, IDLE_TIMEOUT_MILLIS)) {
+            Thread acceptor = new Thread(() -> {
+                try {
+                    server.serve();
+                } catch (IOException e) {
+                    Application.DEFAULT_ERROR_STREAM.println(BENCHMARK_FAILED_FORMAT.formatted(e.getMessage()));
+                }
+            });
+            acceptor.setDaemon(true);
+            acceptor.start();
+            InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getPort());
+
+            long heapBefore = usedHeap();
+            for (int i = 0; i < sessionCount; i++) {
+                SocketChannel client = SocketChannel.open(address);
+                clients.add(client);
+                client.write(CHARSET.encode(command));
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+            for (SocketChannel client : clients) {
+                awaitPrompt(client, buffer);
+            }
+            long bytesPerSession = Math.max(1, (usedHeap() - heapBefore) / sessionCount);
+            Application.DEFAULT_OUTPUT_STREAM.println(RESULT_FORMAT.formatted(
+                    server.getSessionCount(), bytesPerSession, BYTES_PER_GB / bytesPerSession
+            ));
+
+            for (SocketChannel client : clients) {
+                client.write(CHARSET.encode(QUIT_COMMAND + System.lineSeparator()));
+            }
+        } finally {
+            for (SocketChannel client : clients) {
+                client.close();
+            }
+        }
+    }
+
+    private static void awaitPrompt(SocketChannel client, ByteBuffer buffer) throws IOException {
+        StringBuilder received = new StringBuilder();
+        while (received.indexOf(PROMPT_END) < 0) {
+            buffer.clear();
+            if (client.read(buffer) < 0) {
+                throw new IOException(CONNECTION_CLOSED_MESSAGE);
+            }
+            buffer.flip();
+            received.append(CHARSET.decode(buffer));
+        }
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+            Thread.sleep(GC_PAUSE_MILLIS);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+}
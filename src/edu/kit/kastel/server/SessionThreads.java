@@ -0,0 +1,50 @@
+package edu.kit.kastel.server;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Creates the threads the servers run their sessions and requests on.
+ *
+ * @author uyqbd
+ */
+final class SessionThreads {
+    private static final String VIRTUAL_EXECUTOR_FACTORY = "newVirtualThreadPerTaskExecutor";
+
+    private SessionThreads() {
+
+    }
+
+    /**
+     * Creates an executor starting a virtual thread per task if the runtime provides virtual threads,
+     * and a cached pool of daemon platform threads otherwise.
+     *
+     * @param name the name of the platform threads
+     * @return the new executor
+     */
+    static ExecutorService newExecutor(String name) {
+        try {
+            Method factory = Executors.class.getMethod(VIRTUAL_EXECUTOR_FACTORY);
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(daemonThreads(name));
+        }
+    }
+
+    /**
+     * Returns a factory of daemon threads with the given name.
+     *
+     * @param name the name of the threads
+     * @return the thread factory
+     */
+    static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+}
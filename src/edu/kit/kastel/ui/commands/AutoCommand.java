@@ -0,0 +1,57 @@
+package edu.kit.kastel.ui.commands;
+
+import edu.kit.kastel.Application;
+import edu.kit.kastel.game.Competition;
+import edu.kit.kastel.game.GameRuntimeException;
+import edu.kit.kastel.game.MonteCarloTreeSearch;
+import edu.kit.kastel.game.SearchDecision;
+import edu.kit.kastel.ui.handlers.CompetitionCommandHandler;
+
+/**
+ * Command to let the computer select the action of the current monster.
+ * <p>
+ * {@code auto [milliseconds]} searches the action and target with Monte Carlo Tree Search within the
+ * given time budget, prints the choice and selects it like {@link ActionCommand} would.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public class AutoCommand extends CompetitionCommand {
+    private static final String NAME = "auto";
+    private static final String ARGS_REGEX_FORMAT = "\\d{1,9}";
+    private static final String PASS_ACTION_NAME = "pass";
+    private static final String CHOICE_FORMAT = "%s chooses %s.";
+    private static final String CHOICE_WITH_TARGET_FORMAT = "%s chooses %s against %s.";
+    private static final long DEFAULT_BUDGET_MILLIS = 1000;
+    private static final int BUDGET_INDEX = 0;
+
+
+    @Override
+    public void execute(CompetitionCommandHandler handler, String[] args) throws CommandException {
+        long budgetMillis = args.length > BUDGET_INDEX ? Long.parseLong(args[BUDGET_INDEX]) : DEFAULT_BUDGET_MILLIS;
+        Competition competition = handler.getCompetition();
+        SearchDecision decision = MonteCarloTreeSearch.search(competition, budgetMillis);
+        String userName = competition.getCurrentMonster().getName();
+        String actionName = decision.action().getName() != null ? decision.action().getName() : PASS_ACTION_NAME;
+        String targetName = decision.target() != null ? decision.target().getName() : null;
+        Application.DEFAULT_OUTPUT_STREAM.println(targetName != null
+                ? CHOICE_WITH_TARGET_FORMAT.formatted(userName, actionName, targetName)
+                : CHOICE_FORMAT.formatted(userName, actionName));
+        try {
+            competition.selectAction(decision.action(), targetName);
+        } catch (GameRuntimeException e) {
+            Application.DEFAULT_ERROR_STREAM.println(e.getMessage());
+        }
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getArgsRegex() {
+        return ARGS_REGEX_FORMAT + super.getArgsRegex();
+    }
+
+}
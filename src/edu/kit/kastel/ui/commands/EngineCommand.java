@@ -0,0 +1,54 @@
+package edu.kit.kastel.ui.commands;
+
+import edu.kit.kastel.game.actions.Action;
+import edu.kit.kastel.game.actions.ActionEngine;
+import edu.kit.kastel.ui.handlers.CommandHandler;
+
+import java.util.Locale;
+
+/**
+ * Command to choose how the effects of actions are executed.
+ * <p>
+ * {@code engine interpreted} interprets the compiled effects of every action, which is the default, and
+ * {@code engine generated} generates a specialized executor for every action at runtime. Both give the same results.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public class EngineCommand extends Command {
+    private static final String NAME = "engine";
+    private static final String ARGS_REGEX_FORMAT = "(%s|%s)".formatted(
+            ActionEngine.INTERPRETED.name().toLowerCase(Locale.ROOT),
+            ActionEngine.GENERATED.name().toLowerCase(Locale.ROOT)
+    );
+    private static final String WRONG_ARGS_COUNT = "wrong number of arguments";
+    private static final String ENGINE_NOT_CREATED_FORMAT = "the %s engine cannot be used";
+    private static final int ENGINE_INDEX = 0;
+    private static final int ARGS_COUNT = 1;
+
+
+    @Override
+    public void execute(CommandHandler handler, String[] args) throws CommandException {
+        if (args.length != ARGS_COUNT) {
+            throw new CommandException(WRONG_ARGS_COUNT);
+        }
+        ActionEngine engine = ActionEngine.valueOf(args[ENGINE_INDEX].toUpperCase(Locale.ROOT));
+        try {
+            Action.setEngine(engine);
+        } catch (IllegalStateException e) {
+            Action.setEngine(ActionEngine.INTERPRETED);
+            throw new CommandException(ENGINE_NOT_CREATED_FORMAT.formatted(args[ENGINE_INDEX]));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getArgsRegex() {
+        return ARGS_REGEX_FORMAT + super.getArgsRegex();
+    }
+
+}
@@ -0,0 +1,51 @@
+package edu.kit.kastel.ui.commands;
+
+import edu.kit.kastel.Application;
+import edu.kit.kastel.game.log.BattleLog;
+import edu.kit.kastel.ui.handlers.CommandHandler;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Command to write all following battle events to a JSON lines log file.
+ * <p>
+ * The log is written in the background by {@link BattleLog} and rotated once it grows too large.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public class LogCommand extends Command {
+    private static final String NAME = "log";
+    private static final String ARGS_REGEX_FORMAT = "\\S+";
+    private static final String WRONG_ARGS_COUNT = "wrong number of arguments";
+    private static final String LOG_NOT_OPENED_FORMAT = "log file %s cannot be opened";
+    private static final String LOG_OPENED_FORMAT = "Battle events are logged to %s.";
+    private static final int ARGS_COUNT = 1;
+    private static final int LOG_PATH_INDEX = 0;
+
+
+    @Override
+    public void execute(CommandHandler handler, String[] args) throws CommandException {
+        if (args.length != ARGS_COUNT) {
+            throw new CommandException(WRONG_ARGS_COUNT);
+        }
+        try {
+            BattleLog.open(Path.of(args[LOG_PATH_INDEX]));
+            Application.DEFAULT_OUTPUT_STREAM.println(LOG_OPENED_FORMAT.formatted(args[LOG_PATH_INDEX]));
+        } catch (IOException e) {
+            throw new CommandException(LOG_NOT_OPENED_FORMAT.formatted(args[LOG_PATH_INDEX]));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getArgsRegex() {
+        return ARGS_REGEX_FORMAT + super.getArgsRegex();
+    }
+
+}
@@ -0,0 +1,68 @@
+package edu.kit.kastel.ui.commands;
+
+import edu.kit.kastel.Application;
+import edu.kit.kastel.config.ConfigParser;
+import edu.kit.kastel.game.MatchupMatrix;
+import edu.kit.kastel.game.monsters.MonsterSample;
+import edu.kit.kastel.ui.handlers.CommandHandler;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command to compute the outcomes of duels between every two monsters of the configuration.
+ * <p>
+ * {@code matrix <path> [games]} plays the given number of duels with uniformly chosen actions for every
+ * pair of monsters, {@value #DEFAULT_GAMES} by default, and writes the wins to the given file
+ * (see {@link MatchupMatrix#write}). The duels are seeded by the configuration, so the same configuration
+ * always gives the same matrix.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public class MatrixCommand extends Command {
+    private static final String NAME = "matrix";
+    private static final String ARGS_REGEX_FORMAT = "\\S+(\\s[1-9]\\d{0,3})?";
+    private static final String WRONG_ARGS_COUNT = "wrong number of arguments";
+    private static final String FILE_NOT_WRITTEN_FORMAT = "matrix file %s cannot be written";
+    private static final String WRITTEN_FORMAT = "Matchup matrix of %d monsters with %d duels per pair written to %s.";
+    private static final int DEFAULT_GAMES = 100;
+    private static final int ARGS_COUNT = 1;
+    private static final int ARGS_COUNT_WITH_GAMES = 2;
+    private static final int PATH_INDEX = 0;
+    private static final int GAMES_INDEX = 1;
+
+
+    @Override
+    public void execute(CommandHandler handler, String[] args) throws CommandException {
+        if (args.length != ARGS_COUNT && args.length != ARGS_COUNT_WITH_GAMES) {
+            throw new CommandException(WRONG_ARGS_COUNT);
+        }
+        int games = args.length == ARGS_COUNT_WITH_GAMES ? Integer.parseInt(args[GAMES_INDEX]) : DEFAULT_GAMES;
+        long catalogHash = ConfigParser.getCatalogHash();
+        MatchupMatrix matrix = MatchupMatrix.compute(MonsterSample.getSamples(), games, catalogHash);
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(Path.of(args[PATH_INDEX]))))) {
+            matrix.write(out, catalogHash);
+        } catch (IOException e) {
+            throw new CommandException(FILE_NOT_WRITTEN_FORMAT.formatted(args[PATH_INDEX]));
+        }
+        Application.DEFAULT_OUTPUT_STREAM.println(
+                WRITTEN_FORMAT.formatted(matrix.getSamples().size(), games, args[PATH_INDEX])
+        );
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getArgsRegex() {
+        return ARGS_REGEX_FORMAT + super.getArgsRegex();
+    }
+
+}
@@ -0,0 +1,71 @@
+package edu.kit.kastel.ui.commands;
+
+import edu.kit.kastel.Application;
+import edu.kit.kastel.game.Competition;
+import edu.kit.kastel.game.WinEstimate;
+import edu.kit.kastel.game.WinEstimator;
+import edu.kit.kastel.game.monsters.Monster;
+import edu.kit.kastel.ui.handlers.CompetitionCommandHandler;
+
+import java.util.List;
+
+/**
+ * Command to estimate the win probability of every monster of the competition.
+ * <p>
+ * {@code odds [rollouts [milliseconds]]} simulates up to the given number of random continuations of the
+ * competition within the given time budget and prints the share of continuations each monster won together
+ * with its 95% confidence interval. The competition itself is not changed.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public class OddsCommand extends CompetitionCommand {
+    private static final String NAME = "odds";
+    private static final String ARGS_REGEX_FORMAT = "\\d{1,9}( \\d{1,9})?";
+    private static final String NO_ROLLOUTS_MESSAGE = "no rollout finished within the time budget";
+    private static final String HEADER_FORMAT = "Win probabilities after %d rollouts (95%% confidence):";
+    private static final String PROBABILITY_FORMAT = "%s: %.1f%% +/- %.1f%%";
+    private static final String NO_WINNER_LABEL = "No winner";
+    private static final int DEFAULT_ROLLOUTS = 10000;
+    private static final long DEFAULT_BUDGET_MILLIS = 2000;
+    private static final int ROLLOUTS_INDEX = 0;
+    private static final int BUDGET_INDEX = 1;
+    private static final double PERCENT = 100;
+
+
+    @Override
+    public void execute(CompetitionCommandHandler handler, String[] args) throws CommandException {
+        int rollouts = args.length > ROLLOUTS_INDEX ? Integer.parseInt(args[ROLLOUTS_INDEX]) : DEFAULT_ROLLOUTS;
+        long budgetMillis = args.length > BUDGET_INDEX ? Long.parseLong(args[BUDGET_INDEX]) : DEFAULT_BUDGET_MILLIS;
+        Competition competition = handler.getCompetition();
+        WinEstimate estimate = WinEstimator.estimate(competition, rollouts, budgetMillis);
+        if (estimate.getRollouts() == 0) {
+            throw new CommandException(NO_ROLLOUTS_MESSAGE);
+        }
+        Application.DEFAULT_OUTPUT_STREAM.println(HEADER_FORMAT.formatted(estimate.getRollouts()));
+        List<Monster> monsters = competition.getMonsters();
+        for (int i = 0; i < monsters.size(); i++) {
+            printProbability(estimate, monsters.get(i).getName(), estimate.getWinProbability(i));
+        }
+        if (estimate.getDrawProbability() > 0) {
+            printProbability(estimate, NO_WINNER_LABEL, estimate.getDrawProbability());
+        }
+    }
+
+    private static void printProbability(WinEstimate estimate, String label, double probability) {
+        Application.DEFAULT_OUTPUT_STREAM.println(PROBABILITY_FORMAT.formatted(
+                label, probability * PERCENT, estimate.getMargin(probability) * PERCENT
+        ));
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getArgsRegex() {
+        return ARGS_REGEX_FORMAT + super.getArgsRegex();
+    }
+
+}
@@ -0,0 +1,64 @@
+package edu.kit.kastel.ui.commands;
+
+import edu.kit.kastel.Application;
+import edu.kit.kastel.ui.handlers.CommandHandler;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command to choose how the output of the application is written.
+ * <p>
+ * {@code output async} hands the output to a dedicated output thread that writes to the console,
+ * {@code output async <path>} lets the output thread write to the given file instead and
+ * {@code output sync} writes synchronously to the console again.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public class OutputCommand extends Command {
+    private static final String NAME = "output";
+    private static final String ASYNC_MODE = "async";
+    private static final String SYNC_MODE = "sync";
+    private static final String ARGS_REGEX_FORMAT = "(%s( \\S+)?|%s)".formatted(ASYNC_MODE, SYNC_MODE);
+    private static final String WRONG_ARGS_COUNT = "wrong number of arguments";
+    private static final String FILE_NOT_OPENED_FORMAT = "output file %s cannot be opened";
+    private static final int MODE_INDEX = 0;
+    private static final int PATH_INDEX = 1;
+    private static final int ARGS_COUNT_WITH_PATH = 2;
+
+
+    @Override
+    public void execute(CommandHandler handler, String[] args) throws CommandException {
+        if (args.length == 0) {
+            throw new CommandException(WRONG_ARGS_COUNT);
+        }
+        if (args[MODE_INDEX].equals(SYNC_MODE)) {
+            Application.DEFAULT_OUTPUT_STREAM.stopAsync();
+        } else if (args.length == ARGS_COUNT_WITH_PATH) {
+            try {
+                Application.DEFAULT_OUTPUT_STREAM.startAsync(
+                        new BufferedOutputStream(Files.newOutputStream(Path.of(args[PATH_INDEX]))),
+                        true
+                );
+            } catch (IOException e) {
+                throw new CommandException(FILE_NOT_OPENED_FORMAT.formatted(args[PATH_INDEX]));
+            }
+        } else {
+            Application.DEFAULT_OUTPUT_STREAM.startAsync(System.out, false);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getArgsRegex() {
+        return ARGS_REGEX_FORMAT + super.getArgsRegex();
+    }
+
+}
@@ -0,0 +1,160 @@
+package edu.kit.kastel.ui.commands;
+
+import edu.kit.kastel.Application;
+import edu.kit.kastel.game.GameRuntimeException;
+import edu.kit.kastel.game.actions.Action;
+import edu.kit.kastel.game.actions.DamageDistribution;
+import edu.kit.kastel.game.actions.effects.ApplyableEffect;
+import edu.kit.kastel.game.actions.effects.Effect;
+import edu.kit.kastel.game.actions.effects.ProtectEffect;
+import edu.kit.kastel.game.actions.effects.ProtectionType;
+import edu.kit.kastel.game.actions.effects.RepeatEffect;
+import edu.kit.kastel.game.actions.effects.StatusConditionEffect;
+import edu.kit.kastel.game.monsters.Monster;
+import edu.kit.kastel.game.types.DurationChain;
+import edu.kit.kastel.ui.handlers.CompetitionCommandHandler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Command to show the exact distribution of the damage an action of the current monster would deal,
+ * without selecting the action.
+ * <p>
+ * {@code preview <action> [target]} prints the average damage, every possible damage with its probability
+ * and the probability that the target faints. Like when selecting it, an action that needs no target ignores the
+ * target and deals no damage. For every protection and condition the action can set, it prints
+ * how many turns it lasts on average and within the next {@value #DURATION_HORIZON} turns, the probability of
+ * every number of turns up to them and how much damage a protection against damage prevents. For protections,
+ * it also prints how the remaining turns are distributed over the turns in which the protection is active.
+ * Everything is solved exactly with the {@link DurationChain} of the effect.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public class PreviewCommand extends CompetitionCommand {
+    private static final String WRONG_ARGS_COUNT = "wrong number of arguments";
+    private static final String NAME = "preview";
+    private static final String ARGS_REGEX_FORMAT = "\\w+(\\s\\w+(#\\d+)?)?";
+    private static final String HEADER_FORMAT = "Damage of %s against %s, %.1f on average:";
+    private static final String NO_TARGET_FORMAT = "%s needs no target and deals no damage.";
+    private static final String DAMAGE_FORMAT = "%d damage: %.2f%%";
+    private static final String FAINT_FORMAT = "%s faints: %.2f%%";
+    private static final String CONDITION_FORMAT = "%s of %s lasts %.2f turns on average";
+    private static final String PROTECTION_FORMAT = "Protection of %s against %s lasts %.2f turns on average";
+    private static final String HORIZON_FORMAT = ", %.2f of the next %d turns";
+    private static final String PREVENTION_FORMAT = ", preventing %.1f damage";
+    private static final String TURNS_FORMAT = "%d turns: %.2f%%";
+    private static final String HORIZON_TURNS_FORMAT = "%d or more turns: %.2f%%";
+    private static final String REMAINING_TURNS_HEADER = "Remaining turns while active: ";
+    private static final String REMAINING_TURNS_FORMAT = "%d (%.2f%%)";
+    private static final String REMAINING_TURNS_SEPARATOR = ", ";
+    private static final int DURATION_HORIZON = 5;
+    private static final int ACTION_NAME_INDEX = 0;
+    private static final int TARGET_NAME_INDEX = 1;
+    private static final int ARGS_COUNT = 1;
+    private static final int ARGS_COUNT_WITH_TARGET = 2;
+    private static final double PERCENT = 100;
+
+    @Override
+    public void execute(CompetitionCommandHandler handler, String[] args) throws CommandException {
+        if (args.length != ARGS_COUNT && args.length != ARGS_COUNT_WITH_TARGET) {
+            throw new CommandException(WRONG_ARGS_COUNT);
+        }
+        DamageDistribution distribution;
+        Action action;
+        try {
+            action = Action.find(args[ACTION_NAME_INDEX]);
+            String targetMonsterName = args.length == ARGS_COUNT_WITH_TARGET ? args[TARGET_NAME_INDEX] : null;
+            distribution = handler.getCompetition().previewAction(action, targetMonsterName);
+        } catch (GameRuntimeException e) {
+            Application.DEFAULT_ERROR_STREAM.println(e.getMessage());
+            return;
+        }
+        if (distribution.getTarget() == null) {
+            Application.DEFAULT_OUTPUT_STREAM.println(NO_TARGET_FORMAT.formatted(action.getName()));
+        } else {
+            printDamage(action, distribution);
+        }
+        Monster user = handler.getCompetition().getCurrentMonster();
+        for (Effect effect : action.getEffects()) {
+            RepeatEffect repeatEffect = effect.asRepeatEffect();
+            for (Effect innerEffect : repeatEffect == null ? List.of(effect) : repeatEffect.getEffects()) {
+                printDuration(handler, innerEffect.asApplyableEffect(), user, distribution.getTarget());
+            }
+        }
+    }
+
+    private static void printDamage(Action action, DamageDistribution distribution) {
+        String targetName = distribution.getTarget().getName();
+        Application.DEFAULT_OUTPUT_STREAM.println(
+                HEADER_FORMAT.formatted(action.getName(), targetName, distribution.getExpectedDamage())
+        );
+        for (int damage = 0; damage <= distribution.getMaxDamage(); damage++) {
+            double probability = distribution.getProbability(damage);
+            if (probability > 0) {
+                Application.DEFAULT_OUTPUT_STREAM.println(DAMAGE_FORMAT.formatted(damage, probability * PERCENT));
+            }
+        }
+        if (distribution.getFaintProbability() > 0) {
+            Application.DEFAULT_OUTPUT_STREAM.println(FAINT_FORMAT.formatted(targetName, distribution.getFaintProbability() * PERCENT));
+        }
+    }
+
+    private static void printDuration(CompetitionCommandHandler handler, ApplyableEffect effect, Monster user, Monster target) {
+        DurationChain chain = effect == null ? null : effect.getDurationChain();
+        if (chain == null) {
+            return;
+        }
+        double turns = chain.getExpectedTurns();
+        String horizon = HORIZON_FORMAT.formatted(chain.getExpectedTurns(DURATION_HORIZON), DURATION_HORIZON);
+        if (effect instanceof ProtectEffect protectEffect) {
+            ProtectionType type = protectEffect.getProtectionType();
+            String message = PROTECTION_FORMAT.formatted(user.getName(), type.getMessage(), turns) + horizon;
+            if (type == ProtectionType.HEALTH) {
+                message += PREVENTION_FORMAT.formatted(chain.getExpectedDamagePrevented(handler.getCompetition().previewIncomingDamage()));
+            }
+            Application.DEFAULT_OUTPUT_STREAM.println(message);
+            printTurns(chain);
+            printRemainingTurns(chain);
+        } else if (effect instanceof StatusConditionEffect conditionEffect) {
+            String monsterName = conditionEffect.isOnUser() ? user.getName() : target.getName();
+            Application.DEFAULT_OUTPUT_STREAM.println(
+                    CONDITION_FORMAT.formatted(conditionEffect.getCondition(), monsterName, turns) + horizon
+            );
+            printTurns(chain);
+        }
+    }
+
+    private static void printTurns(DurationChain chain) {
+        double[] distribution = chain.getTurnsDistribution(DURATION_HORIZON);
+        for (int turns = 0; turns < distribution.length; turns++) {
+            if (distribution[turns] > 0) {
+                String format = turns < DURATION_HORIZON ? TURNS_FORMAT : HORIZON_TURNS_FORMAT;
+                Application.DEFAULT_OUTPUT_STREAM.println(format.formatted(turns, distribution[turns] * PERCENT));
+            }
+        }
+    }
+
+    private static void printRemainingTurns(DurationChain chain) {
+        double[] distribution = chain.getStationaryDistribution();
+        List<String> remainingTurns = new ArrayList<>();
+        for (int turns = 0; turns < distribution.length; turns++) {
+            if (distribution[turns] > 0) {
+                remainingTurns.add(REMAINING_TURNS_FORMAT.formatted(turns, distribution[turns] * PERCENT));
+            }
+        }
+        Application.DEFAULT_OUTPUT_STREAM.println(REMAINING_TURNS_HEADER + String.join(REMAINING_TURNS_SEPARATOR, remainingTurns));
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getArgsRegex() {
+        return ARGS_REGEX_FORMAT + super.getArgsRegex();
+    }
+
+}
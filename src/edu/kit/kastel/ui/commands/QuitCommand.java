@@ -12,12 +12,11 @@
  */
 public class QuitCommand extends Command {
     private static final String NAME = "quit";
-    private static final int STOP_ALL_LEVEL = -1;
 
 
     @Override
     public void execute(CommandHandler handler, String[] args) throws CommandException {
-        handler.stop(STOP_ALL_LEVEL);
+        handler.stop();
     }
 
     @Override
@@ -0,0 +1,63 @@
+package edu.kit.kastel.ui.commands;
+
+import edu.kit.kastel.Application;
+import edu.kit.kastel.config.ConfigParser;
+import edu.kit.kastel.game.Competition;
+import edu.kit.kastel.game.GameRuntimeException;
+import edu.kit.kastel.ui.handlers.CommandHandler;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command to continue a competition saved by {@link SaveCommand}.
+ * <p>
+ * {@code restore <path>} reads the snapshot from the given file and replaces a running competition.
+ * The snapshot has to be saved with the same configuration as the loaded one.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public class RestoreCommand extends Command {
+    private static final String NAME = "restore";
+    private static final String ARGS_REGEX_FORMAT = "\\S+";
+    private static final String WRONG_ARGS_COUNT = "wrong number of arguments";
+    private static final String FILE_NOT_READ_FORMAT = "snapshot file %s cannot be read";
+    private static final String RESTORED_FORMAT = "Competition restored from %s.";
+    private static final int ARGS_COUNT = 1;
+    private static final int PATH_INDEX = 0;
+
+
+    @Override
+    public void execute(CommandHandler handler, String[] args) throws CommandException {
+        if (args.length != ARGS_COUNT) {
+            throw new CommandException(WRONG_ARGS_COUNT);
+        }
+        Competition competition;
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(Path.of(args[PATH_INDEX]))))) {
+            competition = Competition.restore(in, ConfigParser.getCatalogHash());
+        } catch (IOException e) {
+            throw new CommandException(FILE_NOT_READ_FORMAT.formatted(args[PATH_INDEX]));
+        } catch (GameRuntimeException e) {
+            Application.DEFAULT_ERROR_STREAM.println(e.getMessage());
+            return;
+        }
+        Application.DEFAULT_OUTPUT_STREAM.println(RESTORED_FORMAT.formatted(args[PATH_INDEX]));
+        handler.handleCompetition(competition);
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getArgsRegex() {
+        return ARGS_REGEX_FORMAT + super.getArgsRegex();
+    }
+
+}
@@ -0,0 +1,45 @@
+package edu.kit.kastel.ui.commands;
+
+import edu.kit.kastel.Application;
+import edu.kit.kastel.game.GameRuntimeException;
+import edu.kit.kastel.ui.handlers.CompetitionCommandHandler;
+
+/**
+ * Command to revert the competition to the start of an earlier turn.
+ * <p>
+ * {@code rewind <turn>} restores the state before any action of the given turn was selected.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public class RewindCommand extends CompetitionCommand {
+    private static final String NAME = "rewind";
+    private static final String ARGS_REGEX_FORMAT = "\\d{1,9}";
+    private static final String WRONG_ARGS_COUNT = "wrong number of arguments";
+    private static final int TURN_INDEX = 0;
+    private static final int ARGS_COUNT = 1;
+
+
+    @Override
+    public void execute(CompetitionCommandHandler handler, String[] args) throws CommandException {
+        if (args.length != ARGS_COUNT) {
+            throw new CommandException(WRONG_ARGS_COUNT);
+        }
+        try {
+            handler.getCompetition().rewind(Integer.parseInt(args[TURN_INDEX]));
+        } catch (GameRuntimeException e) {
+            Application.DEFAULT_ERROR_STREAM.println(e.getMessage());
+        }
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getArgsRegex() {
+        return ARGS_REGEX_FORMAT + super.getArgsRegex();
+    }
+
+}
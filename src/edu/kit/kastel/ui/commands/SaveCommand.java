@@ -0,0 +1,56 @@
+package edu.kit.kastel.ui.commands;
+
+import edu.kit.kastel.Application;
+import edu.kit.kastel.config.ConfigParser;
+import edu.kit.kastel.ui.handlers.CompetitionCommandHandler;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Command to save the running competition as a binary snapshot.
+ * <p>
+ * {@code save <path>} writes the snapshot to the given file, from which it can be continued
+ * with {@link RestoreCommand}, also by another process with the same configuration.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public class SaveCommand extends CompetitionCommand {
+    private static final String NAME = "save";
+    private static final String ARGS_REGEX_FORMAT = "\\S+";
+    private static final String WRONG_ARGS_COUNT = "wrong number of arguments";
+    private static final String FILE_NOT_WRITTEN_FORMAT = "snapshot file %s cannot be written";
+    private static final String SAVED_FORMAT = "Competition saved to %s.";
+    private static final int ARGS_COUNT = 1;
+    private static final int PATH_INDEX = 0;
+
+
+    @Override
+    public void execute(CompetitionCommandHandler handler, String[] args) throws CommandException {
+        if (args.length != ARGS_COUNT) {
+            throw new CommandException(WRONG_ARGS_COUNT);
+        }
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(Path.of(args[PATH_INDEX]))))) {
+            handler.getCompetition().save(out, ConfigParser.getCatalogHash());
+        } catch (IOException e) {
+            throw new CommandException(FILE_NOT_WRITTEN_FORMAT.formatted(args[PATH_INDEX]));
+        }
+        Application.DEFAULT_OUTPUT_STREAM.println(SAVED_FORMAT.formatted(args[PATH_INDEX]));
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getArgsRegex() {
+        return ARGS_REGEX_FORMAT + super.getArgsRegex();
+    }
+
+}
@@ -4,6 +4,7 @@
 import edu.kit.kastel.game.GameRuntimeException;
 import edu.kit.kastel.game.actions.Action;
 import edu.kit.kastel.ui.handlers.CompetitionCommandHandler;
+import edu.kit.kastel.utils.MessageTemplate;
 
 /**
  * Displays the actions available for the current monster in the competition.
@@ -16,12 +17,12 @@
  */
 public class ShowActionsCommand extends CompetitionCommand {
     private static final String NAME = "show actions";
-    private static final String LABEL_FORMAT = "ACTIONS OF %s%n";
+    private static final MessageTemplate LABEL_FORMAT = new MessageTemplate("ACTIONS OF %s%n");
 
 
     @Override
     public void execute(CompetitionCommandHandler handler, String[] args) {
-        Application.DEFAULT_OUTPUT_STREAM.printf(LABEL_FORMAT, handler.getCompetition().getCurrentMonster().getName());
+        Application.DEFAULT_OUTPUT_STREAM.print(LABEL_FORMAT).arg(handler.getCompetition().getCurrentMonster().getName());
         for (String actionName : handler.getCompetition().getCurrentMonster().getSample().getActions()) {
             try {
                 Application.DEFAULT_OUTPUT_STREAM.println(Action.find(actionName));
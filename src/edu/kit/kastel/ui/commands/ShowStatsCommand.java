@@ -3,6 +3,7 @@
 import edu.kit.kastel.Application;
 import edu.kit.kastel.game.monsters.Monster;
 import edu.kit.kastel.ui.handlers.CompetitionCommandHandler;
+import edu.kit.kastel.utils.MessageTemplate;
 
 /**
  * Command to display the current statistics of the active monster in the competition.
@@ -15,15 +16,14 @@
  */
 public class ShowStatsCommand extends CompetitionCommand {
     private static final String NAME = "show stats";
-    private static final String LABEL_FORMAT = "STATS OF %s%n%s%n";
+    private static final MessageTemplate LABEL_FORMAT = new MessageTemplate("STATS OF %s%n%s%n");
 
     @Override
     public void execute(CompetitionCommandHandler handler, String[] args) throws CommandException {
         Monster currentMonster = handler.getCompetition().getCurrentMonster();
-        Application.DEFAULT_OUTPUT_STREAM.printf(LABEL_FORMAT,
-                currentMonster.getName(),
-                currentMonster.toString()
-        );
+        Application.DEFAULT_OUTPUT_STREAM.print(LABEL_FORMAT)
+                .arg(currentMonster.getName())
+                .arg(currentMonster.toString());
     }
 
     @Override
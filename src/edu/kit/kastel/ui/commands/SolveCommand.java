@@ -0,0 +1,81 @@
+package edu.kit.kastel.ui.commands;
+
+import edu.kit.kastel.Application;
+import edu.kit.kastel.game.Competition;
+import edu.kit.kastel.game.DuelSolution;
+import edu.kit.kastel.game.DuelSolver;
+import edu.kit.kastel.game.GameRuntimeException;
+import edu.kit.kastel.game.SolvedMove;
+import edu.kit.kastel.ui.handlers.CompetitionCommandHandler;
+
+/**
+ * Command to compute the win probabilities of the possible selections of the current monster in a duel.
+ * <p>
+ * {@code solve [turns [milliseconds]]} searches the given number of turns, two by default, assuming both
+ * monsters play their best, and prints the selections of the current monster with their win probabilities,
+ * the best first. If the turns cannot be solved within the time budget, the deepest solved number of turns
+ * is printed instead. The probabilities are exact if the duel is decided within the solved turns in every line
+ * of play. Otherwise, they are marked as estimated, since undecided duels are rated by the share of health.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public class SolveCommand extends CompetitionCommand {
+    private static final String NAME = "solve";
+    private static final String ARGS_REGEX_FORMAT = "[1-9]( \\d{1,9})?";
+    private static final String NO_SOLUTION_MESSAGE = "the current turn could not be solved within the time budget";
+    private static final String PASS_ACTION_NAME = "pass";
+    private static final String EXACT_HEADER_FORMAT = "Exact win probabilities of %s with best play over %d turns:";
+    private static final String ESTIMATED_HEADER_FORMAT = "Estimated win probabilities of %s with best play over %d turns:";
+    private static final String ESTIMATE_NOTE = "Duels undecided after these turns are rated by the share of health.";
+    private static final String MOVE_FORMAT = "%s: %.2f%%";
+    private static final String MOVE_WITH_TARGET_FORMAT = "%s against %s: %.2f%%";
+    private static final int DEFAULT_TURNS = 2;
+    private static final long DEFAULT_BUDGET_MILLIS = 5000;
+    private static final int TURNS_INDEX = 0;
+    private static final int BUDGET_INDEX = 1;
+    private static final double PERCENT = 100;
+
+
+    @Override
+    public void execute(CompetitionCommandHandler handler, String[] args) throws CommandException {
+        int turns = args.length > TURNS_INDEX ? Integer.parseInt(args[TURNS_INDEX]) : DEFAULT_TURNS;
+        long budgetMillis = args.length > BUDGET_INDEX ? Long.parseLong(args[BUDGET_INDEX]) : DEFAULT_BUDGET_MILLIS;
+        Competition competition = handler.getCompetition();
+        DuelSolution solution;
+        try {
+            solution = DuelSolver.solve(competition, turns, budgetMillis);
+        } catch (GameRuntimeException e) {
+            Application.DEFAULT_ERROR_STREAM.println(e.getMessage());
+            return;
+        }
+        if (solution.turns() == 0) {
+            throw new CommandException(NO_SOLUTION_MESSAGE);
+        }
+        String headerFormat = solution.exact() ? EXACT_HEADER_FORMAT : ESTIMATED_HEADER_FORMAT;
+        Application.DEFAULT_OUTPUT_STREAM.println(headerFormat.formatted(
+                competition.getCurrentMonster().getName(), solution.turns()
+        ));
+        if (!solution.exact()) {
+            Application.DEFAULT_OUTPUT_STREAM.println(ESTIMATE_NOTE);
+        }
+        for (SolvedMove solvedMove : solution.moves()) {
+            String actionName = solvedMove.action().getName() != null ? solvedMove.action().getName() : PASS_ACTION_NAME;
+            double percentage = solvedMove.winProbability() * PERCENT;
+            Application.DEFAULT_OUTPUT_STREAM.println(solvedMove.target() != null
+                    ? MOVE_WITH_TARGET_FORMAT.formatted(actionName, solvedMove.target().getName(), percentage)
+                    : MOVE_FORMAT.formatted(actionName, percentage));
+        }
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public String getArgsRegex() {
+        return ARGS_REGEX_FORMAT + super.getArgsRegex();
+    }
+
+}
@@ -0,0 +1,34 @@
+package edu.kit.kastel.ui.commands;
+
+import edu.kit.kastel.Application;
+import edu.kit.kastel.game.GameRuntimeException;
+import edu.kit.kastel.ui.handlers.CompetitionCommandHandler;
+
+/**
+ * Command to revert the last selected action of the competition.
+ * <p>
+ * If the last selection completed a turn, the whole turn is reverted and the monster that selected last
+ * has to select again.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public class UndoCommand extends CompetitionCommand {
+    private static final String NAME = "undo";
+
+
+    @Override
+    public void execute(CompetitionCommandHandler handler, String[] args) throws CommandException {
+        try {
+            handler.getCompetition().undo();
+        } catch (GameRuntimeException e) {
+            Application.DEFAULT_ERROR_STREAM.println(e.getMessage());
+        }
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+}
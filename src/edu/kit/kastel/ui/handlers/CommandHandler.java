@@ -1,22 +1,23 @@
 package edu.kit.kastel.ui.handlers;
 
-import edu.kit.kastel.Application;
 import edu.kit.kastel.game.Competition;
 import edu.kit.kastel.ui.commands.Command;
 import edu.kit.kastel.ui.commands.CommandException;
+import edu.kit.kastel.ui.commands.EngineCommand;
+import edu.kit.kastel.ui.commands.LoadCommand;
+import edu.kit.kastel.ui.commands.LogCommand;
+import edu.kit.kastel.ui.commands.MatrixCommand;
+import edu.kit.kastel.ui.commands.OutputCommand;
+import edu.kit.kastel.ui.commands.RestoreCommand;
 
-import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.Scanner;
-import java.util.TreeMap;
-import java.util.regex.Pattern;
 
 /**
  * Abstract base class for handling commands.
  * <p>
- * This class maintains a set of commands and continuously reads input from the application,
- * delegating the input to the appropriate command based on a regex match.
+ * This class maintains a set of commands and handles the input lines passed by its {@link CommandLoop},
+ * delegating the input to the command with the longest name the input starts with.
+ * The commands are kept in a {@link CommandTrie} and their argument patterns are compiled once.
  * If the command is unknown or the arguments do not match the expected format, a
  * {@link CommandException} is thrown.
  * </p>
@@ -26,42 +27,30 @@
 public abstract class CommandHandler {
     private static final String ERROR_UNKNOWN_COMMAND_FORMAT = "unknown command %s";
     private static final String WRONG_ARGS = "wrong count or types of arguments";
+    private static final String[] NO_ARGS = new String[0];
 
-    protected final Scanner scanner;
-    private final CommandHandler outerCommandHandler;
-    private final Map<String, Command> commands;
-
-    private boolean running;
-
-    /**
-     * Constructs a CommandHandler using the specified Scanner for user input.
-     * This constructor initializes the handler without an outer parent, assuming
-     * it is a standalone root command handler.
-     *
-     * @param scanner the Scanner instance used to read input from the user
-     */
-    protected CommandHandler(Scanner scanner) {
-        this(scanner, null);
-    }
+    private final CommandLoop loop;
+    private final CommandTrie commands;
 
     /**
-     * Constructs a CommandHandler using the specified Scanner for user input
-     * and an optional outer CommandHandler for hierarchical delegation.
+     * Constructs a CommandHandler belonging to the given loop.
      * This constructor initializes the handler with the commands available
-     * in the current context.
+     * in the current context. The commands changing the state of the whole process or accessing files,
+     * see {@link #getProcessCommands()}, are only added if the loop owns the process.
      *
-     * @param scanner              the Scanner instance used to read input from the user
-     * @param outerCommandHandler  the parent CommandHandler providing a context for delegation,
-     *                             or null if this is the root handler
+     * @param loop the loop passing input lines to this handler
      */
-    protected CommandHandler(Scanner scanner, CommandHandler outerCommandHandler) {
-        this.scanner = scanner;
-        this.outerCommandHandler = outerCommandHandler;
-        this.commands = new TreeMap<>(Comparator.reverseOrder());
+    protected CommandHandler(CommandLoop loop) {
+        this.loop = loop;
+        this.commands = new CommandTrie();
         for (Command command : getAvailableCommands()) {
-            this.commands.put(command.getName(), command);
+            this.commands.add(command);
+        }
+        if (loop.ownsProcess()) {
+            for (Command command : getProcessCommands()) {
+                this.commands.add(command);
+            }
         }
-        running = true;
     }
 
     /**
@@ -75,93 +64,70 @@ protected CommandHandler(Scanner scanner, CommandHandler outerCommandHandler) {
     protected abstract List<Command> getAvailableCommands();
 
     /**
-     * Starts handling user input by continuously reading commands from the provided scanner.
-     * The method remains active while the command handler is running, processing each
-     * input line by passing it to the {@code handleCommand} method. If a {@code CommandException}
-     * is thrown during the handling of a command, the error message is printed to the standard error stream.
+     * Retrieves the commands that are only available if the loop owns the process, i.e. loading a configuration,
+     * logging, choosing the output mode, restoring a saved competition, writing the matchup matrix and choosing the engine of actions.
+     *
+     * @return a list of {@link Command} instances changing the state of the process or accessing files
      */
-    public void startHandling() {
-        while (isRunning()) {
-            try {
-                handleCommand(scanner.nextLine());
-            } catch (CommandException e) {
-                Application.DEFAULT_ERROR_STREAM.println(e.getMessage());
-            }
-        }
+    protected List<Command> getProcessCommands() {
+        return List.of(new LoadCommand(), new LogCommand(), new OutputCommand(), new RestoreCommand(), new MatrixCommand(),
+                new EngineCommand());
     }
 
-    private void handleCommand(String line) throws CommandException {
-        for (Command command : commands.values()) {
-            if (!line.startsWith(command.getName())) {
-                continue;
-            }
-            String rawArgs = line.substring(command.getName().length()).trim();
-            String[] args = parseArgs(command, rawArgs);
-            command.execute(this, args);
-            return;
+    /**
+     * Handles one input line by executing the command with the longest name the line starts with.
+     *
+     * @param line the input line
+     * @throws CommandException if no command matches, the arguments do not match the command
+     *                          or the command fails
+     */
+    void handleCommand(String line) throws CommandException {
+        CommandTrie.Node match = commands.find(line);
+        if (match == null) {
+            throw new CommandException(String.format(ERROR_UNKNOWN_COMMAND_FORMAT, line));
         }
-        throw new CommandException(String.format(ERROR_UNKNOWN_COMMAND_FORMAT, line));
+        String rawArgs = line.substring(match.getDepth()).trim();
+        String[] args = parseArgs(match, rawArgs);
+        match.getCommand().execute(this, args);
     }
 
     /**
-     * Handles a competition among multiple monsters within the context of the provided {@link Competition}.
-     * This abstract method is designed to be implemented with specific logic for managing
-     * the phases or actions of the competition.
+     * Starts the given competition. A running competition is replaced without announcing a result.
      *
      * @param competition the {@link Competition} instance representing the competition to be handled
      */
-    public abstract void handleCompetition(Competition competition);
+    public void handleCompetition(Competition competition) {
+        loop.enterCompetition(competition);
+    }
 
-    private String[] parseArgs(Command command, String rawArgs) throws CommandException {
+    private String[] parseArgs(CommandTrie.Node match, String rawArgs) throws CommandException {
         if (rawArgs.isEmpty()) {
-            return new String[0];
-        } else if (!Pattern.matches(command.getArgsRegex(), rawArgs)) {
+            return NO_ARGS;
+        } else if (!match.getArgsPattern().matcher(rawArgs).matches()) {
             throw new CommandException(WRONG_ARGS);
         }
         return rawArgs.split(Command.SEPARATOR);
     }
 
     /**
-     * Checks whether the command handling process is currently active.
-     *
-     * @return true if the command handling loop is running, false otherwise
-     */
-    protected boolean isRunning() {
-        return running;
-    }
-
-    /**
-     * Stops the current command handler and optionally delegates the stop action
-     * to its outer (parent) CommandHandler.
-     *
-     * @param level the stop level indicating the depth of the handler hierarchy to stop;
-     *              if 0, only the current handler stops; if negative, all outer handlers stop recursively
+     * Stops the loop of this handler, so no further input is read.
      */
-    public void stop(int level) {
-        if (level != 0) {
-            running = false;
-            if (outerCommandHandler != null) {
-                outerCommandHandler.stop(level - 1);
-            }
-        }
+    public void stop() {
+        loop.stop();
     }
 
     /**
-     * Retrieves the outer command handler associated with the current CommandHandler.
-     * The outer command handler acts as the parent or context from which the current
-     * handler was derived, allowing hierarchical command processing or delegation.
+     * Returns the loop this handler belongs to.
      *
-     * @return the outer CommandHandler instance, or null if this handler does not have a parent
+     * @return the loop of this handler
      */
-    public CommandHandler getOuterCommandHandler() {
-        return outerCommandHandler;
+    protected CommandLoop getLoop() {
+        return loop;
     }
 
     /**
-     * Stops the command handler during the configuration parsing process.
-     * This method halts the current command handling loop at a specific level
-     * to facilitate transitions or state changes triggered by configuration parsing results.
-     * It is typically invoked after successfully parsing a configuration file.
+     * Reacts to a successfully parsed configuration file.
+     * It is typically invoked after a {@code load} command, which invalidates the running context.
      */
     public void stopOnConfigParse() {
 
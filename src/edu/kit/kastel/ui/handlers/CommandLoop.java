@@ -0,0 +1,122 @@
+package edu.kit.kastel.ui.handlers;
+
+import edu.kit.kastel.Application;
+import edu.kit.kastel.game.Competition;
+import edu.kit.kastel.ui.commands.CommandException;
+import edu.kit.kastel.utils.LineSource;
+
+/**
+ * The single dispatch loop of the application.
+ * <p>
+ * The loop reads one line after another and passes it to the command handler of its current
+ * {@link LoopState}. Commands change the state through the handler instead of starting nested
+ * handlers, so the stack depth stays constant no matter how many competitions are started,
+ * and both handlers are reused for the whole session.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public class CommandLoop {
+    private final LineSource input;
+    private final boolean ownsProcess;
+    private final DefaultCommandHandler defaultHandler;
+    private final CompetitionCommandHandler competitionHandler;
+
+    private LoopState state = LoopState.CATALOG_LOADED;
+
+    /**
+     * Constructs a new {@code CommandLoop} reading its input from the given source.
+     * The loop owns the process, so all commands are available.
+     *
+     * @param input the source of the input lines, e.g. the console
+     */
+    public CommandLoop(LineSource input) {
+        this(input, true);
+    }
+
+    /**
+     * Constructs a new {@code CommandLoop} reading its input from the given source.
+     * A loop that does not own the process, e.g. one of many server sessions, cannot use
+     * commands that change the state shared by all loops, like the loaded configuration.
+     *
+     * @param input       the source of the input lines, e.g. the console
+     * @param ownsProcess whether this loop may change the state of the whole process
+     */
+    public CommandLoop(LineSource input, boolean ownsProcess) {
+        this.input = input;
+        this.ownsProcess = ownsProcess;
+        this.defaultHandler = new DefaultCommandHandler(this);
+        this.competitionHandler = new CompetitionCommandHandler(this);
+    }
+
+    /**
+     * Starts handling user input until the loop is stopped. If a {@code CommandException}
+     * is thrown during the handling of a command, the error message is printed to the standard error stream.
+     * The buffered output is flushed before each line is read.
+     */
+    public void startHandling() {
+        while (awaitsInput()) {
+            try {
+                Application.DEFAULT_OUTPUT_STREAM.flush();
+                getCurrentHandler().handleCommand(input.nextLine());
+            } catch (CommandException e) {
+                Application.DEFAULT_ERROR_STREAM.println(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Returns the current state of this loop.
+     *
+     * @return the current state
+     */
+    public LoopState getState() {
+        return state;
+    }
+
+    /**
+     * Returns whether this loop may change the state of the whole process.
+     *
+     * @return {@code true} if this loop owns the process
+     */
+    public boolean ownsProcess() {
+        return ownsProcess;
+    }
+
+    /**
+     * Stops this loop after the current command.
+     */
+    void stop() {
+        state = LoopState.STOPPED;
+    }
+
+    /**
+     * Starts the given competition, replacing a running one.
+     *
+     * @param competition the competition to start
+     */
+    void enterCompetition(Competition competition) {
+        competitionHandler.setCompetition(competition);
+        state = LoopState.IN_COMPETITION;
+    }
+
+    /**
+     * Leaves the running competition without announcing a result.
+     */
+    void leaveCompetition() {
+        competitionHandler.setCompetition(null);
+        state = LoopState.CATALOG_LOADED;
+    }
+
+    private boolean awaitsInput() {
+        if (state == LoopState.IN_COMPETITION && !competitionHandler.promptNextAction()) {
+            leaveCompetition();
+        }
+        return state != LoopState.STOPPED;
+    }
+
+    private CommandHandler getCurrentHandler() {
+        return state == LoopState.IN_COMPETITION ? competitionHandler : defaultHandler;
+    }
+
+}
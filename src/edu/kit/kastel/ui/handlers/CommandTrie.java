@@ -0,0 +1,114 @@
+package edu.kit.kastel.ui.handlers;
+
+import edu.kit.kastel.ui.commands.Command;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * A prefix trie over the names of the commands of a {@link CommandHandler}.
+ * <p>
+ * A line is dispatched to the command with the longest name the line starts with, walking
+ * the line only once. The argument pattern of every command is compiled when the command is added.
+ * </p>
+ *
+ * @author uyqbd
+ */
+final class CommandTrie {
+    private final Node root = new Node();
+
+    /**
+     * Adds a command to this trie, replacing a command of the same name.
+     *
+     * @param command the command to add
+     */
+    void add(Command command) {
+        Node node = root;
+        String name = command.getName();
+        for (int i = 0; i < name.length(); i++) {
+            node = node.getOrAddChild(name.charAt(i));
+        }
+        node.command = command;
+        node.argsPattern = Pattern.compile(command.getArgsRegex());
+    }
+
+    /**
+     * Finds the command with the longest name the given line starts with.
+     *
+     * @param line the input line
+     * @return the node of the matching command or {@code null} if no command matches
+     */
+    Node find(String line) {
+        Node node = root;
+        Node match = null;
+        for (int i = 0; i < line.length() && node != null; i++) {
+            node = node.getChild(line.charAt(i));
+            if (node != null && node.command != null) {
+                match = node;
+            }
+        }
+        return match;
+    }
+
+    /**
+     * A node of the trie. Nodes that end a command name hold the command and its compiled argument pattern.
+     */
+    static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private Command command;
+        private Pattern argsPattern;
+        private int depth;
+
+        /**
+         * Returns the command whose name ends at this node.
+         *
+         * @return the command
+         */
+        Command getCommand() {
+            return command;
+        }
+
+        /**
+         * Returns the compiled argument pattern of the command.
+         *
+         * @return the argument pattern
+         */
+        Pattern getArgsPattern() {
+            return argsPattern;
+        }
+
+        /**
+         * Returns the length of the command name ending at this node.
+         *
+         * @return the length of the name
+         */
+        int getDepth() {
+            return depth;
+        }
+
+        private Node getChild(char key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node getOrAddChild(char key) {
+            Node child = getChild(key);
+            if (child == null) {
+                child = new Node();
+                child.depth = depth + 1;
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                children = Arrays.copyOf(children, children.length + 1);
+                keys[keys.length - 1] = key;
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+
+    }
+
+}
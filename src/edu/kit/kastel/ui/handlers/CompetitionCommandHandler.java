@@ -3,91 +3,106 @@
 import edu.kit.kastel.Application;
 import edu.kit.kastel.game.Competition;
 import edu.kit.kastel.game.monsters.Monster;
+import edu.kit.kastel.ui.commands.AutoCommand;
 import edu.kit.kastel.ui.commands.CompetitionCreateCommand;
 import edu.kit.kastel.ui.commands.Command;
-import edu.kit.kastel.ui.commands.LoadCommand;
+import edu.kit.kastel.ui.commands.OddsCommand;
 import edu.kit.kastel.ui.commands.PassCommand;
+import edu.kit.kastel.ui.commands.PreviewCommand;
 import edu.kit.kastel.ui.commands.ShowActionsCommand;
+import edu.kit.kastel.ui.commands.SolveCommand;
 import edu.kit.kastel.ui.commands.ShowCommand;
 import edu.kit.kastel.ui.commands.ActionCommand;
 import edu.kit.kastel.ui.commands.QuitCommand;
+import edu.kit.kastel.ui.commands.RewindCommand;
+import edu.kit.kastel.ui.commands.SaveCommand;
+import edu.kit.kastel.ui.commands.UndoCommand;
 import edu.kit.kastel.ui.commands.ShowMonstersCommand;
 import edu.kit.kastel.ui.commands.ShowStatsCommand;
+import edu.kit.kastel.utils.MessageTemplate;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
 
 /**
  * Handles competition-related commands during a competition.
  * <p>
  * This handler registers commands for showing monsters, displaying actions,
- * passing a turn, selecting an action, and showing statistics.
- * It continuously reads input from the application and processes commands until
+ * passing a turn, selecting an action, showing statistics, undoing or rewinding selections, previewing damage, estimating the odds, solving duels and letting the computer select.
+ * It is reused for every competition of its {@link CommandLoop} and handles commands until
  * only one monster remains in the competition.
  * </p>
  *
  * @author uyqbd
  */
 public class CompetitionCommandHandler extends CommandHandler {
-    private static final String REQUEST_ACTION_MESSAGE_FORMAT = "%nWhat should %s do?%n";
-    private static final String COMPETITION_END_MESSAGE_FORMAT = "%n%s has no opponents left and wins the competition!%n";
-    private static final String COMPETITION_END_DRAW_MESSAGE = "%nAll monsters have fainted. The competition ends without a winner!%n";
-    private static final int STOP_CURRENT_LEVEL = 1;
+    private static final MessageTemplate REQUEST_ACTION_MESSAGE_FORMAT = new MessageTemplate("%nWhat should %s do?%n");
+    private static final MessageTemplate COMPETITION_END_MESSAGE_FORMAT = new MessageTemplate(
+            "%n%s has no opponents left and wins the competition!%n"
+    );
+    private static final MessageTemplate COMPETITION_END_DRAW_MESSAGE = new MessageTemplate(
+            "%nAll monsters have fainted. The competition ends without a winner!%n"
+    );
 
-    private final Competition competition;
+    private Competition competition;
 
     /**
      * Constructs a CompetitionCommandHandler which manages competition-related commands.
      * This handler is responsible for delegating commands to manage actions, showing
      * competition-related statistics, and facilitating control flow within a competition.
      *
-     * @param scanner              the Scanner instance used for reading user input
-     * @param outerCommandHandler  the parent CommandHandler providing a context for delegation
-     *                              or null if this is a root handler
-     * @param competition          the Competition object representing the context of the current competition
+     * @param loop the loop passing input lines to this handler
      */
-    public CompetitionCommandHandler(Scanner scanner, CommandHandler outerCommandHandler, Competition competition) {
-        super(scanner, outerCommandHandler);
-        this.competition = competition;
+    public CompetitionCommandHandler(CommandLoop loop) {
+        super(loop);
     }
 
     @Override
     protected List<Command> getAvailableCommands() {
         return List.of(
-                new LoadCommand(),
                 new ShowStatsCommand(),
                 new ShowCommand(),
                 new ShowActionsCommand(),
                 new ShowMonstersCommand(),
                 new PassCommand(),
                 new ActionCommand(),
+                new UndoCommand(),
+                new RewindCommand(),
+                new OddsCommand(),
+                new AutoCommand(),
+                new SolveCommand(),
+                new PreviewCommand(),
                 new CompetitionCreateCommand(),
                 new QuitCommand()
         );
     }
 
     @Override
-    protected boolean isRunning() {
+    protected List<Command> getProcessCommands() {
+        List<Command> commands = new ArrayList<>(super.getProcessCommands());
+        commands.add(new SaveCommand());
+        return commands;
+    }
+
+    /**
+     * Prints the request for the next action or, if the competition is decided, its result.
+     *
+     * @return whether the competition continues
+     */
+    boolean promptNextAction() {
         List<Monster> aliveMonsters = competition.getAliveMonsters();
-        if (super.isRunning()) {
-            if (aliveMonsters.size() > 1) {
-                Application.DEFAULT_OUTPUT_STREAM.printf(REQUEST_ACTION_MESSAGE_FORMAT, competition.getCurrentMonster().getName());
-                return true;
-            } else if (!aliveMonsters.isEmpty()) {
-                Application.DEFAULT_OUTPUT_STREAM.printf(COMPETITION_END_MESSAGE_FORMAT, aliveMonsters.get(0).getName());
-            } else {
-                Application.DEFAULT_OUTPUT_STREAM.printf(COMPETITION_END_DRAW_MESSAGE);
-            }
+        if (aliveMonsters.size() > 1) {
+            Application.DEFAULT_OUTPUT_STREAM.print(REQUEST_ACTION_MESSAGE_FORMAT).arg(competition.getCurrentMonster().getName());
+            return true;
+        } else if (!aliveMonsters.isEmpty()) {
+            Application.DEFAULT_OUTPUT_STREAM.print(COMPETITION_END_MESSAGE_FORMAT).arg(aliveMonsters.get(0).getName());
+        } else {
+            Application.DEFAULT_OUTPUT_STREAM.print(COMPETITION_END_DRAW_MESSAGE);
         }
+        Application.DEFAULT_OUTPUT_STREAM.flush();
         return false;
     }
 
-    @Override
-    public void handleCompetition(Competition competition) {
-        stop(STOP_CURRENT_LEVEL);
-        new CompetitionCommandHandler(scanner, getOuterCommandHandler(), competition).startHandling();
-    }
-
     /**
      * Retrieves the current competition instance being managed.
      *
@@ -97,9 +112,18 @@ public Competition getCompetition() {
         return competition;
     }
 
+    /**
+     * Sets the competition handled by this handler.
+     *
+     * @param competition the competition or {@code null} if no competition is running
+     */
+    void setCompetition(Competition competition) {
+        this.competition = competition;
+    }
+
     @Override
     public void stopOnConfigParse() {
-        stop(1);
+        getLoop().leaveCompetition();
     }
 
 }
@@ -1,16 +1,13 @@
 package edu.kit.kastel.ui.handlers;
 
 
-import edu.kit.kastel.game.Competition;
 import edu.kit.kastel.ui.commands.Command;
-import edu.kit.kastel.ui.commands.LoadCommand;
 import edu.kit.kastel.ui.commands.ShowMonstersCommand;
 
 import edu.kit.kastel.ui.commands.CompetitionCreateCommand;
 import edu.kit.kastel.ui.commands.QuitCommand;
 
 import java.util.List;
-import java.util.Scanner;
 
 /**
  * Default command handler that registers and manages the basic commands
@@ -25,29 +22,23 @@
 public class DefaultCommandHandler extends CommandHandler {
 
     /**
-     * Constructs a DefaultCommandHandler instance with the provided scanner for user input.
+     * Constructs a DefaultCommandHandler instance belonging to the given loop.
      * This command handler initializes with a predefined set of commands
      * that are applicable before starting a competition.
      *
-     * @param scanner the Scanner instance used to read input from the user
+     * @param loop the loop passing input lines to this handler
      */
-    public DefaultCommandHandler(Scanner scanner) {
-        super(scanner);
+    public DefaultCommandHandler(CommandLoop loop) {
+        super(loop);
     }
 
     @Override
     protected List<Command> getAvailableCommands() {
         return List.of(
-                new LoadCommand(),
                 new ShowMonstersCommand(),
                 new CompetitionCreateCommand(),
                 new QuitCommand()
         );
     }
 
-    @Override
-    public void handleCompetition(Competition competition) {
-        new CompetitionCommandHandler(scanner, this, competition).startHandling();
-    }
-
 }
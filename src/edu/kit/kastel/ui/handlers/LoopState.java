@@ -0,0 +1,21 @@
+package edu.kit.kastel.ui.handlers;
+
+/**
+ * The states of a {@link CommandLoop}.
+ *
+ * @author uyqbd
+ */
+public enum LoopState {
+    /**
+     * A configuration is loaded and no competition is running.
+     */
+    CATALOG_LOADED,
+    /**
+     * A competition is running and its commands are handled.
+     */
+    IN_COMPETITION,
+    /**
+     * The loop has stopped and reads no further input.
+     */
+    STOPPED
+}
@@ -0,0 +1,173 @@
+package edu.kit.kastel.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A writer that hands all text and messages to a dedicated output thread.
+ * <p>
+ * The writing thread only fills preallocated records of an {@link OutputRing}; formatting
+ * the messages and writing them to the target is done by the output thread. Whenever the
+ * ring runs empty, the output thread writes everything formatted so far with a single write.
+ * {@link #flush()} waits until all published records have reached the target, so the
+ * output is complete before the next input is read and when the application ends.
+ * </p>
+ *
+ * @author uyqbd
+ */
+final class AsyncOutputWriter extends Writer {
+    private static final int RING_CAPACITY = 4096;
+    private static final int INITIAL_CAPACITY = 8192;
+    private static final int WRITE_THRESHOLD = 1 << 16;
+    private static final long WAIT_NANOS = 50_000;
+    private static final String THREAD_NAME = "console-output";
+
+    private final OutputStream target;
+    private final boolean closeTarget;
+    private final Thread thread;
+    private final OutputRing ring;
+    private final RecordAppender appender = new RecordAppender();
+
+    private volatile long written;
+    private volatile boolean running = true;
+    private volatile IOException failure;
+
+    /**
+     * Constructs a new {@code AsyncOutputWriter} and starts its output thread.
+     *
+     * @param target      the stream receiving the formatted output
+     * @param closeTarget whether the target is closed together with this writer
+     */
+    AsyncOutputWriter(OutputStream target, boolean closeTarget) {
+        this.target = target;
+        this.closeTarget = closeTarget;
+        this.thread = new Thread(this::writeRecords, THREAD_NAME);
+        this.ring = new OutputRing(RING_CAPACITY, thread);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Returns the appender publishing messages to the output thread.
+     *
+     * @return the appender of this writer
+     */
+    MessageAppender getAppender() {
+        return appender;
+    }
+
+    @Override
+    public void write(int c) {
+        publishText(String.valueOf((char) c));
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) {
+        publishText(new String(cbuf, off, len));
+    }
+
+    @Override
+    public void write(String str, int off, int len) {
+        publishText(off == 0 && len == str.length() ? str : str.substring(off, off + len));
+    }
+
+    @Override
+    public void flush() throws IOException {
+        long position = ring.getPublished();
+        while (written < position && thread.isAlive()) {
+            ring.wakeConsumer();
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        running = false;
+        ring.wakeConsumer();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (closeTarget) {
+            target.close();
+        }
+    }
+
+    private void publishText(String text) {
+        ring.claim().setText(text);
+        ring.publish();
+    }
+
+    private void writeRecords() {
+        StringBuilder builder = new StringBuilder(INITIAL_CAPACITY);
+        BuilderAppender formatter = new BuilderAppender(builder);
+        while (running || ring.peek() != null) {
+            OutputRecord record = ring.peek();
+            if (record != null) {
+                record.formatTo(builder, formatter);
+                ring.release();
+                if (builder.length() >= WRITE_THRESHOLD) {
+                    writeOut(builder);
+                }
+                continue;
+            }
+            writeOut(builder);
+            written = ring.getReleased();
+            ring.awaitRecords();
+        }
+        writeOut(builder);
+        written = Long.MAX_VALUE;
+    }
+
+    private void writeOut(StringBuilder builder) {
+        if (builder.isEmpty()) {
+            return;
+        }
+        try {
+            target.write(builder.toString().getBytes(ConsoleWriter.CHARSET));
+            target.flush();
+        } catch (IOException e) {
+            failure = e;
+        }
+        builder.setLength(0);
+    }
+
+    private final class RecordAppender extends MessageAppender {
+        private OutputRecord record;
+
+        @Override
+        public MessageAppender start(MessageTemplate template) {
+            record = ring.claim();
+            record.setTemplate(template);
+            if (template.getArgumentCount() == 0) {
+                ring.publish();
+            }
+            return this;
+        }
+
+        @Override
+        public MessageAppender arg(String value) {
+            if (record.addArgument(value)) {
+                ring.publish();
+            }
+            return this;
+        }
+
+        @Override
+        public MessageAppender arg(int value) {
+            if (record.addArgument(value)) {
+                ring.publish();
+            }
+            return this;
+        }
+
+    }
+
+}
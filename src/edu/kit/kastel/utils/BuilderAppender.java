@@ -0,0 +1,52 @@
+package edu.kit.kastel.utils;
+
+/**
+ * Appends messages directly into a {@link StringBuilder}.
+ * <p>
+ * The first literal is appended when the message is started; every argument is appended
+ * together with the literal that follows it.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public final class BuilderAppender extends MessageAppender {
+    private final StringBuilder builder;
+
+    private MessageTemplate template;
+    private int argumentIndex;
+
+    /**
+     * Constructs a new {@code BuilderAppender} that writes to the given builder.
+     *
+     * @param builder the builder receiving the messages
+     */
+    public BuilderAppender(StringBuilder builder) {
+        this.builder = builder;
+    }
+
+    @Override
+    public MessageAppender start(MessageTemplate template) {
+        this.template = template;
+        argumentIndex = 0;
+        builder.append(template.getLiteral(0));
+        return this;
+    }
+
+    @Override
+    public MessageAppender arg(String value) {
+        builder.append(value);
+        return next();
+    }
+
+    @Override
+    public MessageAppender arg(int value) {
+        builder.append(value);
+        return next();
+    }
+
+    private MessageAppender next() {
+        builder.append(template.getLiteral(++argumentIndex));
+        return this;
+    }
+
+}
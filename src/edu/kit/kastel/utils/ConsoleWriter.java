@@ -0,0 +1,365 @@
+package edu.kit.kastel.utils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+
+/**
+ * A print writer that collects all written text in a reusable buffer and passes it
+ * to the underlying stream with a single write once it is flushed.
+ * <p>
+ * The application flushes the output only when it waits for the next user input, so all
+ * messages of one competition round reach the console with one buffered write instead of
+ * one system call per message. Messages given as {@link MessageTemplate} are appended
+ * directly into the same buffer.
+ * </p>
+ * <p>
+ * Optionally, the output can be handed to a dedicated output thread instead, see
+ * {@link #startAsync(OutputStream, boolean)}. The writing thread then only enqueues compact
+ * message records, while formatting and writing happens concurrently.
+ * </p>
+ * <p>
+ * All threads share the stream given on construction, unless a thread binds its own stream with
+ * {@link #bind(OutputStream)}. A bound thread has its own buffer and output mode, so independent
+ * sessions can run concurrently without seeing each other's output. A thread can also
+ * {@link #mute()} its output temporarily, which drops all messages without formatting them.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public class ConsoleWriter extends PrintWriter {
+    /**
+     * The charset used to encode the written text.
+     */
+    static final Charset CHARSET = Charset.defaultCharset();
+
+    private final ChannelWriter channelWriter;
+
+    /**
+     * Constructs a {@code ConsoleWriter} that writes to the given stream only on flush.
+     *
+     * @param target the stream that receives the buffered text
+     */
+    public ConsoleWriter(OutputStream target) {
+        this(new ChannelWriter(new Channel(target, null)), false);
+    }
+
+    /**
+     * Constructs a {@code ConsoleWriter} that flushes after every printed line and
+     * flushes the preceding writer first. This keeps the order of messages if two
+     * writers share one console, e.g. the output and the error stream.
+     *
+     * @param target          the stream that receives the buffered text
+     * @param precedingWriter the writer whose pending text has to be written before the text of this writer
+     */
+    public ConsoleWriter(OutputStream target, ConsoleWriter precedingWriter) {
+        this(new ChannelWriter(new Channel(target, precedingWriter)), true);
+    }
+
+    private ConsoleWriter(ChannelWriter channelWriter, boolean autoFlush) {
+        super(channelWriter, autoFlush);
+        this.channelWriter = channelWriter;
+    }
+
+    /**
+     * Starts printing a message of the given template. The arguments of the message
+     * have to be passed to the returned appender in the order of the template.
+     *
+     * @param template the template of the message
+     * @return the appender expecting the arguments of the message
+     */
+    public MessageAppender print(MessageTemplate template) {
+        return channelWriter.getChannel().appender.start(template);
+    }
+
+    /**
+     * Terminates the current line, unless the current thread is muted. A muted thread returns
+     * without taking the lock shared by all threads.
+     */
+    @Override
+    public void println() {
+        if (channelWriter.getChannel().mutedChannel == null) {
+            super.println();
+        }
+    }
+
+    /**
+     * Prints a string and terminates the line, unless the current thread is muted. A muted thread returns
+     * without taking the lock shared by all threads.
+     *
+     * @param x the string to be printed
+     */
+    @Override
+    public void println(String x) {
+        if (channelWriter.getChannel().mutedChannel == null) {
+            super.println(x);
+        }
+    }
+
+    /**
+     * Writes the buffered text to the stream if at least as many characters as the
+     * flush threshold are buffered. Text handed to an output thread is always written.
+     */
+    @Override
+    public void flush() {
+        Channel channel = channelWriter.getChannel();
+        if (channel.asyncWriter == null && channel.bufferWriter.buffer.length() < channel.flushThreshold) {
+            return;
+        }
+        super.flush();
+    }
+
+    /**
+     * Sets the number of buffered characters from which on {@link #flush()} writes to the stream
+     * of the current thread. With the default of {@code 0} every flush writes. A large threshold
+     * lets scripted input run without a write per command; errors still flush all preceding output first.
+     *
+     * @param flushThreshold the minimal number of buffered characters written by a flush
+     */
+    public void setFlushThreshold(int flushThreshold) {
+        channelWriter.getChannel().flushThreshold = flushThreshold;
+    }
+
+    /**
+     * Lets the current thread write to the given stream with its own buffer from now on.
+     * Pending output of the current thread is flushed first.
+     *
+     * @param target the stream receiving the output of the current thread
+     */
+    public void bind(OutputStream target) {
+        unbind();
+        channelWriter.bind(new Channel(target, channelWriter.getChannel().precedingWriter));
+    }
+
+    /**
+     * Writes all pending output of the current thread and lets it share the stream given on construction again.
+     * Does nothing if the current thread is not bound.
+     */
+    public void unbind() {
+        if (channelWriter.isBound()) {
+            stopAsync();
+            flushAll();
+            channelWriter.unbind();
+        }
+    }
+
+    /**
+     * Drops all further output of the current thread until {@link #unmute()} is called.
+     * Pending output is kept and written once the thread is unmuted.
+     */
+    public void mute() {
+        channelWriter.bind(Channel.muted(channelWriter.getChannel()));
+    }
+
+    /**
+     * Lets the current thread write to its previous stream again. Does nothing if the current thread is not muted.
+     */
+    public void unmute() {
+        Channel channel = channelWriter.getChannel();
+        if (channel.mutedChannel != null) {
+            channelWriter.bind(channel.mutedChannel);
+        }
+    }
+
+    /**
+     * Hands all further output of the current thread to a dedicated output thread that writes to the given stream.
+     * Pending output is flushed first. An already running output thread is stopped.
+     * The output of the current stream may then only be written by a single thread.
+     *
+     * @param target      the stream receiving the output
+     * @param closeTarget whether the stream is closed when the output thread is stopped
+     */
+    public void startAsync(OutputStream target, boolean closeTarget) {
+        synchronized (lock) {
+            stopAsync();
+            flushAll();
+            Channel channel = channelWriter.getChannel();
+            channel.asyncWriter = new AsyncOutputWriter(target, closeTarget);
+            channel.appender = channel.asyncWriter.getAppender();
+        }
+    }
+
+    /**
+     * Writes all pending output of the output thread, stops it and continues to write
+     * synchronously. Does nothing if no output thread is running for the current stream.
+     */
+    public void stopAsync() {
+        synchronized (lock) {
+            Channel channel = channelWriter.getChannel();
+            if (channel.asyncWriter == null) {
+                return;
+            }
+            try {
+                channel.asyncWriter.close();
+            } catch (IOException e) {
+                setError();
+            }
+            channel.asyncWriter = null;
+            channel.appender = channel.bufferAppender;
+        }
+    }
+
+    private void flushAll() {
+        super.flush();
+    }
+
+    private static final class Channel {
+        private final BufferWriter bufferWriter;
+        private final BuilderAppender bufferAppender;
+        private final ConsoleWriter precedingWriter;
+        private final Channel mutedChannel;
+        private MessageAppender appender;
+        private AsyncOutputWriter asyncWriter;
+        private int flushThreshold;
+
+        private Channel(OutputStream target, ConsoleWriter precedingWriter) {
+            this(new BufferWriter(target, precedingWriter), precedingWriter, null);
+        }
+
+        private Channel(BufferWriter bufferWriter, ConsoleWriter precedingWriter, Channel mutedChannel) {
+            this.bufferWriter = bufferWriter;
+            this.bufferAppender = new BuilderAppender(bufferWriter.buffer);
+            this.precedingWriter = precedingWriter;
+            this.mutedChannel = mutedChannel;
+            this.appender = mutedChannel != null ? DiscardingAppender.INSTANCE : bufferAppender;
+        }
+
+        private static Channel muted(Channel channel) {
+            return new Channel(new BufferWriter(OutputStream.nullOutputStream(), null), null, channel);
+        }
+
+        private Writer getWriter() {
+            if (mutedChannel != null) {
+                return Writer.nullWriter();
+            }
+            return asyncWriter != null ? asyncWriter : bufferWriter;
+        }
+
+    }
+
+    private static final class DiscardingAppender extends MessageAppender {
+        private static final DiscardingAppender INSTANCE = new DiscardingAppender();
+
+        @Override
+        public MessageAppender start(MessageTemplate template) {
+            return this;
+        }
+
+        @Override
+        public MessageAppender arg(String value) {
+            return this;
+        }
+
+        @Override
+        public MessageAppender arg(int value) {
+            return this;
+        }
+
+        @Override
+        public MessageAppender arg(Object value) {
+            return this;
+        }
+
+    }
+
+    private static final class ChannelWriter extends Writer {
+        private final Channel sharedChannel;
+        private final ThreadLocal<Channel> channels;
+
+        private ChannelWriter(Channel sharedChannel) {
+            this.sharedChannel = sharedChannel;
+            this.channels = ThreadLocal.withInitial(() -> sharedChannel);
+        }
+
+        private Channel getChannel() {
+            return channels.get();
+        }
+
+        private boolean isBound() {
+            return channels.get() != sharedChannel;
+        }
+
+        private void bind(Channel channel) {
+            channels.set(channel);
+        }
+
+        private void unbind() {
+            channels.remove();
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            getChannel().getWriter().write(c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) throws IOException {
+            getChannel().getWriter().write(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) throws IOException {
+            getChannel().getWriter().write(str, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            getChannel().getWriter().flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+    }
+
+    private static final class BufferWriter extends Writer {
+        private static final int INITIAL_CAPACITY = 8192;
+
+        private final StringBuilder buffer = new StringBuilder(INITIAL_CAPACITY);
+        private final OutputStream target;
+        private final ConsoleWriter precedingWriter;
+
+        private BufferWriter(OutputStream target, ConsoleWriter precedingWriter) {
+            this.target = target;
+            this.precedingWriter = precedingWriter;
+        }
+
+        @Override
+        public void write(int c) {
+            buffer.append((char) c);
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            buffer.append(cbuf, off, len);
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            buffer.append(str, off, off + len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (precedingWriter != null) {
+                precedingWriter.flushAll();
+            }
+            if (!buffer.isEmpty()) {
+                target.write(buffer.toString().getBytes(CHARSET));
+                buffer.setLength(0);
+            }
+            target.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+    }
+
+}
@@ -0,0 +1,59 @@
+package edu.kit.kastel.utils;
+
+/**
+ * Utility class for writing JSON text.
+ *
+ * @author uyqbd
+ */
+public final class Json {
+    private static final String NULL = "null";
+    private static final String UNICODE_ESCAPE_FORMAT = "\\u%04x";
+    private static final char FIRST_PRINTABLE = ' ';
+
+    private Json() {
+
+    }
+
+    /**
+     * Appends the given value as JSON string, escaping quotes, backslashes and control characters.
+     *
+     * @param builder the builder to append to
+     * @param value   the value, or {@code null} to append the JSON null literal
+     * @return the given builder
+     */
+    public static StringBuilder appendString(StringBuilder builder, String value) {
+        if (value == null) {
+            return builder.append(NULL);
+        }
+        builder.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char symbol = value.charAt(i);
+            switch (symbol) {
+                case '"', '\\' -> builder.append('\\').append(symbol);
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (symbol < FIRST_PRINTABLE) {
+                        builder.append(UNICODE_ESCAPE_FORMAT.formatted((int) symbol));
+                    } else {
+                        builder.append(symbol);
+                    }
+                }
+            }
+        }
+        return builder.append('"');
+    }
+
+    /**
+     * Appends a field name followed by a colon.
+     *
+     * @param builder the builder to append to
+     * @param name    the name of the field
+     * @return the given builder
+     */
+    public static StringBuilder appendName(StringBuilder builder, String name) {
+        return appendString(builder, name).append(':');
+    }
+
+}
@@ -0,0 +1,21 @@
+package edu.kit.kastel.utils;
+
+import java.util.NoSuchElementException;
+
+/**
+ * A source of input lines, such as the console or a command script.
+ *
+ * @author uyqbd
+ */
+@FunctionalInterface
+public interface LineSource {
+
+    /**
+     * Returns the next input line without its line terminator.
+     *
+     * @return the next line
+     * @throws NoSuchElementException if there is no further line
+     */
+    String nextLine();
+
+}
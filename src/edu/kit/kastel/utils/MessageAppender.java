@@ -0,0 +1,49 @@
+package edu.kit.kastel.utils;
+
+/**
+ * Receives a message given as {@link MessageTemplate} together with its arguments.
+ * <p>
+ * A message is started with its template, followed by exactly as many arguments as the
+ * template expects, in the order of the template. An appender is reused for all messages
+ * of the same output, so printing a message allocates neither argument arrays nor boxed values.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public abstract class MessageAppender {
+
+    /**
+     * Starts a new message of the given template.
+     *
+     * @param template the template of the message
+     * @return this appender, expecting the arguments of the template
+     */
+    public abstract MessageAppender start(MessageTemplate template);
+
+    /**
+     * Appends the next string argument of the current message.
+     *
+     * @param value the argument value
+     * @return this appender
+     */
+    public abstract MessageAppender arg(String value);
+
+    /**
+     * Appends the next integer argument of the current message.
+     *
+     * @param value the argument value
+     * @return this appender
+     */
+    public abstract MessageAppender arg(int value);
+
+    /**
+     * Appends the string representation of the next argument of the current message.
+     *
+     * @param value the argument value
+     * @return this appender
+     */
+    public MessageAppender arg(Object value) {
+        return arg(String.valueOf(value));
+    }
+
+}
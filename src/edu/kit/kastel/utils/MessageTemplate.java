@@ -0,0 +1,75 @@
+package edu.kit.kastel.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A message format that is split into its literal segments once, when it is created.
+ * <p>
+ * Supports the conversions {@code %s} and {@code %d} for arguments as well as {@code %n} and
+ * {@code %%}, which are resolved directly into the literals. Printing a template with a
+ * {@link MessageAppender} appends the literals and arguments straight into a builder,
+ * so no format string has to be parsed at runtime.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public final class MessageTemplate {
+    private static final char CONVERSION_PREFIX = '%';
+    private static final String WRONG_CONVERSION_FORMAT = "unsupported conversion in message template %s";
+
+    private final String[] literals;
+
+    /**
+     * Constructs a new {@code MessageTemplate} by splitting the given format into literals and arguments.
+     *
+     * @param format the message format using {@code %s}, {@code %d}, {@code %n} and {@code %%}
+     * @throws IllegalArgumentException if the format contains any other conversion
+     */
+    public MessageTemplate(String format) {
+        List<String> literalList = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        for (int i = 0; i < format.length(); i++) {
+            char symbol = format.charAt(i);
+            if (symbol != CONVERSION_PREFIX) {
+                literal.append(symbol);
+                continue;
+            }
+            if (++i == format.length()) {
+                throw new IllegalArgumentException(WRONG_CONVERSION_FORMAT.formatted(format));
+            }
+            switch (format.charAt(i)) {
+                case 'n' -> literal.append(System.lineSeparator());
+                case '%' -> literal.append(CONVERSION_PREFIX);
+                case 's', 'd' -> {
+                    literalList.add(literal.toString());
+                    literal.setLength(0);
+                }
+                default -> throw new IllegalArgumentException(WRONG_CONVERSION_FORMAT.formatted(format));
+            }
+        }
+        literalList.add(literal.toString());
+        this.literals = literalList.toArray(new String[0]);
+    }
+
+    /**
+     * Returns the count of arguments expected by this template.
+     *
+     * @return the count of {@code %s} and {@code %d} conversions
+     */
+    public int getArgumentCount() {
+        return literals.length - 1;
+    }
+
+    /**
+     * Returns the literal text that follows the argument with the given index.
+     * The literal with index 0 is the text before the first argument.
+     *
+     * @param index the index of the literal, between 0 and the argument count
+     * @return the literal text
+     */
+    public String getLiteral(int index) {
+        return literals[index];
+    }
+
+}
@@ -0,0 +1,97 @@
+package edu.kit.kastel.utils;
+
+/**
+ * A preallocated slot of the {@link OutputRing} holding one message before it is formatted.
+ * <p>
+ * A record either holds plain text or a {@link MessageTemplate} together with its arguments.
+ * Integer arguments are kept unboxed; the argument arrays are reused by every message
+ * that passes through the slot.
+ * </p>
+ *
+ * @author uyqbd
+ */
+final class OutputRecord {
+    private static final int INITIAL_ARGUMENTS = 8;
+
+    private MessageTemplate template;
+    private String text;
+    private String[] strings = new String[INITIAL_ARGUMENTS];
+    private int[] numbers = new int[INITIAL_ARGUMENTS];
+    private boolean[] numeric = new boolean[INITIAL_ARGUMENTS];
+    private int argumentCount;
+
+    /**
+     * Fills this record with plain text.
+     *
+     * @param text the text
+     */
+    void setText(String text) {
+        this.template = null;
+        this.text = text;
+    }
+
+    /**
+     * Fills this record with a template, expecting its arguments next.
+     *
+     * @param template the template of the message
+     */
+    void setTemplate(MessageTemplate template) {
+        this.template = template;
+        this.text = null;
+        argumentCount = 0;
+        if (template.getArgumentCount() > strings.length) {
+            int length = template.getArgumentCount();
+            strings = new String[length];
+            numbers = new int[length];
+            numeric = new boolean[length];
+        }
+    }
+
+    /**
+     * Adds the next string argument.
+     *
+     * @param value the argument value
+     * @return whether all arguments of the template are present
+     */
+    boolean addArgument(String value) {
+        numeric[argumentCount] = false;
+        strings[argumentCount] = value;
+        return ++argumentCount == template.getArgumentCount();
+    }
+
+    /**
+     * Adds the next integer argument.
+     *
+     * @param value the argument value
+     * @return whether all arguments of the template are present
+     */
+    boolean addArgument(int value) {
+        numeric[argumentCount] = true;
+        numbers[argumentCount] = value;
+        return ++argumentCount == template.getArgumentCount();
+    }
+
+    /**
+     * Formats the message of this record and releases the references it holds.
+     *
+     * @param builder  the builder receiving the formatted message
+     * @param appender an appender writing to the same builder
+     */
+    void formatTo(StringBuilder builder, BuilderAppender appender) {
+        if (template == null) {
+            builder.append(text);
+            text = null;
+            return;
+        }
+        appender.start(template);
+        for (int i = 0; i < argumentCount; i++) {
+            if (numeric[i]) {
+                appender.arg(numbers[i]);
+            } else {
+                appender.arg(strings[i]);
+                strings[i] = null;
+            }
+        }
+    }
+
+}
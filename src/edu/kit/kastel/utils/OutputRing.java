@@ -0,0 +1,127 @@
+package edu.kit.kastel.utils;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A bounded single-producer/single-consumer ring buffer of preallocated {@link OutputRecord}s.
+ * <p>
+ * Exactly one thread claims and publishes records and exactly one other thread consumes
+ * them, so both positions are only ever written by their own thread and no locks are needed.
+ * If the ring is full, the producer waits until the consumer has released a record,
+ * which bounds the memory used by output that has not been written yet.
+ * </p>
+ *
+ * @author uyqbd
+ */
+final class OutputRing {
+    private static final long WAIT_NANOS = 100_000;
+
+    private final OutputRecord[] records;
+    private final int mask;
+    private final Thread consumer;
+
+    private volatile long published;
+    private volatile long released;
+    private volatile boolean consumerWaiting;
+
+    /**
+     * Constructs a new ring of the given capacity.
+     *
+     * @param capacity the number of records, has to be a power of two
+     * @param consumer the thread that consumes the records
+     */
+    OutputRing(int capacity, Thread consumer) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity has to be a power of two");
+        }
+        this.records = new OutputRecord[capacity];
+        for (int i = 0; i < capacity; i++) {
+            records[i] = new OutputRecord();
+        }
+        this.mask = capacity - 1;
+        this.consumer = consumer;
+    }
+
+    /**
+     * Returns the next free record, waiting while the ring is full.
+     * Has to be called by the producer only.
+     *
+     * @return the record to fill before it is published
+     */
+    OutputRecord claim() {
+        long position = published;
+        while (position - released == records.length) {
+            wakeConsumer();
+            LockSupport.parkNanos(WAIT_NANOS);
+        }
+        return records[(int) position & mask];
+    }
+
+    /**
+     * Publishes the last claimed record to the consumer.
+     * Has to be called by the producer only.
+     */
+    void publish() {
+        published = published + 1;
+        if (consumerWaiting) {
+            wakeConsumer();
+        }
+    }
+
+    /**
+     * Returns the number of records published so far.
+     *
+     * @return the number of published records
+     */
+    long getPublished() {
+        return published;
+    }
+
+    /**
+     * Wakes up the consumer in case it waits for records.
+     */
+    void wakeConsumer() {
+        LockSupport.unpark(consumer);
+    }
+
+    /**
+     * Returns the oldest published record that is not released yet.
+     * Has to be called by the consumer only.
+     *
+     * @return the oldest record or {@code null} if the ring is empty
+     */
+    OutputRecord peek() {
+        long position = released;
+        return position == published ? null : records[(int) position & mask];
+    }
+
+    /**
+     * Releases the record returned by the last {@link #peek()}.
+     * Has to be called by the consumer only.
+     */
+    void release() {
+        released = released + 1;
+    }
+
+    /**
+     * Returns the number of records released so far.
+     *
+     * @return the number of released records
+     */
+    long getReleased() {
+        return released;
+    }
+
+    /**
+     * Lets the consumer wait until a record is published or it is woken up otherwise.
+     * Has to be called by the consumer only.
+     */
+    void awaitRecords() {
+        consumerWaiting = true;
+        if (released == published) {
+            LockSupport.parkNanos(this, WAIT_NANOS * 10);
+        }
+        consumerWaiting = false;
+    }
+
+}
@@ -1,11 +1,21 @@
 package edu.kit.kastel.utils;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.Random;
 
 /**
  * A utility class providing various methods for generating random numbers,
  * factors, and probabilities. The class supports a debug mode that allows user
  * input for deterministic behavior during testing or debugging.
+ * <p>
+ * Every decision is taken from the {@link RandomSource} bound to the current thread, which by
+ * default uses the shared random number generator or asks the user in debug mode.
+ * </p>
  *
  * @author uyqbd
  */
@@ -14,7 +24,10 @@ public final class RandomGenerator {
     private static final String RANDOM_FACTOR_DEBUG_MESSAGE_FORMAT = "Decide %s: a number between %.2f and %.2f?";
     private static final String RANDOM_NUMBER_DEBUG_MESSAGE_FORMAT = "Decide %s: an integer between %d and %d?";
 
-    private static final Random RANDOM = new Random();
+    private static final ObjectInputFilter STATE_FILTER = ObjectInputFilter.Config.createFilter("java.util.Random;!*");
+    private static final RandomSource DEFAULT_SOURCE = new DefaultSource();
+    private static final ThreadLocal<RandomSource> SOURCES = ThreadLocal.withInitial(() -> DEFAULT_SOURCE);
+    private static volatile Random random = new Random();
     private static boolean debug = false;
 
     private RandomGenerator() {
@@ -28,7 +41,41 @@ private RandomGenerator() {
      *             generated random numbers.
      */
     public static void setSeed(long seed) {
-        RANDOM.setSeed(seed);
+        random.setSeed(seed);
+    }
+
+    /**
+     * Captures the state of the internal random number generator without advancing it.
+     * Restoring the state later with {@link #restoreState(byte[])} continues with the same numbers
+     * as the generator continues with now, so a game can be continued from a saved state.
+     *
+     * @return the serialized state of the generator
+     * @throws IOException if the state cannot be serialized
+     */
+    public static byte[] saveState() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(random);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Replaces the internal random number generator by one in the given state.
+     *
+     * @param state the serialized state of a generator, as captured by {@link #saveState()}
+     * @throws IOException if the state is not the serialized state of a generator
+     */
+    public static void restoreState(byte[] state) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(state))) {
+            in.setObjectInputFilter(STATE_FILTER);
+            if (!(in.readObject() instanceof Random restored)) {
+                throw new IOException(Random.class.getName());
+            }
+            random = restored;
+        } catch (ClassNotFoundException e) {
+            throw new IOException(e);
+        }
     }
 
     /**
@@ -41,10 +88,7 @@ public static void setSeed(long seed) {
      * @return {@code true} if the event occurs; {@code false} otherwise
      */
     public static boolean probabilityGood(double probability, String debugMessage) {
-        if (debug) {
-            return Reader.readBoolean(PROBABILITY_DEBUG_MESSAGE_FORMAT.formatted(debugMessage));
-        }
-        return RANDOM.nextDouble() * 100 <= probability;
+        return SOURCES.get().probabilityGood(probability, debugMessage);
     }
 
     /**
@@ -57,10 +101,22 @@ public static boolean probabilityGood(double probability, String debugMessage) {
      * @return a random double within the range [min, max], or the value entered by the user in debug mode
      */
     public static double getRandomFactor(double min, double max, String debugMessage) {
-        if (debug) {
-            return Reader.readDouble(RANDOM_FACTOR_DEBUG_MESSAGE_FORMAT.formatted(debugMessage, min, max));
-        }
-        return RANDOM.nextDouble(min, max);
+        return SOURCES.get().getRandomFactor(min, max, debugMessage);
+    }
+
+    /**
+     * Generates a random factor within the specified range [min, max] that is multiplied by the given scale
+     * and rounded up by the caller. Outside of simulations, this is the same as
+     * {@link #getRandomFactor(double, double, String)}.
+     *
+     * @param min the minimum bound of the range
+     * @param max the maximum bound of the range
+     * @param scale the positive value the factor is multiplied by before rounding up
+     * @param debugMessage the message displayed to the user when prompting in debug mode
+     * @return a random double within the range [min, max], or the value entered by the user in debug mode
+     */
+    public static double getRandomFactor(double min, double max, double scale, String debugMessage) {
+        return SOURCES.get().getRandomFactor(min, max, scale, debugMessage);
     }
 
     /**
@@ -73,10 +129,28 @@ public static double getRandomFactor(double min, double max, String debugMessage
      * @return a random integer within the specified range or a user-provided value in debug mode
      */
     public static int getRandomNumber(int min, int max, String debugMessage) {
-        if (debug) {
-            return Reader.readInteger(RANDOM_NUMBER_DEBUG_MESSAGE_FORMAT.formatted(debugMessage, min, max));
-        }
-        return RANDOM.nextInt(min, max + 1);
+        return SOURCES.get().getRandomNumber(min, max, debugMessage);
+    }
+
+    /**
+     * Returns the source of the random decisions of the current thread.
+     *
+     * @return the bound source
+     */
+    public static RandomSource getSource() {
+        return SOURCES.get();
+    }
+
+    /**
+     * Lets the current thread take all further random decisions from the given source.
+     *
+     * @param source the source of the decisions
+     * @return the previously bound source, to be bound again afterwards
+     */
+    public static RandomSource bind(RandomSource source) {
+        RandomSource previous = SOURCES.get();
+        SOURCES.set(source);
+        return previous;
     }
 
     /**
@@ -93,4 +167,32 @@ public static void switchDebugMod() {
         debug = !debug;
     }
 
+    private static final class DefaultSource implements RandomSource {
+
+        @Override
+        public boolean probabilityGood(double probability, String debugMessage) {
+            if (debug) {
+                return Reader.readBoolean(PROBABILITY_DEBUG_MESSAGE_FORMAT.formatted(debugMessage));
+            }
+            return random.nextDouble() * 100 <= probability;
+        }
+
+        @Override
+        public double getRandomFactor(double min, double max, String debugMessage) {
+            if (debug) {
+                return Reader.readDouble(RANDOM_FACTOR_DEBUG_MESSAGE_FORMAT.formatted(debugMessage, min, max));
+            }
+            return random.nextDouble(min, max);
+        }
+
+        @Override
+        public int getRandomNumber(int min, int max, String debugMessage) {
+            if (debug) {
+                return Reader.readInteger(RANDOM_NUMBER_DEBUG_MESSAGE_FORMAT.formatted(debugMessage, min, max));
+            }
+            return random.nextInt(min, max + 1);
+        }
+
+    }
+
 }
@@ -0,0 +1,58 @@
+package edu.kit.kastel.utils;
+
+/**
+ * A source of the random decisions made during a competition.
+ * <p>
+ * The {@link RandomGenerator} asks the source bound to the current thread for every decision,
+ * so decisions can be recorded or replayed without changing the game logic.
+ * </p>
+ *
+ * @author uyqbd
+ */
+public interface RandomSource {
+
+    /**
+     * Decides whether an event with the given probability occurs.
+     *
+     * @param probability  the probability (as a percentage, 0 to 100) that the event will occur
+     * @param debugMessage the description of the decision
+     * @return {@code true} if the event occurs; {@code false} otherwise
+     */
+    boolean probabilityGood(double probability, String debugMessage);
+
+    /**
+     * Decides a factor within the range [min, max].
+     *
+     * @param min          the minimum bound of the range
+     * @param max          the maximum bound of the range
+     * @param debugMessage the description of the decision
+     * @return the decided factor
+     */
+    double getRandomFactor(double min, double max, String debugMessage);
+
+    /**
+     * Decides a factor within the range [min, max] of which only the product with the given scale rounded up
+     * matters, e.g. the random factor of damage. Sources enumerating the outcomes can thereby decide one factor
+     * per rounded product. By default, the factor is decided like any other.
+     *
+     * @param min          the minimum bound of the range
+     * @param max          the maximum bound of the range
+     * @param scale        the positive value the factor is multiplied by before rounding up
+     * @param debugMessage the description of the decision
+     * @return the decided factor
+     */
+    default double getRandomFactor(double min, double max, double scale, String debugMessage) {
+        return getRandomFactor(min, max, debugMessage);
+    }
+
+    /**
+     * Decides an integer between the specified minimum and maximum values, inclusive.
+     *
+     * @param min          the minimum value (inclusive)
+     * @param max          the maximum value (inclusive)
+     * @param debugMessage the description of the decision
+     * @return the decided integer
+     */
+    int getRandomNumber(int min, int max, String debugMessage);
+
+}
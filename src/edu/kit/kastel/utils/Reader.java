@@ -2,7 +2,6 @@
 
 import edu.kit.kastel.Application;
 
-import java.util.Scanner;
 import java.util.regex.Pattern;
 
 /**
@@ -20,7 +19,7 @@ public final class Reader {
     private static final String DOUBLE_REGEX = "\\d+(\\.\\d+)?";
     private static final String INTEGER_REGEX = "\\d+";
 
-    private static Scanner scanner;
+    private static final ThreadLocal<LineSource> SOURCE = new ThreadLocal<>();
 
     private Reader() {
 
@@ -37,7 +36,8 @@ private Reader() {
     public static boolean readBoolean(String message) {
         while (true) {
             Application.DEFAULT_OUTPUT_STREAM.println(message);
-            String answer = scanner.nextLine();
+            Application.DEFAULT_OUTPUT_STREAM.flush();
+            String answer = SOURCE.get().nextLine();
             if (!answer.isEmpty()) {
                 switch (answer) {
                     case "y": return true;
@@ -59,7 +59,8 @@ public static boolean readBoolean(String message) {
     public static double readDouble(String message) {
         while (true) {
             Application.DEFAULT_OUTPUT_STREAM.println(message);
-            String answer = scanner.nextLine();
+            Application.DEFAULT_OUTPUT_STREAM.flush();
+            String answer = SOURCE.get().nextLine();
             if (Pattern.matches(DOUBLE_REGEX, answer)) {
                 return Double.parseDouble(answer);
             }
@@ -77,7 +78,8 @@ public static double readDouble(String message) {
     public static int readInteger(String message) {
         while (true) {
             Application.DEFAULT_OUTPUT_STREAM.println(message);
-            String answer = scanner.nextLine();
+            Application.DEFAULT_OUTPUT_STREAM.flush();
+            String answer = SOURCE.get().nextLine();
             if (Pattern.matches(INTEGER_REGEX, answer)) {
                 return Integer.parseInt(answer);
             }
@@ -86,12 +88,17 @@ public static int readInteger(String message) {
     }
 
     /**
-     * Sets the scanner to be used for input operations within the {@code Reader} class.
+     * Sets the source of the lines read by the current thread within the {@code Reader} class.
+     * Every thread handling its own input, e.g. a server session, sets its own source.
      *
-     * @param scanner the {@code Scanner} instance to set for reading input
+     * @param source the {@code LineSource} instance to set for reading input, or {@code null} to remove it
      */
-    public static void setScanner(Scanner scanner) {
-        Reader.scanner = scanner;
+    public static void setSource(LineSource source) {
+        if (source == null) {
+            SOURCE.remove();
+        } else {
+            SOURCE.set(source);
+        }
     }
 
 }
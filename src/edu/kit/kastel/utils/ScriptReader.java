@@ -0,0 +1,52 @@
+package edu.kit.kastel.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the lines of a command script through a {@link BufferedReader} and counts them.
+ *
+ * @author uyqbd
+ */
+public class ScriptReader implements LineSource {
+    private static final String END_OF_SCRIPT_MESSAGE = "end of script";
+
+    private final BufferedReader reader;
+    private long lineCount;
+
+    /**
+     * Constructs a new {@code ScriptReader} reading from the given reader.
+     *
+     * @param reader the reader providing the script
+     */
+    public ScriptReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public String nextLine() {
+        String line;
+        try {
+            line = reader.readLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (line == null) {
+            throw new NoSuchElementException(END_OF_SCRIPT_MESSAGE);
+        }
+        lineCount++;
+        return line;
+    }
+
+    /**
+     * Returns the number of lines read so far.
+     *
+     * @return the number of read lines
+     */
+    public long getLineCount() {
+        return lineCount;
+    }
+
+}
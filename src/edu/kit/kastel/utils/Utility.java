@@ -10,6 +10,14 @@
  * @author uyqbd
  */
 public final class Utility {
+    private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final int HASH_SHIFT = 29;
+    private static final long KEY_FIRST_MULTIPLIER = 0xBF58476D1CE4E5B9L;
+    private static final long KEY_SECOND_MULTIPLIER = 0x94D049BB133111EBL;
+    private static final int KEY_FIRST_SHIFT = 30;
+    private static final int KEY_SECOND_SHIFT = 27;
+    private static final int KEY_THIRD_SHIFT = 31;
+
     private Utility() {
 
     }
@@ -58,4 +66,33 @@ public static int ceilDiv(int a, int b) {
         return -Math.floorDiv(-a, b);
     }
 
+    /**
+     * Mixes a value into a 64-bit hash, so that hashes of states differing in a single value differ in many bits.
+     *
+     * @param hash  the hash so far
+     * @param value the value to mix in
+     * @return the new hash
+     */
+    public static long mixHash(long hash, long value) {
+        long result = (hash ^ value) * HASH_MULTIPLIER;
+        return result ^ (result >>> HASH_SHIFT);
+    }
+
+    /**
+     * Derives the Zobrist key of a value of a state feature. The key behaves like an entry of a table of random
+     * 64-bit numbers indexed by feature and value, without needing the table, so features with many values such
+     * as health need no memory. The hash of a state is the exclusive or of the keys of all its feature values,
+     * so changing one value updates the hash with two exclusive ors.
+     *
+     * @param feature the feature, e.g. a stat of a certain monster
+     * @param value   the value of the feature
+     * @return the pseudo-random key of the feature value
+     */
+    public static long zobristKey(long feature, long value) {
+        long result = feature * HASH_MULTIPLIER + value;
+        result = (result ^ (result >>> KEY_FIRST_SHIFT)) * KEY_FIRST_MULTIPLIER;
+        result = (result ^ (result >>> KEY_SECOND_SHIFT)) * KEY_SECOND_MULTIPLIER;
+        return result ^ (result >>> KEY_THIRD_SHIFT);
+    }
+
 }